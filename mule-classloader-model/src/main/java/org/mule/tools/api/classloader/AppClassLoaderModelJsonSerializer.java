@@ -13,9 +13,7 @@ import static org.mule.tools.api.classloader.Constants.RESOURCES_FIELD;
 import org.mule.tools.api.classloader.model.AppClassLoaderModel;
 import org.mule.tools.api.classloader.model.Artifact;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.lang.reflect.Type;
@@ -35,14 +33,13 @@ import com.google.gson.JsonSerializer;
  */
 public class AppClassLoaderModelJsonSerializer extends ClassLoaderModelJsonSerializer {
 
-  public static AppClassLoaderModel deserialize(File classLoaderModelDescriptor) {
-    try (Reader reader = new BufferedReader(new FileReader(classLoaderModelDescriptor))) {
-      Gson gson = new GsonBuilder()
-          .enableComplexMapKeySerialization()
-          .setPrettyPrinting()
-          .create();
+  private static final Gson DESERIALIZER_GSON = new GsonBuilder()
+      .enableComplexMapKeySerialization()
+      .create();
 
-      AppClassLoaderModel classLoaderModel = gson.fromJson(reader, AppClassLoaderModel.class);
+  public static AppClassLoaderModel deserialize(File classLoaderModelDescriptor) {
+    try (Reader reader = newReader(classLoaderModelDescriptor)) {
+      AppClassLoaderModel classLoaderModel = DESERIALIZER_GSON.fromJson(reader, AppClassLoaderModel.class);
       validate(classLoaderModel, classLoaderModelDescriptor);
       return classLoaderModel;
     } catch (IOException e) {
@@ -50,6 +47,19 @@ public class AppClassLoaderModelJsonSerializer extends ClassLoaderModelJsonSeria
     }
   }
 
+  /**
+   * Creates an {@link AppClassLoaderModel} from the JSON representation, streaming the descriptor with a
+   * {@link ClassLoaderModelJsonReader} instead of binding it as a whole.
+   *
+   * @param classLoaderModelDescriptor file containing the classloader model in JSON format
+   * @param skipPackagesAndResources   if {@code true} the packages and resources of the model and of its dependencies are not read
+   *                                   and are {@code null} in the returned model
+   * @return a non null {@link AppClassLoaderModel} matching the provided JSON content
+   */
+  public static AppClassLoaderModel deserialize(File classLoaderModelDescriptor, boolean skipPackagesAndResources) {
+    return newJsonReader(classLoaderModelDescriptor, skipPackagesAndResources).readAppClassLoaderModel();
+  }
+
   /**
    * Custom JsonSerializer for {@link AppClassLoaderModel}
    *
@@ -57,14 +67,15 @@ public class AppClassLoaderModelJsonSerializer extends ClassLoaderModelJsonSeria
    */
   public static class AppClassLoaderModelCustomJsonSerializer implements JsonSerializer<AppClassLoaderModel> {
 
+    private static final Gson GSON = new GsonBuilder()
+        .enableComplexMapKeySerialization()
+        .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
+        .create();
+
     @Override
     public JsonElement serialize(AppClassLoaderModel classLoaderModel, Type type,
                                  JsonSerializationContext jsonSerializationContext) {
-      Gson gson = new GsonBuilder()
-          .enableComplexMapKeySerialization()
-          .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
-          .create();
-      JsonObject jsonObject = (JsonObject) gson.toJsonTree(classLoaderModel);
+      JsonObject jsonObject = (JsonObject) GSON.toJsonTree(classLoaderModel);
       if (classLoaderModel.getAdditionalPluginDependencies().map(List::isEmpty).orElse(false)) {
         jsonObject.remove(ADDITIONAL_PLUGIN_DEPENDENCIES_FIELD);
       } else {
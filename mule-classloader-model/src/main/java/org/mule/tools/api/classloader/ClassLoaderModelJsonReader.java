@@ -0,0 +1,386 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.classloader;
+
+import static org.mule.tools.api.classloader.Constants.ADDITIONAL_PLUGIN_DEPENDENCIES_FIELD;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_ID;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_IS_SHARED_FIELD;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_PACKAGES_FIELD;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_RESOURCES_FIELD;
+import static org.mule.tools.api.classloader.Constants.GROUP_ID;
+import static org.mule.tools.api.classloader.Constants.PACKAGES_FIELD;
+import static org.mule.tools.api.classloader.Constants.PLUGIN_DEPENDENCIES_FIELD;
+import static org.mule.tools.api.classloader.Constants.RESOURCES_FIELD;
+import static org.mule.tools.api.classloader.model.ArtifactCoordinates.DEFAULT_ARTIFACT_TYPE;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+
+import org.mule.tools.api.classloader.model.AppClassLoaderModel;
+import org.mule.tools.api.classloader.model.Artifact;
+import org.mule.tools.api.classloader.model.ArtifactCoordinates;
+import org.mule.tools.api.classloader.model.ClassLoaderModel;
+import org.mule.tools.api.classloader.model.Plugin;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Streaming reader for the classloader-model.json descriptor.
+ * <p>
+ * Unlike {@link ClassLoaderModelJsonSerializer#deserialize(File)}, the descriptor is parsed token by token and validated while it
+ * is read, failing on the first invalid artifact. The packages and resources arrays, which are by far the biggest part of the
+ * descriptor, can be skipped when only coordinates and URIs are needed, and dependencies can be handed to a consumer instead of
+ * being kept in the model, so big descriptors can be inspected in bounded memory.
+ */
+public class ClassLoaderModelJsonReader {
+
+  private static final String VERSION = "version";
+  private static final String ARTIFACT_COORDINATES = "artifactCoordinates";
+  private static final String DEPENDENCIES = "dependencies";
+  private static final String URI_FIELD = "uri";
+  private static final String TYPE = "type";
+  private static final String CLASSIFIER = "classifier";
+  private static final String SCOPE = "scope";
+
+  private final File classLoaderModelDescriptor;
+  private boolean skipPackagesAndResources = false;
+
+  /**
+   * Creates a new reader.
+   *
+   * @param classLoaderModelDescriptor file containing the classloader model in JSON format. Non null.
+   */
+  public ClassLoaderModelJsonReader(File classLoaderModelDescriptor) {
+    checkArgument(classLoaderModelDescriptor != null, "Classloader model descriptor cannot be null");
+    this.classLoaderModelDescriptor = classLoaderModelDescriptor;
+  }
+
+  /**
+   * Makes the reader skip the packages and resources of the model and of every artifact. The read model and artifacts return
+   * {@code null} for them.
+   *
+   * @return this reader
+   */
+  public ClassLoaderModelJsonReader skipPackagesAndResources() {
+    this.skipPackagesAndResources = true;
+    return this;
+  }
+
+  /**
+   * @return a non null {@link ClassLoaderModel} matching the descriptor content
+   */
+  public ClassLoaderModel read() {
+    return doRead(false, null);
+  }
+
+  /**
+   * @return a non null {@link AppClassLoaderModel} matching the descriptor content, including its additional plugin dependencies
+   */
+  public AppClassLoaderModel readAppClassLoaderModel() {
+    return (AppClassLoaderModel) doRead(true, null);
+  }
+
+  /**
+   * Reads the descriptor handing each dependency to the given consumer as soon as it is parsed. Dependencies are not kept in the
+   * returned model, so its dependency list is empty.
+   *
+   * @param dependencyConsumer consumer of every dependency of the model, in the descriptor order. Non null.
+   * @return a non null {@link ClassLoaderModel} matching the descriptor content, without dependencies
+   */
+  public ClassLoaderModel read(Consumer<Artifact> dependencyConsumer) {
+    checkArgument(dependencyConsumer != null, "Dependency consumer cannot be null");
+    return doRead(false, dependencyConsumer);
+  }
+
+  private ClassLoaderModel doRead(boolean appClassLoaderModel, Consumer<Artifact> dependencyConsumer) {
+    try (Reader reader = ClassLoaderModelJsonSerializer.newReader(classLoaderModelDescriptor);
+        JsonReader jsonReader = new JsonReader(reader)) {
+      // Same leniency Gson uses when deserializing
+      jsonReader.setLenient(true);
+      return readClassLoaderModel(jsonReader, appClassLoaderModel, dependencyConsumer);
+    } catch (IOException e) {
+      throw new RuntimeException("Could not read classloader-model.json", e);
+    }
+  }
+
+  private ClassLoaderModel readClassLoaderModel(JsonReader jsonReader, boolean appClassLoaderModel,
+                                                Consumer<Artifact> dependencyConsumer)
+      throws IOException {
+    String version = null;
+    ArtifactCoordinates artifactCoordinates = null;
+    List<Artifact> dependencies = new ArrayList<>();
+    String[] packages = null;
+    String[] resources = null;
+    List<Plugin> plugins = null;
+
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      String name = jsonReader.nextName();
+      if (jsonReader.peek() == JsonToken.NULL) {
+        jsonReader.nextNull();
+        continue;
+      }
+      switch (name) {
+        case VERSION:
+          version = jsonReader.nextString();
+          break;
+        case ARTIFACT_COORDINATES:
+          artifactCoordinates = readArtifactCoordinates(jsonReader);
+          break;
+        case DEPENDENCIES:
+          readArtifacts(jsonReader, dependencyConsumer != null ? dependencyConsumer : dependencies::add);
+          break;
+        case PACKAGES_FIELD:
+          packages = readStrings(jsonReader);
+          break;
+        case RESOURCES_FIELD:
+          resources = readStrings(jsonReader);
+          break;
+        case ADDITIONAL_PLUGIN_DEPENDENCIES_FIELD:
+          if (appClassLoaderModel) {
+            plugins = readPlugins(jsonReader);
+          } else {
+            jsonReader.skipValue();
+          }
+          break;
+        default:
+          jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+
+    if (version == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"version\" not specified.",
+                                             classLoaderModelDescriptor.getName()));
+    }
+    validateArtifactCoordinates(artifactCoordinates);
+    if (artifactCoordinates.getClassifier() == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"classifier\" not specified for '%s'.",
+                                             classLoaderModelDescriptor.getName(),
+                                             artifactCoordinates.getGroupId() + ":" + artifactCoordinates.getArtifactId()));
+    }
+
+    ClassLoaderModel classLoaderModel;
+    if (appClassLoaderModel) {
+      AppClassLoaderModel appModel = new AppClassLoaderModel(version, artifactCoordinates);
+      if (plugins != null) {
+        appModel.setAdditionalPluginDependencies(plugins);
+      }
+      classLoaderModel = appModel;
+    } else {
+      classLoaderModel = new ClassLoaderModel(version, artifactCoordinates);
+    }
+    classLoaderModel.setDependencies(dependencies);
+    classLoaderModel.setPackages(packages);
+    classLoaderModel.setResources(resources);
+    return classLoaderModel;
+  }
+
+  private List<Plugin> readPlugins(JsonReader jsonReader) throws IOException {
+    List<Plugin> plugins = new ArrayList<>();
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      if (jsonReader.peek() == JsonToken.NULL) {
+        jsonReader.nextNull();
+        plugins.add(null);
+        continue;
+      }
+      Plugin plugin = new Plugin();
+      jsonReader.beginObject();
+      while (jsonReader.hasNext()) {
+        String name = jsonReader.nextName();
+        if (jsonReader.peek() == JsonToken.NULL) {
+          jsonReader.nextNull();
+          continue;
+        }
+        switch (name) {
+          case GROUP_ID:
+            plugin.setGroupId(jsonReader.nextString());
+            break;
+          case ARTIFACT_ID:
+            plugin.setArtifactId(jsonReader.nextString());
+            break;
+          case PLUGIN_DEPENDENCIES_FIELD:
+            List<Artifact> additionalDependencies = new ArrayList<>();
+            readArtifacts(jsonReader, additionalDependencies::add);
+            plugin.setAdditionalDependencies(additionalDependencies);
+            break;
+          default:
+            jsonReader.skipValue();
+        }
+      }
+      jsonReader.endObject();
+      plugins.add(plugin);
+    }
+    jsonReader.endArray();
+    return plugins;
+  }
+
+  private void readArtifacts(JsonReader jsonReader, Consumer<Artifact> artifactConsumer) throws IOException {
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      artifactConsumer.accept(readArtifact(jsonReader));
+    }
+    jsonReader.endArray();
+  }
+
+  private Artifact readArtifact(JsonReader jsonReader) throws IOException {
+    ArtifactCoordinates artifactCoordinates = null;
+    String uri = null;
+    boolean shared = false;
+    String[] packages = null;
+    String[] resources = null;
+
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      String name = jsonReader.nextName();
+      if (jsonReader.peek() == JsonToken.NULL) {
+        jsonReader.nextNull();
+        continue;
+      }
+      switch (name) {
+        case ARTIFACT_COORDINATES:
+          artifactCoordinates = readArtifactCoordinates(jsonReader);
+          break;
+        case URI_FIELD:
+          uri = jsonReader.nextString();
+          break;
+        case ARTIFACT_IS_SHARED_FIELD:
+          shared = jsonReader.nextBoolean();
+          break;
+        case ARTIFACT_PACKAGES_FIELD:
+          packages = readStrings(jsonReader);
+          break;
+        case ARTIFACT_RESOURCES_FIELD:
+          resources = readStrings(jsonReader);
+          break;
+        default:
+          jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+
+    validateArtifactCoordinates(artifactCoordinates);
+    if (uri == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"uri\" not specified for dependency '%s'",
+                                             classLoaderModelDescriptor.getName(),
+                                             artifactCoordinates.getGroupId() + ":" + artifactCoordinates.getArtifactId()));
+    }
+    Artifact artifact;
+    try {
+      artifact = new Artifact(artifactCoordinates, new URI(uri));
+    } catch (URISyntaxException e) {
+      throw new IllegalStateException(format("Error deserializing '%s'. Invalid \"uri\" for dependency '%s'",
+                                             classLoaderModelDescriptor.getName(),
+                                             artifactCoordinates.getGroupId() + ":" + artifactCoordinates.getArtifactId()),
+                                      e);
+    }
+    artifact.setShared(shared);
+    artifact.setPackages(packages);
+    artifact.setResources(resources);
+    return artifact;
+  }
+
+  private ArtifactCoordinates readArtifactCoordinates(JsonReader jsonReader) throws IOException {
+    String groupId = null;
+    String artifactId = null;
+    String version = null;
+    String type = DEFAULT_ARTIFACT_TYPE;
+    String classifier = null;
+    String scope = null;
+
+    jsonReader.beginObject();
+    while (jsonReader.hasNext()) {
+      String name = jsonReader.nextName();
+      if (jsonReader.peek() == JsonToken.NULL) {
+        jsonReader.nextNull();
+        if (TYPE.equals(name)) {
+          type = null;
+        }
+        continue;
+      }
+      switch (name) {
+        case GROUP_ID:
+          groupId = jsonReader.nextString();
+          break;
+        case ARTIFACT_ID:
+          artifactId = jsonReader.nextString();
+          break;
+        case VERSION:
+          version = jsonReader.nextString();
+          break;
+        case TYPE:
+          type = jsonReader.nextString();
+          break;
+        case CLASSIFIER:
+          classifier = jsonReader.nextString();
+          break;
+        case SCOPE:
+          scope = jsonReader.nextString();
+          break;
+        default:
+          jsonReader.skipValue();
+      }
+    }
+    jsonReader.endObject();
+
+    if (groupId == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"groupId\" not specified.",
+                                             classLoaderModelDescriptor.getName()));
+    }
+    if (artifactId == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"artifactId\" not specified.",
+                                             classLoaderModelDescriptor.getName()));
+    }
+    if (version == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"version\" not specified for '%s'.",
+                                             classLoaderModelDescriptor.getName(), groupId + ":" + artifactId));
+    }
+    if (type == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"type\" not specified for '%s'.",
+                                             classLoaderModelDescriptor.getName(), groupId + ":" + artifactId));
+    }
+    return new ArtifactCoordinates(groupId, artifactId, version, type, classifier, scope);
+  }
+
+  private void validateArtifactCoordinates(ArtifactCoordinates artifactCoordinates) {
+    if (artifactCoordinates == null) {
+      throw new IllegalStateException(format("Error deserializing '%s'. \"artifactCoordinates\" not specified.",
+                                             classLoaderModelDescriptor.getName()));
+    }
+  }
+
+  private String[] readStrings(JsonReader jsonReader) throws IOException {
+    if (skipPackagesAndResources) {
+      jsonReader.skipValue();
+      return null;
+    }
+    List<String> values = new ArrayList<>();
+    jsonReader.beginArray();
+    while (jsonReader.hasNext()) {
+      if (jsonReader.peek() == JsonToken.NULL) {
+        jsonReader.nextNull();
+        values.add(null);
+      } else {
+        values.add(jsonReader.nextString());
+      }
+    }
+    jsonReader.endArray();
+    return values.toArray(new String[0]);
+  }
+
+}
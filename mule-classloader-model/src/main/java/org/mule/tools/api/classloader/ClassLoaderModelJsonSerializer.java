@@ -6,25 +6,37 @@
  */
 package org.mule.tools.api.classloader;
 
+import static org.mule.tools.api.classloader.Constants.ADDITIONAL_PLUGIN_DEPENDENCIES_FIELD;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_IS_SHARED_FIELD;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_PACKAGES_FIELD;
+import static org.mule.tools.api.classloader.Constants.ARTIFACT_RESOURCES_FIELD;
 import static org.mule.tools.api.classloader.Constants.CLASSLOADER_MODEL_FILE_NAME;
 import static org.mule.tools.api.classloader.Constants.PACKAGES_FIELD;
 import static org.mule.tools.api.classloader.Constants.RESOURCES_FIELD;
 
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 import org.mule.tools.api.classloader.model.AppClassLoaderModel;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ArtifactCoordinates;
 import org.mule.tools.api.classloader.model.ClassLoaderModel;
+import org.mule.tools.api.classloader.model.Plugin;
 
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
 import java.lang.reflect.Type;
+import java.util.List;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -32,9 +44,24 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSerializationContext;
 import com.google.gson.JsonSerializer;
+import com.google.gson.stream.JsonWriter;
 
 public class ClassLoaderModelJsonSerializer {
 
+  private static final String INDENT = "  ";
+
+  private static final Gson DESERIALIZER_GSON = new GsonBuilder()
+      .enableComplexMapKeySerialization()
+      .create();
+  private static final Gson SERIALIZER_GSON = new GsonBuilder()
+      .enableComplexMapKeySerialization()
+      .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
+      .registerTypeAdapter(AppClassLoaderModel.class,
+                           new AppClassLoaderModelJsonSerializer.AppClassLoaderModelCustomJsonSerializer())
+      .registerTypeAdapter(ClassLoaderModel.class,
+                           new ClassLoaderModelCustomJsonSerializer())
+      .create();
+
   /**
    * Creates a {@link ClassLoaderModel} from the JSON representation
    *
@@ -42,12 +69,8 @@ public class ClassLoaderModelJsonSerializer {
    * @return a non null {@link ClassLoaderModel} matching the provided JSON content
    */
   public static ClassLoaderModel deserialize(File classLoaderModelDescriptor) {
-    try (Reader reader = new BufferedReader(new FileReader(classLoaderModelDescriptor))) {
-      Gson gson = new GsonBuilder()
-          .enableComplexMapKeySerialization()
-          .create();
-
-      ClassLoaderModel classLoaderModel = gson.fromJson(reader, ClassLoaderModel.class);
+    try (Reader reader = newReader(classLoaderModelDescriptor)) {
+      ClassLoaderModel classLoaderModel = DESERIALIZER_GSON.fromJson(reader, ClassLoaderModel.class);
       validate(classLoaderModel, classLoaderModelDescriptor);
       return classLoaderModel;
     } catch (IOException e) {
@@ -55,6 +78,28 @@ public class ClassLoaderModelJsonSerializer {
     }
   }
 
+  /**
+   * Creates a {@link ClassLoaderModel} from the JSON representation, streaming the descriptor with a
+   * {@link ClassLoaderModelJsonReader} instead of binding it as a whole.
+   *
+   * @param classLoaderModelDescriptor file containing the classloader model in JSON format
+   * @param skipPackagesAndResources   if {@code true} the packages and resources of the model and of its dependencies, the biggest
+   *                                   part of the descriptor, are not read and are {@code null} in the returned model
+   * @return a non null {@link ClassLoaderModel} matching the provided JSON content
+   */
+  public static ClassLoaderModel deserialize(File classLoaderModelDescriptor, boolean skipPackagesAndResources) {
+    return newJsonReader(classLoaderModelDescriptor, skipPackagesAndResources).read();
+  }
+
+  protected static ClassLoaderModelJsonReader newJsonReader(File classLoaderModelDescriptor, boolean skipPackagesAndResources) {
+    ClassLoaderModelJsonReader reader = new ClassLoaderModelJsonReader(classLoaderModelDescriptor);
+    return skipPackagesAndResources ? reader.skipPackagesAndResources() : reader;
+  }
+
+  protected static Reader newReader(File classLoaderModelDescriptor) throws IOException {
+    return new BufferedReader(new InputStreamReader(new FileInputStream(classLoaderModelDescriptor), UTF_8));
+  }
+
   protected static void validate(ClassLoaderModel classLoaderModel, File classLoaderModelDescriptor) {
     if (classLoaderModel.getVersion() == null) {
       throw new IllegalStateException(format("Error deserializing '%s'. \"version\" not specified.",
@@ -133,19 +178,140 @@ public class ClassLoaderModelJsonSerializer {
    * @return string containing the classloader model's JSON representation
    */
   public static String serialize(ClassLoaderModel classLoaderModel, boolean prettyPrinting) {
-    GsonBuilder gsonBuilder = new GsonBuilder().enableComplexMapKeySerialization();
-    if (prettyPrinting) {
-      gsonBuilder = gsonBuilder.setPrettyPrinting();
+    StringWriter writer = new StringWriter();
+    try {
+      serialize(classLoaderModel, prettyPrinting, writer);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
     }
-    Gson gson = gsonBuilder
-        .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
-        .registerTypeAdapter(AppClassLoaderModel.class,
-                             new AppClassLoaderModelJsonSerializer.AppClassLoaderModelCustomJsonSerializer())
-        .registerTypeAdapter(ClassLoaderModel.class,
-                             new ClassLoaderModelCustomJsonSerializer())
-        .create();
+    return writer.toString();
+  }
+
+  /**
+   * Serializes the classloader model to the given writer, without building its whole JSON representation in memory
+   *
+   * @param classLoaderModel the classloader model of the application being packaged
+   * @param prettyPrinting   if {@code true} the json will be printed with pretty print mode
+   * @param writer           where the classloader model's JSON representation is written to. It is flushed but not closed.
+   * @throws IOException if the JSON representation could not be written
+   */
+  public static void serialize(ClassLoaderModel classLoaderModel, boolean prettyPrinting, Writer writer) throws IOException {
     ClassLoaderModel parameterizedClassloaderModel = classLoaderModel.getParametrizedUriModel();
-    return gson.toJson(parameterizedClassloaderModel);
+    JsonWriter jsonWriter = new JsonWriter(writer);
+    if (prettyPrinting) {
+      jsonWriter.setIndent(INDENT);
+    }
+    // Same settings Gson uses by default, so the output does not change
+    jsonWriter.setLenient(true);
+    jsonWriter.setHtmlSafe(true);
+    jsonWriter.setSerializeNulls(false);
+
+    Class<?> modelClass = parameterizedClassloaderModel.getClass();
+    if (modelClass == ClassLoaderModel.class || modelClass == AppClassLoaderModel.class) {
+      writeClassLoaderModel(jsonWriter, parameterizedClassloaderModel);
+    } else {
+      // Unknown model types keep being serialized by reflection
+      SERIALIZER_GSON.toJson(parameterizedClassloaderModel, modelClass, jsonWriter);
+    }
+    jsonWriter.flush();
+  }
+
+  /**
+   * Writes the model with the same fields, order and omissions as {@link ClassLoaderModelCustomJsonSerializer} and
+   * {@link AppClassLoaderModelJsonSerializer.AppClassLoaderModelCustomJsonSerializer}.
+   */
+  private static void writeClassLoaderModel(JsonWriter jsonWriter, ClassLoaderModel classLoaderModel) throws IOException {
+    jsonWriter.beginObject();
+    jsonWriter.name("version").value(classLoaderModel.getVersion());
+    jsonWriter.name("artifactCoordinates");
+    writeArtifactCoordinates(jsonWriter, classLoaderModel.getArtifactCoordinates());
+    jsonWriter.name("dependencies");
+    writeArtifacts(jsonWriter, classLoaderModel.getDependencies());
+    writeNonEmptyArray(jsonWriter, PACKAGES_FIELD, classLoaderModel.getPackages());
+    writeNonEmptyArray(jsonWriter, RESOURCES_FIELD, classLoaderModel.getResources());
+    if (classLoaderModel instanceof AppClassLoaderModel) {
+      List<Plugin> plugins = ((AppClassLoaderModel) classLoaderModel).getAdditionalPluginDependencies().orElse(null);
+      if (plugins != null && !plugins.isEmpty()) {
+        jsonWriter.name(ADDITIONAL_PLUGIN_DEPENDENCIES_FIELD);
+        writePlugins(jsonWriter, plugins);
+      }
+    }
+    jsonWriter.endObject();
+  }
+
+  private static void writePlugins(JsonWriter jsonWriter, List<Plugin> plugins) throws IOException {
+    jsonWriter.beginArray();
+    for (Plugin plugin : plugins) {
+      if (plugin == null || plugin.getClass() != Plugin.class) {
+        SERIALIZER_GSON.toJson(plugin, plugin == null ? Plugin.class : plugin.getClass(), jsonWriter);
+        continue;
+      }
+      jsonWriter.beginObject();
+      jsonWriter.name("groupId").value(plugin.getGroupId());
+      jsonWriter.name("artifactId").value(plugin.getArtifactId());
+      jsonWriter.name("additionalDependencies");
+      writeArtifacts(jsonWriter, plugin.getAdditionalDependencies());
+      jsonWriter.endObject();
+    }
+    jsonWriter.endArray();
+  }
+
+  private static void writeArtifacts(JsonWriter jsonWriter, List<Artifact> artifacts) throws IOException {
+    if (artifacts == null) {
+      jsonWriter.nullValue();
+      return;
+    }
+    jsonWriter.beginArray();
+    for (Artifact artifact : artifacts) {
+      writeArtifact(jsonWriter, artifact);
+    }
+    jsonWriter.endArray();
+  }
+
+  private static void writeArtifact(JsonWriter jsonWriter, Artifact artifact) throws IOException {
+    if (artifact == null || artifact.getClass() != Artifact.class) {
+      SERIALIZER_GSON.toJson(artifact, Artifact.class, jsonWriter);
+      return;
+    }
+    jsonWriter.beginObject();
+    jsonWriter.name("artifactCoordinates");
+    writeArtifactCoordinates(jsonWriter, artifact.getArtifactCoordinates());
+    jsonWriter.name("uri").value(artifact.getUri() == null ? null : artifact.getUri().toASCIIString());
+    if (artifact.isShared()) {
+      jsonWriter.name(ARTIFACT_IS_SHARED_FIELD).value(true);
+    }
+    writeNonEmptyArray(jsonWriter, ARTIFACT_PACKAGES_FIELD, artifact.getPackages());
+    writeNonEmptyArray(jsonWriter, ARTIFACT_RESOURCES_FIELD, artifact.getResources());
+    jsonWriter.endObject();
+  }
+
+  private static void writeArtifactCoordinates(JsonWriter jsonWriter, ArtifactCoordinates artifactCoordinates)
+      throws IOException {
+    if (artifactCoordinates == null || artifactCoordinates.getClass() != ArtifactCoordinates.class) {
+      SERIALIZER_GSON.toJson(artifactCoordinates,
+                             artifactCoordinates == null ? ArtifactCoordinates.class : artifactCoordinates.getClass(),
+                             jsonWriter);
+      return;
+    }
+    jsonWriter.beginObject();
+    jsonWriter.name("groupId").value(artifactCoordinates.getGroupId());
+    jsonWriter.name("artifactId").value(artifactCoordinates.getArtifactId());
+    jsonWriter.name("version").value(artifactCoordinates.getVersion());
+    jsonWriter.name("type").value(artifactCoordinates.getType());
+    jsonWriter.name("classifier").value(artifactCoordinates.getClassifier());
+    jsonWriter.name("scope").value(artifactCoordinates.getScope());
+    jsonWriter.endObject();
+  }
+
+  private static void writeNonEmptyArray(JsonWriter jsonWriter, String name, String[] values) throws IOException {
+    if (values == null || values.length == 0) {
+      return;
+    }
+    jsonWriter.name(name).beginArray();
+    for (String value : values) {
+      jsonWriter.value(value);
+    }
+    jsonWriter.endArray();
   }
 
   /**
@@ -178,9 +344,8 @@ public class ClassLoaderModelJsonSerializer {
     } catch (IOException e) {
       throw new RuntimeException("Could not create classloader-model.json", e);
     }
-    try (Writer writer = new FileWriter(destinationFile.getAbsolutePath())) {
-      writer.write(serialize(classLoaderModel, prettyPrinting));
-      writer.close();
+    try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(destinationFile), UTF_8))) {
+      serialize(classLoaderModel, prettyPrinting, writer);
       return destinationFile;
     } catch (IOException e) {
       throw new RuntimeException("Could not create classloader-model.json", e);
@@ -189,14 +354,15 @@ public class ClassLoaderModelJsonSerializer {
 
   private static class ClassLoaderModelCustomJsonSerializer implements JsonSerializer<ClassLoaderModel> {
 
+    private static final Gson GSON = new GsonBuilder()
+        .enableComplexMapKeySerialization()
+        .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
+        .create();
+
     @Override
     public JsonElement serialize(ClassLoaderModel classLoaderModel, Type type,
                                  JsonSerializationContext jsonSerializationContext) {
-      Gson gson = new GsonBuilder()
-          .enableComplexMapKeySerialization()
-          .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
-          .create();
-      JsonObject jsonObject = (JsonObject) gson.toJsonTree(classLoaderModel);
+      JsonObject jsonObject = (JsonObject) GSON.toJsonTree(classLoaderModel);
 
       if (classLoaderModel.getPackages() == null || classLoaderModel.getPackages().length == 0) {
         jsonObject.remove(PACKAGES_FIELD);
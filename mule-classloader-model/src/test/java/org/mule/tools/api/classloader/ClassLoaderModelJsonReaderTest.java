@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.classloader;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mule.tools.api.classloader.model.AppClassLoaderModel;
+import org.mule.tools.api.classloader.model.Artifact;
+import org.mule.tools.api.classloader.model.ArtifactCoordinates;
+import org.mule.tools.api.classloader.model.ClassLoaderModel;
+import org.mule.tools.api.classloader.model.Plugin;
+
+import java.io.File;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClassLoaderModelJsonReaderTest {
+
+  private static final String GROUP_ID = "org.mule.munit";
+  private static final String ARTIFACT_ID = "fake-id";
+  private static final String VERSION = "1.0.0";
+
+  @TempDir
+  public File temporaryFolder;
+
+  private File classLoaderModelDescriptor;
+
+  @BeforeEach
+  public void setUp() {
+    AppClassLoaderModel classLoaderModel =
+        new AppClassLoaderModel(VERSION, new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, "jar", "mule-application"));
+    List<Artifact> dependencies = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Artifact artifact = new Artifact(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID + i, VERSION, "jar", null, "compile"),
+                                       URI.create("file:/repository/path/" + i));
+      artifact.setShared(i == 0);
+      artifact.setPackages(new String[] {"org.test" + i});
+      artifact.setResources(new String[] {"file" + i + ".txt"});
+      dependencies.add(artifact);
+    }
+    classLoaderModel.setDependencies(dependencies);
+    classLoaderModel.setPackages(new String[] {"org.app"});
+    Plugin plugin = new Plugin();
+    plugin.setGroupId(GROUP_ID);
+    plugin.setArtifactId("plugin");
+    plugin.setAdditionalDependencies(Collections.singletonList(dependencies.get(1)));
+    classLoaderModel.setAdditionalPluginDependencies(Collections.singletonList(plugin));
+    classLoaderModelDescriptor = ClassLoaderModelJsonSerializer.serializeToFile(classLoaderModel, temporaryFolder, false);
+  }
+
+  @Test
+  void readMatchesGsonDeserialization() {
+    AppClassLoaderModel expected = AppClassLoaderModelJsonSerializer.deserialize(classLoaderModelDescriptor);
+    AppClassLoaderModel actual = new ClassLoaderModelJsonReader(classLoaderModelDescriptor).readAppClassLoaderModel();
+
+    assertThat(actual).isEqualTo(expected);
+    assertThat(actual.getPackages()).containsExactly(expected.getPackages());
+    assertThat(actual.getResources()).isNull();
+    assertThat(actual.getDependencies()).containsExactlyElementsOf(expected.getDependencies());
+    for (int i = 0; i < expected.getDependencies().size(); i++) {
+      Artifact expectedArtifact = expected.getDependencies().get(i);
+      Artifact actualArtifact = actual.getDependencies().get(i);
+      assertThat(actualArtifact.getUri()).isEqualTo(expectedArtifact.getUri());
+      assertThat(actualArtifact.isShared()).isEqualTo(expectedArtifact.isShared());
+      assertThat(actualArtifact.getArtifactCoordinates().getScope())
+          .isEqualTo(expectedArtifact.getArtifactCoordinates().getScope());
+      assertThat(actualArtifact.getPackages()).containsExactly(expectedArtifact.getPackages());
+      assertThat(actualArtifact.getResources()).containsExactly(expectedArtifact.getResources());
+    }
+    Plugin plugin = actual.getAdditionalPluginDependencies().get().get(0);
+    assertThat(plugin.getArtifactId()).isEqualTo("plugin");
+    assertThat(plugin.getAdditionalDependencies()).containsExactly(expected.getDependencies().get(1));
+  }
+
+  @Test
+  void packagesAndResourcesAreSkipped() {
+    ClassLoaderModel classLoaderModel =
+        new ClassLoaderModelJsonReader(classLoaderModelDescriptor).skipPackagesAndResources().read();
+
+    assertThat(classLoaderModel.getPackages()).isNull();
+    assertThat(classLoaderModel.getDependencies()).hasSize(3).allSatisfy(artifact -> {
+      assertThat(artifact.getUri()).isNotNull();
+      assertThat(artifact.getPackages()).isNull();
+      assertThat(artifact.getResources()).isNull();
+    });
+  }
+
+  @Test
+  void dependenciesAreStreamedToConsumer() {
+    List<String> uris = new ArrayList<>();
+    ClassLoaderModel classLoaderModel = new ClassLoaderModelJsonReader(classLoaderModelDescriptor)
+        .skipPackagesAndResources().read(artifact -> uris.add(artifact.getUri().toString()));
+
+    assertThat(classLoaderModel.getDependencies()).isEmpty();
+    assertThat(classLoaderModel.getArtifactCoordinates().getArtifactId()).isEqualTo(ARTIFACT_ID);
+    assertThat(uris).hasSize(3).allSatisfy(uri -> assertThat(uri).startsWith("repository/"));
+  }
+
+  @Test
+  void serializerStreamsDescriptorWhenSkippingPackagesAndResources() {
+    AppClassLoaderModel expected = AppClassLoaderModelJsonSerializer.deserialize(classLoaderModelDescriptor);
+    ClassLoaderModel classLoaderModel = ClassLoaderModelJsonSerializer.deserialize(classLoaderModelDescriptor, true);
+    AppClassLoaderModel appClassLoaderModel = AppClassLoaderModelJsonSerializer.deserialize(classLoaderModelDescriptor, true);
+
+    assertThat(classLoaderModel.getDependencies()).containsExactlyElementsOf(expected.getDependencies());
+    assertThat(classLoaderModel.getDependencies()).allSatisfy(artifact -> assertThat(artifact.getPackages()).isNull());
+    assertThat(appClassLoaderModel.getAdditionalPluginDependencies().get()).hasSize(1);
+    assertThat(AppClassLoaderModelJsonSerializer.deserialize(classLoaderModelDescriptor, false).getDependencies().get(0)
+        .getPackages()).containsExactly(expected.getDependencies().get(0).getPackages());
+  }
+}
@@ -8,9 +8,13 @@ package org.mule.tools.api.classloader;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mule.tools.api.classloader.model.AppClassLoaderModel;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ArtifactCoordinates;
 import org.mule.tools.api.classloader.model.ClassLoaderModel;
+import org.mule.tools.api.classloader.model.Plugin;
 
 import java.io.File;
 import java.io.IOException;
@@ -19,9 +23,17 @@ import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mule.tools.api.classloader.Constants.PACKAGES_FIELD;
+import static org.mule.tools.api.classloader.Constants.RESOURCES_FIELD;
 
 class ClassLoaderModelJsonSerializerTest {
 
@@ -54,6 +66,72 @@ class ClassLoaderModelJsonSerializerTest {
         .isEqualTo(expectedClassLoaderModel);
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void classLoaderModelSerializationMatchesTreeSerialization(boolean prettyPrinting, @TempDir Path tempDir)
+      throws URISyntaxException, IOException {
+    ClassLoaderModel classLoaderModel =
+        new ClassLoaderModel(VERSION, new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER));
+    List<Artifact> dependencies = getDependencies();
+    dependencies.get(0).setShared(true);
+    dependencies.get(1).setPackages(new String[] {"org.test", "org.test.sub"});
+    dependencies.get(1).setResources(new String[] {"META-INF/file.txt", "file=<&>'.properties", "\u00f1and\u00fa.txt"});
+    dependencies.get(2).setPackages(new String[0]);
+    classLoaderModel.setDependencies(dependencies);
+    classLoaderModel.setPackages(new String[] {"org.app"});
+
+    String expected = treeSerialize(classLoaderModel, prettyPrinting);
+    assertThat(ClassLoaderModelJsonSerializer.serialize(classLoaderModel, prettyPrinting)).isEqualTo(expected);
+    File classloaderModelJsonFile = ClassLoaderModelJsonSerializer.serializeToFile(classLoaderModel, tempDir.toFile(),
+                                                                                   prettyPrinting);
+    assertThat(new String(Files.readAllBytes(classloaderModelJsonFile.toPath()), UTF_8)).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void appClassLoaderModelSerializationMatchesTreeSerialization(boolean prettyPrinting) throws URISyntaxException {
+    AppClassLoaderModel classLoaderModel =
+        new AppClassLoaderModel(VERSION, new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER));
+    classLoaderModel.setDependencies(getDependencies());
+    classLoaderModel.setResources(new String[] {"log4j2.xml"});
+    assertThat(ClassLoaderModelJsonSerializer.serialize(classLoaderModel, prettyPrinting))
+        .isEqualTo(treeSerialize(classLoaderModel, prettyPrinting));
+
+    Plugin plugin = new Plugin();
+    plugin.setGroupId(GROUP_ID);
+    plugin.setArtifactId(ARTIFACT_ID);
+    plugin.setAdditionalDependencies(getDependencies());
+    classLoaderModel.setAdditionalPluginDependencies(Collections.singletonList(plugin));
+    assertThat(ClassLoaderModelJsonSerializer.serialize(classLoaderModel, prettyPrinting))
+        .isEqualTo(treeSerialize(classLoaderModel, prettyPrinting));
+  }
+
+  private String treeSerialize(ClassLoaderModel classLoaderModel, boolean prettyPrinting) {
+    GsonBuilder gsonBuilder = new GsonBuilder().enableComplexMapKeySerialization();
+    if (prettyPrinting) {
+      gsonBuilder = gsonBuilder.setPrettyPrinting();
+    }
+    Gson gson = gsonBuilder
+        .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
+        .registerTypeAdapter(AppClassLoaderModel.class,
+                             new AppClassLoaderModelJsonSerializer.AppClassLoaderModelCustomJsonSerializer())
+        .registerTypeAdapter(ClassLoaderModel.class,
+                             (com.google.gson.JsonSerializer<ClassLoaderModel>) (model, type, context) -> {
+                               JsonObject jsonObject = (JsonObject) new GsonBuilder()
+                                   .registerTypeAdapter(Artifact.class, new ArtifactCustomJsonSerializer())
+                                   .create().toJsonTree(model);
+                               if (model.getPackages() == null || model.getPackages().length == 0) {
+                                 jsonObject.remove(PACKAGES_FIELD);
+                               }
+                               if (model.getResources() == null || model.getResources().length == 0) {
+                                 jsonObject.remove(RESOURCES_FIELD);
+                               }
+                               return jsonObject;
+                             })
+        .create();
+    return gson.toJson(classLoaderModel.getParametrizedUriModel());
+  }
+
   private List<Artifact> getDependencies() throws URISyntaxException {
     List<Artifact> artifacts = new ArrayList<>();
     for (int i = 0; i < 10; ++i) {
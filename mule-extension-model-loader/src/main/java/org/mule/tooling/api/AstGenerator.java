@@ -9,6 +9,10 @@ package org.mule.tooling.api;
 import static org.mule.runtime.ast.internal.serialization.json.JsonArtifactAstSerializerFormat.JSON;
 import static org.mule.runtime.module.artifact.api.descriptor.ArtifactPluginDescriptor.MULE_PLUGIN_CLASSIFIER;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static java.util.stream.Collectors.joining;
 
 import org.mule.maven.client.api.MavenClient;
@@ -27,18 +31,30 @@ import org.mule.runtime.ast.api.xml.AstXmlParser;
 import org.mule.runtime.config.api.properties.ConfigurationPropertiesHierarchyBuilder;
 import org.mule.runtime.config.api.properties.ConfigurationPropertiesResolver;
 import org.mule.tooling.internal.PluginResources;
+import org.mule.tooling.internal.ProfiledAstValidator;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.model.Dependency;
@@ -48,6 +64,7 @@ public class AstGenerator {
 
   AstXmlParser xmlParser;
   Set<String> dwlFiles = new HashSet<String>();
+  String extensionModelsFingerprint;
 
   public AstGenerator(MavenClient mavenClient, String runtimeVersion,
                       Set<Artifact> allDependencies, Path workingDir, ClassRealm classRealm,
@@ -59,18 +76,40 @@ public class AstGenerator {
   public AstGenerator(MavenClient mavenClient, String runtimeVersion,
                       Set<Artifact> allDependencies, Path workingDir, ClassRealm classRealm,
                       List<Dependency> directDependencies, Boolean asApplication, String classifier) {
+    this(builder(mavenClient, runtimeVersion, allDependencies, workingDir, classRealm, directDependencies)
+        .withAsApplication(asApplication).withClassifier(classifier));
+  }
+
+  private AstGenerator(Builder generatorBuilder) {
+    MavenClient mavenClient = generatorBuilder.mavenClient;
+    String runtimeVersion = generatorBuilder.runtimeVersion;
+    Set<Artifact> allDependencies = generatorBuilder.allDependencies;
+    Path workingDir = generatorBuilder.workingDir;
+    ClassRealm classRealm = generatorBuilder.classRealm;
+    List<Dependency> directDependencies = generatorBuilder.directDependencies;
+    Boolean asApplication = generatorBuilder.asApplication;
+    String classifier = generatorBuilder.classifier;
+    int loaderThreads = generatorBuilder.loaderThreads;
+    ExtensionModelLoader extensionModelLoader = generatorBuilder.extensionModelLoader != null
+        ? generatorBuilder.extensionModelLoader
+        : createLoader(mavenClient, runtimeVersion, workingDir, generatorBuilder.extensionModelCache, generatorBuilder.loaderPool);
     ClassLoader classloader = AstGenerator.class.getClassLoader();
-    ExtensionModelLoader loader = ExtensionModelLoaderFactory.createLoader(mavenClient, workingDir, classloader, runtimeVersion);
     Set<ExtensionModel> extensionModels = new HashSet<>();
 
+    List<Dependency> transitiveDependencies = allDependencies.stream().map(this::createDependency)
+        .filter(dependency -> !directDependencies.contains(dependency))
+        .collect(Collectors.toList());
+    ExtensionModelLoader loader = loaderThreads > 1
+        ? preload(extensionModelLoader, directDependencies, transitiveDependencies, loaderThreads)
+        : extensionModelLoader;
+
     ArrayList<URL> dependenciesURL = new ArrayList<>();
     for (Dependency dependency : directDependencies) {
       removeExtModelIfExists(extensionModels, dependency);
       processDependency(dependency, classloader, mavenClient, runtimeVersion, workingDir, extensionModels, dependenciesURL,
                         loader,dwlFiles);
     }
-    allDependencies.stream().map(this::createDependency)
-        .filter(dependency -> !directDependencies.contains(dependency))
+    transitiveDependencies
         .forEach(dependency -> processDependency(dependency, classloader, mavenClient, runtimeVersion, workingDir,
                                                  extensionModels, dependenciesURL, loader, dwlFiles));
     dependenciesURL.forEach(url -> {
@@ -83,6 +122,7 @@ public class AstGenerator {
     });
     Set<ExtensionModel> runtimeExtensionModels = loader.getRuntimeExtensionModels();
     extensionModels.addAll(runtimeExtensionModels);
+    extensionModelsFingerprint = fingerprint(extensionModels, allDependencies, runtimeVersion, asApplication, classifier);
     AstXmlParser.Builder builder = new AstXmlParser.Builder();
     ConfigurationPropertiesHierarchyBuilder emptyPropertyResolverBuilder = new ConfigurationPropertiesHierarchyBuilder();
 
@@ -101,6 +141,189 @@ public class AstGenerator {
     xmlParser = builder.build();
   }
 
+  /**
+   * @return a builder of a generator for the given project, which takes the options not required by the constructors.
+   */
+  public static Builder builder(MavenClient mavenClient, String runtimeVersion, Set<Artifact> allDependencies, Path workingDir,
+                                ClassRealm classRealm, List<Dependency> directDependencies) {
+    return new Builder(mavenClient, runtimeVersion, allDependencies, workingDir, classRealm, directDependencies);
+  }
+
+  /**
+   * Builder of an {@link AstGenerator}. By default it generates the AST of a Mule application, loading the extension models of
+   * its plugins one at a time on every build.
+   */
+  public static class Builder {
+
+    private final MavenClient mavenClient;
+    private final String runtimeVersion;
+    private final Set<Artifact> allDependencies;
+    private final Path workingDir;
+    private final ClassRealm classRealm;
+    private final List<Dependency> directDependencies;
+    private Boolean asApplication = true;
+    private String classifier = Classifier.MULE_APPLICATION.toString();
+    private ExtensionModelCache extensionModelCache;
+    private int loaderThreads = 1;
+    private ExtensionModelLoaderPool loaderPool;
+    private ExtensionModelLoader extensionModelLoader;
+
+    private Builder(MavenClient mavenClient, String runtimeVersion, Set<Artifact> allDependencies, Path workingDir,
+                    ClassRealm classRealm, List<Dependency> directDependencies) {
+      this.mavenClient = mavenClient;
+      this.runtimeVersion = runtimeVersion;
+      this.allDependencies = allDependencies;
+      this.workingDir = workingDir;
+      this.classRealm = classRealm;
+      this.directDependencies = directDependencies;
+    }
+
+    public Builder withAsApplication(Boolean asApplication) {
+      this.asApplication = asApplication;
+      return this;
+    }
+
+    public Builder withClassifier(String classifier) {
+      this.classifier = classifier;
+      return this;
+    }
+
+    /**
+     * @param extensionModelCache cache of the resources loaded from the plugins, or {@code null} to load them on every build.
+     */
+    public Builder withExtensionModelCache(ExtensionModelCache extensionModelCache) {
+      this.extensionModelCache = extensionModelCache;
+      return this;
+    }
+
+    /**
+     * @param loaderThreads number of plugins whose resources are loaded at the same time. The extension models are collected in
+     *                      the order of the dependencies afterwards, so the result does not depend on it.
+     */
+    public Builder withLoaderThreads(int loaderThreads) {
+      checkArgument(loaderThreads > 0, "Loader threads should be greater than zero");
+      this.loaderThreads = loaderThreads;
+      return this;
+    }
+
+    /**
+     * @param loaderPool pool whose container class loader and runtime extension models are reused, or {@code null} to create
+     *                   them for this artifact.
+     */
+    public Builder withLoaderPool(ExtensionModelLoaderPool loaderPool) {
+      this.loaderPool = loaderPool;
+      return this;
+    }
+
+    /**
+     * @param extensionModelLoader loader of the runtime and plugin extension models, used instead of the one created from the
+     *                             extension model cache and loader pool.
+     */
+    public Builder withExtensionModelLoader(ExtensionModelLoader extensionModelLoader) {
+      checkArgument(extensionModelLoader != null, "Extension model loader should not be null");
+      this.extensionModelLoader = extensionModelLoader;
+      return this;
+    }
+
+    public AstGenerator build() {
+      return new AstGenerator(this);
+    }
+  }
+
+  private static ExtensionModelLoader createLoader(MavenClient mavenClient, String runtimeVersion, Path workingDir,
+                                                   ExtensionModelCache extensionModelCache,
+                                                   ExtensionModelLoaderPool loaderPool) {
+    ClassLoader classloader = AstGenerator.class.getClassLoader();
+    return loaderPool != null
+        ? loaderPool.getLoader(mavenClient, classloader, runtimeVersion, extensionModelCache)
+        : ExtensionModelLoaderFactory.createLoader(mavenClient, workingDir, classloader, runtimeVersion, extensionModelCache);
+  }
+
+  /**
+   * Loads the resources of all the plugins on a bounded pool of threads. The returned loader serves them to
+   * {@link #processDependency}, which still collects them one dependency at a time, so the extension models of a direct
+   * dependency keep overriding the ones loaded before it.
+   */
+  private static ExtensionModelLoader preload(ExtensionModelLoader loader, List<Dependency> directDependencies,
+                                              List<Dependency> transitiveDependencies, int loaderThreads) {
+    Map<String, BundleDescriptor> plugins = new LinkedHashMap<>();
+    Stream.concat(directDependencies.stream(), transitiveDependencies.stream())
+        .filter(AstGenerator::isPlugin)
+        .map(AstGenerator::toBundleDescriptor)
+        .forEach(descriptor -> plugins.putIfAbsent(toKey(descriptor), descriptor));
+    if (plugins.isEmpty()) {
+      return loader;
+    }
+    ExecutorService executor = newFixedThreadPool(Math.min(loaderThreads, plugins.size()));
+    try {
+      Map<String, Future<PluginResources>> loads = new LinkedHashMap<>();
+      plugins.forEach((key, descriptor) -> loads.put(key, executor.submit(() -> loader.load(descriptor))));
+      Map<String, PluginResources> resources = new HashMap<>();
+      for (Map.Entry<String, Future<PluginResources>> load : loads.entrySet()) {
+        resources.put(load.getKey(), getLoadResult(load.getValue()));
+      }
+      return new PreloadedExtensionModelLoader(loader, resources);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static PluginResources getLoadResult(Future<PluginResources> load) {
+    try {
+      return load.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ToolingException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new ToolingException(e.getCause());
+    }
+  }
+
+  private static String toKey(BundleDescriptor descriptor) {
+    return descriptor.getGroupId() + ":" + descriptor.getArtifactId() + ":" + descriptor.getVersion() + ":"
+        + descriptor.getClassifier().orElse("") + ":" + descriptor.getType();
+  }
+
+  private static boolean isPlugin(Dependency dependency) {
+    return dependency.getClassifier() != null
+        && (dependency.getClassifier().equals(MULE_PLUGIN_CLASSIFIER) || dependency.getClassifier().equals("custom"));
+  }
+
+  private static String fingerprint(Set<ExtensionModel> extensionModels, Set<Artifact> allDependencies, String runtimeVersion,
+                                    Boolean asApplication, String classifier) {
+    List<String> models = extensionModels.stream()
+        .map(extensionModel -> extensionModel.getName() + ":" + extensionModel.getVersion() + ":"
+            + extensionModel.getArtifactCoordinates()
+                .map(coordinates -> coordinates.getGroupId() + ":" + coordinates.getArtifactId() + ":"
+                    + coordinates.getVersion())
+                .orElse(""))
+        .collect(Collectors.toCollection(ArrayList::new));
+    // A rebuilt SNAPSHOT plugin keeps its coordinates, so the files the extension models were loaded from are part of it too
+    allDependencies.stream()
+        .filter(artifact -> MULE_PLUGIN_CLASSIFIER.equals(artifact.getClassifier()) || "custom".equals(artifact.getClassifier()))
+        .filter(artifact -> artifact.getFile() != null)
+        .forEach(artifact -> models.add(artifact.getId() + ":" + artifact.getFile().length() + ":"
+            + artifact.getFile().lastModified()));
+    models.sort(null);
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      digest.update((runtimeVersion + ":" + asApplication + ":" + classifier).getBytes(UTF_8));
+      models.forEach(model -> digest.update(("\n" + model).getBytes(UTF_8)));
+      StringBuilder fingerprint = new StringBuilder();
+      for (byte b : digest.digest()) {
+        fingerprint.append(String.format("%02x", b));
+      }
+      return fingerprint.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
 
   private void removeExtModelIfExists(Set<ExtensionModel> extensionModels, Dependency dependency) {
     extensionModels.removeIf(extension -> extension.getArtifactCoordinates()
@@ -147,10 +370,23 @@ public class AstGenerator {
     return appXmlConfigInputStreams.isEmpty() ? null : xmlParser.parse(artifactName, appXmlConfigInputStreams);
   }
 
+  /**
+   * Generates the AST from the content of the configs, already read by the caller, so the files are not read again.
+   *
+   * @param artifactName   name of the artifact
+   * @param configContents content of each config by its path relative to the configs folder, in the order to parse them
+   */
+  public ArtifactAst generateAST(String artifactName, Map<String, byte[]> configContents) {
+    List<Pair<String, InputStream>> appXmlConfigInputStreams = new ArrayList<>();
+    configContents
+        .forEach((config, content) -> appXmlConfigInputStreams.add(new Pair<>(config, new ByteArrayInputStream(content))));
+    return appXmlConfigInputStreams.isEmpty() ? null : xmlParser.parse(artifactName, appXmlConfigInputStreams);
+  }
+
   public void processDependency(Dependency dependency, ClassLoader classloader, MavenClient mavenClient, String runtimeVersion,
                                 Path workingDir, Set<ExtensionModel> extensionModels, ArrayList<URL> dependenciesURL,
                                 ExtensionModelLoader loader, Set<String> dwlFiles) {
-    if (dependency.getClassifier() != null && (dependency.getClassifier().equals(MULE_PLUGIN_CLASSIFIER) || dependency.getClassifier().equals("custom")) ) {
+    if (isPlugin(dependency)) {
       PluginResources extensionInformation = loader.load(toBundleDescriptor(dependency));
       if(extensionInformation!=null){
         extensionModels.addAll(extensionInformation.getExtensionModels());
@@ -183,17 +419,49 @@ public class AstGenerator {
     return dwlFiles;
   }
 
+  /**
+   * @return a fingerprint of the extension models used to parse the configs, which changes when any of them is added, removed
+   *         or updated, or when the file of any plugin changes.
+   */
+  public String getExtensionModelsFingerprint() {
+    return extensionModelsFingerprint;
+  }
+
   public AstValidatonResult validateAST(ArtifactAst artifactAst) throws ConfigurationException {
+    return validateAST(artifactAst, 1, null);
+  }
+
+  /**
+   * @param threads      number of validation tasks run at the same time.
+   * @param timingReport file where the time spent by each validation is written as JSON, or {@code null} to skip it.
+   */
+  public AstValidatonResult validateAST(ArtifactAst artifactAst, int threads, Path timingReport)
+      throws ConfigurationException {
+    checkArgument(threads > 0, "Threads should be greater than zero");
     // Do not fail for unresolvable properties, since those are expected at deployment time, not packaging time.
     artifactAst.updatePropertiesResolver(propertyKey -> propertyKey);
 
-    ValidationResult result = MuleAstUtils.validatorBuilder()
-        .ignoreParamsWithProperties(true)
-        .build().validate(artifactAst);
+    List<ValidationResultItem> items;
+    if (threads == 1 && timingReport == null) {
+      ValidationResult result = MuleAstUtils.validatorBuilder()
+          .ignoreParamsWithProperties(true)
+          .build().validate(artifactAst);
+      items = result.getItems();
+    } else {
+      ProfiledAstValidator validator = new ProfiledAstValidator(threads);
+      items = validator.validate(artifactAst);
+      if (timingReport != null) {
+        try {
+          validator.writeReport(timingReport);
+        } catch (IOException e) {
+          throw new ToolingException("Could not write the validation timing report " + timingReport, e);
+        }
+      }
+    }
     List<ValidationResultItem> dynamicStructureErrors = new ArrayList<>();
     List<ValidationResultItem> errors = new ArrayList<>();
     List<ValidationResultItem> warnings = new ArrayList<>();
-    result.getItems().forEach(v -> {
+    items.forEach(v -> {
       if (v.getValidation().getLevel().equals(Level.ERROR)) {
         if (v.causedByDynamicArtifact()) {
           dynamicStructureErrors.add(v);
@@ -211,6 +479,31 @@ public class AstGenerator {
     return new AstValidatonResult(errors, warnings, dynamicStructureErrors);
   }
 
+  /**
+   * {@link ExtensionModelLoader} that serves the resources of the plugins already loaded.
+   */
+  private static class PreloadedExtensionModelLoader implements ExtensionModelLoader {
+
+    private final ExtensionModelLoader delegate;
+    private final Map<String, PluginResources> resources;
+
+    private PreloadedExtensionModelLoader(ExtensionModelLoader delegate, Map<String, PluginResources> resources) {
+      this.delegate = delegate;
+      this.resources = resources;
+    }
+
+    @Override
+    public Set<ExtensionModel> getRuntimeExtensionModels() {
+      return delegate.getRuntimeExtensionModels();
+    }
+
+    @Override
+    public PluginResources load(BundleDescriptor artifactDescriptor) {
+      String key = toKey(artifactDescriptor);
+      return resources.containsKey(key) ? resources.get(key) : delegate.load(artifactDescriptor);
+    }
+  }
+
   public static String validationResultItemToString(ValidationResultItem v) {
     return v.getComponents().stream()
         .map(component -> component.getMetadata().getFileName().orElse("unknown") + ":"
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tooling.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparingLong;
+import static java.util.stream.Collectors.toList;
+
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.runtime.api.meta.MuleVersion;
+import org.mule.tooling.internal.PluginResources;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Persistent cache of the {@link PluginResources} loaded from mule plugins, so the extension models of a plugin are discovered
+ * once instead of on every build.
+ * <p>
+ * Entries are keyed by the plugin coordinates, the checksum of the plugin file and the target Mule version, so a rebuilt
+ * snapshot or a different runtime version get their own entry. When the cache grows beyond its maximum size, the least
+ * recently used entries are deleted.
+ */
+public class ExtensionModelCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionModelCache.class);
+
+  /**
+   * Folder of the cache, relative to the local Maven repository.
+   */
+  public static final String CACHE_FOLDER = ".mule-extension-models";
+
+  // Changing the content of the entries requires a new format, so entries written by other versions are not read
+  private static final String FORMAT_VERSION = "1";
+  private static final String ENTRY_EXTENSION = ".json";
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Path cacheFolder;
+  private final long maxSize;
+  private final PluginResourcesSerializer serializer = new PluginResourcesSerializer();
+
+  /**
+   * @param cacheFolder folder where the entries are stored.
+   * @param maxSize     maximum size in bytes of all the entries.
+   */
+  public ExtensionModelCache(Path cacheFolder, long maxSize) {
+    checkArgument(cacheFolder != null, "Cache folder should not be null");
+    checkArgument(maxSize > 0, "Max size should be greater than zero");
+    this.cacheFolder = cacheFolder;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param localRepository local Maven repository.
+   * @param maxSize         maximum size in bytes of all the entries.
+   * @return a cache stored in the {@link #CACHE_FOLDER} of the local repository.
+   */
+  public static ExtensionModelCache inLocalRepository(File localRepository, long maxSize) {
+    checkArgument(localRepository != null, "Local repository should not be null");
+    return new ExtensionModelCache(localRepository.toPath().resolve(CACHE_FOLDER), maxSize);
+  }
+
+  /**
+   * @param descriptor  coordinates of the plugin.
+   * @param pluginFile  resolved file of the plugin.
+   * @param muleVersion target Mule version.
+   * @return the key of the entry of the plugin.
+   * @throws IOException if the plugin file cannot be read.
+   */
+  public String getKey(BundleDescriptor descriptor, File pluginFile, MuleVersion muleVersion) throws IOException {
+    MessageDigest digest = newDigest();
+    digest.update((FORMAT_VERSION + ":" + descriptor.getGroupId() + ":" + descriptor.getArtifactId() + ":"
+        + descriptor.getVersion() + ":" + descriptor.getClassifier().orElse("") + ":" + muleVersion + ":").getBytes(UTF_8));
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream content = Files.newInputStream(pluginFile.toPath())) {
+      int read;
+      while ((read = content.read(buffer)) != -1) {
+        digest.update(buffer, 0, read);
+      }
+    }
+    StringBuilder key = new StringBuilder();
+    for (byte b : digest.digest()) {
+      key.append(String.format("%02x", b));
+    }
+    return key.toString();
+  }
+
+  /**
+   * @param key key of the entry.
+   * @return the resources of the entry, or empty if there is no entry for the key or it cannot be read.
+   */
+  public Optional<PluginResources> get(String key) {
+    Path entry = getEntry(key);
+    if (!Files.isRegularFile(entry)) {
+      return Optional.empty();
+    }
+    try {
+      PluginResources resources = serializer.deserialize(new String(Files.readAllBytes(entry), UTF_8));
+      for (URL exportedResource : resources.getExportedResources()) {
+        if (!isAvailable(exportedResource)) {
+          LOGGER.debug("Discarding cached extension data {}, resource {} is not available", key, exportedResource);
+          return Optional.empty();
+        }
+      }
+      // Keeps track of the usage for the eviction of the least recently used entries
+      Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+      return Optional.of(resources);
+    } catch (Exception e) {
+      LOGGER.warn("Could not read cached extension data {}: {}", key, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores the resources in the entry of the key and evicts the least recently used entries if the cache exceeds its size.
+   * Failures to write are logged, as the cache is only an optimization.
+   *
+   * @param key       key of the entry.
+   * @param resources resources loaded from the plugin.
+   */
+  public void put(String key, PluginResources resources) {
+    try {
+      String json = serializer.serialize(resources);
+
+      Files.createDirectories(cacheFolder);
+      // Other builds may share the local repository, so the entry is written aside and moved once complete
+      Path temporaryEntry = Files.createTempFile(cacheFolder, key, ".tmp");
+      try {
+        Files.write(temporaryEntry, json.getBytes(UTF_8));
+        moveEntry(temporaryEntry, getEntry(key));
+      } finally {
+        Files.deleteIfExists(temporaryEntry);
+      }
+      evict();
+    } catch (Exception e) {
+      LOGGER.warn("Could not cache extension data {}: {}", key, e.getMessage());
+    }
+  }
+
+  /**
+   * Deletes the least recently used entries until the cache fits in its maximum size.
+   *
+   * @throws IOException if the cache folder cannot be listed.
+   */
+  void evict() throws IOException {
+    List<Path> entries;
+    try (Stream<Path> files = Files.list(cacheFolder)) {
+      entries = files.filter(file -> file.getFileName().toString().endsWith(ENTRY_EXTENSION))
+          .sorted(comparingLong(ExtensionModelCache::lastModified))
+          .collect(toList());
+    }
+    long size = 0;
+    for (Path entry : entries) {
+      size += size(entry);
+    }
+    for (Path entry : entries) {
+      if (size <= maxSize) {
+        break;
+      }
+      long entrySize = size(entry);
+      if (Files.deleteIfExists(entry)) {
+        LOGGER.debug("Evicted cached extension data {}", entry.getFileName());
+      }
+      size -= entrySize;
+    }
+  }
+
+  private Path getEntry(String key) {
+    return cacheFolder.resolve(key + ENTRY_EXTENSION);
+  }
+
+  private static void moveEntry(Path source, Path target) throws IOException {
+    try {
+      Files.move(source, target, ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, REPLACE_EXISTING);
+    }
+  }
+
+  private static boolean isAvailable(URL url) {
+    String location = url.toExternalForm();
+    if (location.startsWith("jar:") && location.contains("!/")) {
+      location = location.substring("jar:".length(), location.indexOf("!/"));
+    }
+    try {
+      URL fileUrl = new URL(location);
+      return !"file".equals(fileUrl.getProtocol()) || new File(fileUrl.toURI()).exists();
+    } catch (Exception e) {
+      return false;
+    }
+  }
+
+  private static long lastModified(Path file) {
+    try {
+      return Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static long size(Path file) {
+    try {
+      return Files.size(file);
+    } catch (IOException e) {
+      return 0;
+    }
+  }
+
+  private static MessageDigest newDigest() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
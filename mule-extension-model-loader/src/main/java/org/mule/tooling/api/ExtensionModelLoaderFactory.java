@@ -19,4 +19,9 @@ public class ExtensionModelLoaderFactory {
                                                   String toolingVersion) {
     return new DefaultExtensionModelLoader(mavenClient, workingDir, parentClassloader, toolingVersion);
   }
+
+  public static ExtensionModelLoader createLoader(MavenClient mavenClient, Path workingDir, ClassLoader parentClassloader,
+                                                  String toolingVersion, ExtensionModelCache extensionModelCache) {
+    return new DefaultExtensionModelLoader(mavenClient, workingDir, parentClassloader, toolingVersion, extensionModelCache);
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tooling.api;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+import static java.lang.System.identityHashCode;
+import static java.util.stream.Collectors.joining;
+
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+
+import org.mule.maven.client.api.MavenClient;
+import org.mule.maven.client.api.model.MavenConfiguration;
+import org.mule.tooling.internal.DefaultExtensionModelLoader;
+import org.mule.tooling.internal.DefaultExtensionModelService;
+import org.mule.tooling.internal.MuleArtifactResourcesRegistry;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the container class loader, the descriptor factories and the runtime extension models of each runtime version, so
+ * they are created once and shared by the {@link ExtensionModelLoader}s of all the modules of a build.
+ * <p>
+ * Each loader returned by the pool keeps its own {@link ExtensionModelCache} and every plugin is loaded in its own temporary
+ * application, so nothing loaded for a module is visible to the others. The shared resources are released by
+ * {@link #close()}.
+ */
+public class ExtensionModelLoaderPool implements Closeable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExtensionModelLoaderPool.class);
+
+  private final Map<String, PooledService> services = new ConcurrentHashMap<>();
+  private volatile boolean closed;
+
+  /**
+   * @param mavenClient         client used to resolve the plugins. Loaders are only shared between clients with the same
+   *                            repositories.
+   * @param parentClassloader   parent of the container class loader.
+   * @param runtimeVersion      target Mule runtime version.
+   * @param extensionModelCache cache of the loaded plugin resources, or {@code null} to always load them.
+   * @return a loader backed by the resources of the runtime version, created on first use.
+   */
+  public ExtensionModelLoader getLoader(MavenClient mavenClient, ClassLoader parentClassloader, String runtimeVersion,
+                                        ExtensionModelCache extensionModelCache) {
+    checkArgument(mavenClient != null, "Maven client should not be null");
+    checkArgument(runtimeVersion != null, "Runtime version should not be null");
+    checkState(!closed, "Extension model loader pool is already closed");
+    PooledService pooledService = services.computeIfAbsent(getKey(mavenClient, parentClassloader, runtimeVersion),
+                                                           key -> new PooledService(mavenClient, parentClassloader,
+                                                                                    runtimeVersion));
+    return new DefaultExtensionModelLoader(pooledService.service, mavenClient, extensionModelCache);
+  }
+
+  /**
+   * Disposes the container class loaders and deletes the working directories of all the runtime versions.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    List<PooledService> pooledServices = new ArrayList<>(services.values());
+    services.clear();
+    pooledServices.forEach(PooledService::dispose);
+  }
+
+  private static String getKey(MavenClient mavenClient, ClassLoader parentClassloader, String runtimeVersion) {
+    MavenConfiguration configuration = mavenClient.getMavenConfiguration();
+    return runtimeVersion + "|" + identityHashCode(parentClassloader) + "|" + configuration.getLocalMavenRepositoryLocation()
+        + "|" + configuration.getMavenRemoteRepositories().stream()
+            .map(repository -> repository.getId() + "=" + repository.getUrl())
+            .collect(joining(","));
+  }
+
+  private static class PooledService {
+
+    private final Path workingDir;
+    private final MuleArtifactResourcesRegistry resourcesRegistry;
+    private final DefaultExtensionModelService service;
+
+    private PooledService(MavenClient mavenClient, ClassLoader parentClassloader, String runtimeVersion) {
+      try {
+        // Not bound to any module, so cleaning a module does not affect the others
+        this.workingDir = Files.createTempDirectory("mule-extension-model-loader-" + runtimeVersion + "-");
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      this.resourcesRegistry =
+          DefaultExtensionModelLoader.createResourcesRegistry(mavenClient, workingDir, parentClassloader, runtimeVersion);
+      this.service = new DefaultExtensionModelService(resourcesRegistry);
+    }
+
+    private void dispose() {
+      try {
+        resourcesRegistry.getContainerArtifactClassLoader().dispose();
+      } catch (Exception e) {
+        LOGGER.debug("Could not dispose the container class loader", e);
+      }
+      deleteQuietly(workingDir.toFile());
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tooling.api;
+
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.runtime.extension.api.persistence.ExtensionModelJsonSerializer;
+import org.mule.tooling.internal.PluginResources;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Converts the {@link PluginResources} loaded from a mule plugin to JSON and back, so they can be kept outside of the process
+ * that loaded them.
+ */
+public class PluginResourcesSerializer {
+
+  private static final String EXTENSION_MODELS = "extensionModels";
+  private static final String EXPORTED_RESOURCES = "exportedResources";
+  private static final String DWL_FILES = "dwlFiles";
+
+  private final ExtensionModelJsonSerializer serializer = new ExtensionModelJsonSerializer();
+
+  /**
+   * @param resources resources loaded from a plugin.
+   * @return the JSON representation of the resources.
+   */
+  public String serialize(PluginResources resources) {
+    JSONArray extensionModels = new JSONArray();
+    for (ExtensionModel extensionModel : resources.getExtensionModels()) {
+      extensionModels.put(serializer.serialize(extensionModel));
+    }
+    JSONArray exportedResources = new JSONArray();
+    resources.getExportedResources().forEach(url -> exportedResources.put(url.toExternalForm()));
+    JSONObject json = new JSONObject();
+    json.put(EXTENSION_MODELS, extensionModels);
+    json.put(EXPORTED_RESOURCES, exportedResources);
+    json.put(DWL_FILES, new JSONArray(resources.getDwlFiles() != null ? resources.getDwlFiles() : new HashSet<>()));
+    return json.toString();
+  }
+
+  /**
+   * @param json JSON representation written by {@link #serialize(PluginResources)}.
+   * @return the resources.
+   * @throws MalformedURLException if an exported resource is not a valid URL.
+   */
+  public PluginResources deserialize(String json) throws MalformedURLException {
+    JSONObject resources = new JSONObject(json);
+    Set<ExtensionModel> extensionModels = new HashSet<>();
+    for (Object extensionModel : resources.getJSONArray(EXTENSION_MODELS)) {
+      extensionModels.add(serializer.deserialize((String) extensionModel));
+    }
+    List<URL> exportedResources = new ArrayList<>();
+    for (Object exportedResource : resources.getJSONArray(EXPORTED_RESOURCES)) {
+      exportedResources.add(new URL((String) exportedResource));
+    }
+    Set<String> dwlFiles = new HashSet<>();
+    for (Object dwlFile : resources.getJSONArray(DWL_FILES)) {
+      dwlFiles.add((String) dwlFile);
+    }
+    return new PluginResources(extensionModels, exportedResources).setDwlFiles(dwlFiles);
+  }
+
+  /**
+   * @param extensionModel extension model to convert.
+   * @return the JSON representation of the extension model.
+   */
+  public String serialize(ExtensionModel extensionModel) {
+    return serializer.serialize(extensionModel);
+  }
+
+  /**
+   * @param json JSON representation written by {@link #serialize(ExtensionModel)}.
+   * @return the extension model.
+   */
+  public ExtensionModel deserializeExtensionModel(String json) {
+    return serializer.deserialize(json);
+  }
+}
@@ -22,6 +22,7 @@ import org.mule.runtime.container.internal.ModuleDiscoverer;
 import org.mule.runtime.core.api.extension.provider.MuleExtensionModelProvider;
 import org.mule.runtime.extension.api.extension.XmlSdk1ExtensionModelProvider;
 import org.mule.runtime.module.artifact.api.classloader.ArtifactClassLoader;
+import org.mule.tooling.api.ExtensionModelCache;
 import org.mule.tooling.api.ExtensionModelLoader;
 
 import com.mulesoft.mule.runtime.bti.api.extension.provider.BtiExtensionModelProvider;
@@ -31,6 +32,8 @@ import com.mulesoft.mule.runtime.module.batch.api.extension.provider.BatchExtens
 import com.mulesoft.mule.runtime.module.serialization.kryo.api.extension.provider.KryoSerializerEeExtensionModelProvider;
 import com.mulesoft.mule.runtime.tracking.api.extension.provider.TrackingEeExtensionModelProvider;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -38,15 +41,54 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 public class DefaultExtensionModelLoader implements ExtensionModelLoader {
 
+  private static final Logger LOGGER = LoggerFactory.getLogger(DefaultExtensionModelLoader.class);
+
   private final DefaultExtensionModelService service;
   private final MuleVersion muleVersion;
+  private final MavenClient mavenClient;
+  private final ExtensionModelCache extensionModelCache;
 
   public DefaultExtensionModelLoader(MavenClient mavenClient, Path workingDir, ClassLoader parentClassloader,
                                      String runtimeVersion) {
+    this(mavenClient, workingDir, parentClassloader, runtimeVersion, null);
+  }
+
+  /**
+   * @param extensionModelCache cache of the loaded plugin resources, or {@code null} to always load them.
+   */
+  public DefaultExtensionModelLoader(MavenClient mavenClient, Path workingDir, ClassLoader parentClassloader,
+                                     String runtimeVersion, ExtensionModelCache extensionModelCache) {
+    this(new DefaultExtensionModelService(createResourcesRegistry(mavenClient, workingDir, parentClassloader, runtimeVersion)),
+         mavenClient, extensionModelCache);
+  }
+
+  /**
+   * Creates a loader over a service that may be shared with other loaders of the same runtime version. The loader only keeps
+   * its own cache, every load uses its own temporary application.
+   *
+   * @param service             service that loads the plugin resources.
+   * @param extensionModelCache cache of the loaded plugin resources, or {@code null} to always load them.
+   */
+  public DefaultExtensionModelLoader(DefaultExtensionModelService service, MavenClient mavenClient,
+                                     ExtensionModelCache extensionModelCache) {
+    this.service = service;
+    this.mavenClient = mavenClient;
+    this.extensionModelCache = extensionModelCache;
+    this.muleVersion = service.getMuleArtifactResourcesRegistry().getTargetMuleVersion().orElse(null);
+  }
 
-    this.muleVersion = new MuleVersion(runtimeVersion);
+  /**
+   * Creates the container class loader and the descriptor factories of a runtime version, the most expensive part of creating a
+   * loader.
+   */
+  public static MuleArtifactResourcesRegistry createResourcesRegistry(MavenClient mavenClient, Path workingDir,
+                                                                      ClassLoader parentClassloader, String runtimeVersion) {
+    MuleVersion muleVersion = new MuleVersion(runtimeVersion);
 
     List<ModuleDiscoverer> result = new ArrayList<>();
     result.add(new JreModuleDiscoverer());
@@ -57,10 +99,8 @@ public class DefaultExtensionModelLoader implements ExtensionModelLoader {
     ArtifactClassLoader containerClassLoaderFactory =
         (new ContainerClassLoaderFactory(moduleRepository)).createContainerClassLoader(parentClassloader)
             .getContainerClassLoader();
-    MuleArtifactResourcesRegistry resourcesRegistry =
-        new MuleArtifactResourcesRegistry(runtimeVersion, Optional.ofNullable(muleVersion), mavenClient,
-                                          moduleRepository, containerClassLoaderFactory, workingDir.toFile());
-    service = new DefaultExtensionModelService(resourcesRegistry);
+    return new MuleArtifactResourcesRegistry(runtimeVersion, Optional.ofNullable(muleVersion), mavenClient,
+                                             moduleRepository, containerClassLoaderFactory, workingDir.toFile());
   }
 
   @Override
@@ -80,6 +120,32 @@ public class DefaultExtensionModelLoader implements ExtensionModelLoader {
 
   @Override
   public PluginResources load(BundleDescriptor artifactDescriptor) {
-    return service.loadExtensionData(artifactDescriptor, muleVersion);
+    if (extensionModelCache == null) {
+      return service.loadExtensionData(artifactDescriptor, muleVersion);
+    }
+    String key = getCacheKey(artifactDescriptor);
+    if (key != null) {
+      Optional<PluginResources> cachedResources = extensionModelCache.get(key);
+      if (cachedResources.isPresent()) {
+        LOGGER.debug("Extension model for {} loaded from cache", artifactDescriptor);
+        return cachedResources.get();
+      }
+    }
+    PluginResources resources = service.loadExtensionData(artifactDescriptor, muleVersion);
+    if (key != null && resources != null) {
+      extensionModelCache.put(key, resources);
+    }
+    return resources;
+  }
+
+  private String getCacheKey(BundleDescriptor artifactDescriptor) {
+    try {
+      File pluginFile = new File(mavenClient.resolveBundleDescriptor(artifactDescriptor).getBundleUri());
+      return extensionModelCache.getKey(artifactDescriptor, pluginFile, muleVersion);
+    } catch (IOException | RuntimeException e) {
+      // Without the plugin file there is no checksum to trust a cached entry
+      LOGGER.debug("Extension model cache disabled for {}: {}", artifactDescriptor, e.getMessage());
+      return null;
+    }
   }
 }
@@ -10,6 +10,7 @@ import static java.util.Collections.emptyList;
 import static java.util.Collections.emptyMap;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static java.util.Optional.of;
 import static org.mule.maven.client.internal.util.FileUtils.loadFileContentFrom;
 import static org.mule.maven.pom.parser.api.model.MavenModelBuilderProvider.discoverProvider;
@@ -91,6 +92,9 @@ public class DefaultExtensionModelService implements ExtensionModelService {
   private static final String MULE_APPLICATION = "mule-application";
   private static final String MAVEN_MODEL_VERSION = "4.0.0";
 
+  // The extension model loader repository is a singleton shared by every service instance and loading thread
+  private static final Object EXTENSION_MODEL_LOADER_REPOSITORY_LOCK = new Object();
+
   /**
    * Returns the {@link Model} from a given artifact folder
    *
@@ -113,13 +117,23 @@ public class DefaultExtensionModelService implements ExtensionModelService {
 
   private final MuleArtifactResourcesRegistry muleArtifactResourcesRegistry;
 
-  private final List<ExtensionModel> runtimeExtensionModels = new ArrayList<>();
+  private final List<ExtensionModel> runtimeExtensionModels;
 
+  /**
+   * Creates the service. Each extension data load uses its own temporary application and class loaders, so the service can
+   * be used to load several plugins concurrently.
+   *
+   * @param muleArtifactResourcesRegistry resources shared by all the loads.
+   */
   public DefaultExtensionModelService(MuleArtifactResourcesRegistry muleArtifactResourcesRegistry) {
     requireNonNull(muleArtifactResourcesRegistry, "muleArtifactResourcesRegistry cannot be null");
 
     this.muleArtifactResourcesRegistry = muleArtifactResourcesRegistry;
-    this.runtimeExtensionModels.addAll(discoverRuntimeExtensionModels());
+    this.runtimeExtensionModels = unmodifiableList(new ArrayList<>(discoverRuntimeExtensionModels()));
+  }
+
+  public MuleArtifactResourcesRegistry getMuleArtifactResourcesRegistry() {
+    return muleArtifactResourcesRegistry;
   }
 
   /**
@@ -371,7 +385,9 @@ public class DefaultExtensionModelService implements ExtensionModelService {
       });
       ExtensionModelLoaderRepository extensionModelLoaderRepository =
           ExtensionModelLoaderRepository.getExtensionModelLoaderManager();
-      startIfNeeded(extensionModelLoaderRepository);
+      synchronized (EXTENSION_MODEL_LOADER_REPOSITORY_LOCK) {
+        startIfNeeded(extensionModelLoaderRepository);
+      }
       final Set<ExtensionModel> loadedExtensionInformation =
           discoverPluginsExtensionModel(artifactClassLoader, extensionModelLoaderRepository, properties);
       return new PluginResources(loadedExtensionInformation, resources);
@@ -29,21 +29,25 @@ import org.mule.runtime.module.deployment.impl.internal.plugin.ArtifactPluginDes
 import org.mule.runtime.module.deployment.impl.internal.plugin.ArtifactPluginDescriptorLoader;
 import org.mule.runtime.module.deployment.impl.internal.plugin.BundlePluginDependenciesResolver;
 
+/**
+ * Resources shared by the extension data loads of a runtime version. They are created once and never modified, so a registry
+ * can be used by concurrent loads.
+ */
 public class MuleArtifactResourcesRegistry {
 
-  private String toolingVersion;
-  private Optional<MuleVersion> targetMuleVersion;
-  private MavenClient mavenClient;
-  private ModuleRepository moduleRepository;
+  private final String toolingVersion;
+  private final Optional<MuleVersion> targetMuleVersion;
+  private final MavenClient mavenClient;
+  private final ModuleRepository moduleRepository;
   private final File workingDirectory;
-  private ArtifactPluginDescriptorFactory artifactPluginDescriptorFactory;
-  private ArtifactPluginDescriptorLoader artifactPluginDescriptorLoader;
-  private PluginDependenciesResolver pluginDependenciesResolver;
-  private ArtifactClassLoader containerArtifactClassLoader;
-  private ApplicationDescriptorFactory applicationDescriptorFactory;
-  private DomainDescriptorFactory domainDescriptorFactory;
-  private RegionPluginClassLoadersFactory regionPluginClassLoadersFactory;
-  private DescriptorLoaderRepository descriptorLoaderRepository;
+  private final ArtifactPluginDescriptorFactory artifactPluginDescriptorFactory;
+  private final ArtifactPluginDescriptorLoader artifactPluginDescriptorLoader;
+  private final PluginDependenciesResolver pluginDependenciesResolver;
+  private final ArtifactClassLoader containerArtifactClassLoader;
+  private final ApplicationDescriptorFactory applicationDescriptorFactory;
+  private final DomainDescriptorFactory domainDescriptorFactory;
+  private final RegionPluginClassLoadersFactory regionPluginClassLoadersFactory;
+  private final DescriptorLoaderRepository descriptorLoaderRepository;
 
   public MuleArtifactResourcesRegistry(String toolingVersion, Optional<MuleVersion> targetMuleVersion, MavenClient mavenClient,
                                        ModuleRepository moduleRepository, ArtifactClassLoader containerArtifactClassLoader,
@@ -54,14 +58,7 @@ public class MuleArtifactResourcesRegistry {
     this.moduleRepository = moduleRepository;
     this.containerArtifactClassLoader = containerArtifactClassLoader;
     this.workingDirectory = workingDirectory;
-    this.init();
-  }
-
-  public DescriptorLoaderRepository getDescriptorLoaderRepository() {
-    return this.descriptorLoaderRepository;
-  }
 
-  private void init() {
     System.setProperty("mule.classloader.container.jpmsModuleLayer", "false");
     this.descriptorLoaderRepository = new ToolingDescriptorLoaderRepository(this.mavenClient);
     ArtifactDescriptorValidatorBuilder artifactDescriptorValidatorBuilder =
@@ -82,6 +79,10 @@ public class MuleArtifactResourcesRegistry {
     this.pluginDependenciesResolver = new BundlePluginDependenciesResolver(this.artifactPluginDescriptorFactory);
   }
 
+  public DescriptorLoaderRepository getDescriptorLoaderRepository() {
+    return this.descriptorLoaderRepository;
+  }
+
   public Optional<MuleVersion> getTargetMuleVersion() {
     return this.targetMuleVersion;
   }
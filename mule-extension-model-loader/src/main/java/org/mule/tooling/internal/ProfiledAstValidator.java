@@ -0,0 +1,224 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tooling.internal;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Comparator.comparingLong;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static java.util.stream.Collectors.toList;
+
+import org.mule.runtime.api.util.Pair;
+import org.mule.runtime.ast.api.ArtifactAst;
+import org.mule.runtime.ast.api.ComponentAst;
+import org.mule.runtime.ast.api.util.MuleAstUtils;
+import org.mule.runtime.ast.api.validation.Validation;
+import org.mule.runtime.ast.api.validation.ValidationResultItem;
+import org.mule.tooling.api.ToolingException;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+/**
+ * Validates an {@link ArtifactAst} with the validations of the runtime, keeping the time spent by each validation.
+ * <p>
+ * The validator built with {@link MuleAstUtils#validatorBuilder()} runs once, with a filter that records its component
+ * validations instead of applying them, so only its artifact validations are run there. The recorded validations are then
+ * applied to the components, partitioned by top level component so that each subtree is an independent task run on a bounded
+ * pool of threads. Within a task each validation is timed on its own pass over the components of the subtree.
+ * <p>
+ * The items keep the order of the default validator: components in recursive order, the validations of each component in the
+ * order of the validator, and then the items of the artifact validations.
+ */
+public class ProfiledAstValidator {
+
+  private static final String ARTIFACT_VALIDATIONS = "Artifact validations";
+
+  private final int threads;
+  private final Map<String, ValidationTiming> timings = new LinkedHashMap<>();
+  private long wallTime;
+
+  /**
+   * @param threads number of component subtrees validated at the same time.
+   */
+  public ProfiledAstValidator(int threads) {
+    checkArgument(threads > 0, "Threads should be greater than zero");
+    this.threads = threads;
+  }
+
+  /**
+   * @param artifactAst artifact to validate.
+   * @return the items of all the validations.
+   */
+  public List<ValidationResultItem> validate(ArtifactAst artifactAst) {
+    long startTime = System.nanoTime();
+    timings.clear();
+
+    List<Validation> validations = new ArrayList<>();
+    ValidationTiming artifactTiming = new ValidationTiming(ARTIFACT_VALIDATIONS, null);
+    List<ValidationResultItem> artifactItems = MuleAstUtils.validatorBuilder()
+        .ignoreParamsWithProperties(true)
+        .withValidationsFilter(validation -> {
+          synchronized (validations) {
+            if (!validations.contains(validation)) {
+              validations.add(validation);
+            }
+          }
+          return false;
+        })
+        .build().validate(artifactAst).getItems();
+    artifactTiming.time.add(System.nanoTime() - startTime);
+    artifactTiming.items.add(artifactItems.size());
+    for (Validation validation : validations) {
+      timings.computeIfAbsent(validation.getName(), name -> new ValidationTiming(name, validation.getLevel().toString()));
+    }
+    timings.put(ARTIFACT_VALIDATIONS, artifactTiming);
+
+    List<Callable<List<ValidationResultItem>>> tasks = new ArrayList<>();
+    getSubtrees(artifactAst).forEach(subtree -> tasks.add(() -> validate(subtree, validations, artifactAst)));
+    List<ValidationResultItem> items = new ArrayList<>();
+    if (threads == 1) {
+      for (Callable<List<ValidationResultItem>> task : tasks) {
+        items.addAll(getResult(task));
+      }
+    } else {
+      ExecutorService executor = newFixedThreadPool(threads);
+      try {
+        List<Future<List<ValidationResultItem>>> results = tasks.stream().map(executor::submit).collect(toList());
+        for (Future<List<ValidationResultItem>> result : results) {
+          items.addAll(getResult(result::get));
+        }
+      } finally {
+        executor.shutdownNow();
+      }
+    }
+    items.addAll(artifactItems);
+    wallTime = System.nanoTime() - startTime;
+    return items;
+  }
+
+  /**
+   * Writes the time spent by each validation of the last {@link #validate(ArtifactAst)} as JSON, the most expensive first. The
+   * artifact validations are timed together with the construction of the validator that runs them. With several threads the
+   * total exceeds the elapsed time.
+   *
+   * @param reportFile destination file.
+   * @throws IOException if the file cannot be written.
+   */
+  public void writeReport(Path reportFile) throws IOException {
+    JSONArray validations = new JSONArray();
+    timings.values().stream()
+        .sorted(comparingLong((ValidationTiming timing) -> timing.time.sum()).reversed())
+        .forEach(timing -> validations.put(timing.toJson()));
+    JSONObject report = new JSONObject();
+    report.put("threads", threads);
+    report.put("elapsedMillis", NANOSECONDS.toMillis(wallTime));
+    report.put("validations", validations);
+    Files.createDirectories(reportFile.toAbsolutePath().getParent());
+    Files.write(reportFile, report.toString(2).getBytes(UTF_8));
+  }
+
+  /**
+   * Applies each validation to the components of a subtree, timing each one on its own pass. The items are returned grouped by
+   * component, in the order of the validations.
+   */
+  private List<ValidationResultItem> validate(List<Pair<ComponentAst, List<ComponentAst>>> subtree,
+                                              List<Validation> validations, ArtifactAst artifactAst) {
+    List<List<ValidationResultItem>> componentItems = new ArrayList<>(subtree.size());
+    subtree.forEach(component -> componentItems.add(new ArrayList<>()));
+    for (Validation validation : validations) {
+      ValidationTiming timing = timings.get(validation.getName());
+      long startTime = System.nanoTime();
+      int itemCount = 0;
+      for (int i = 0; i < subtree.size(); i++) {
+        Pair<ComponentAst, List<ComponentAst>> component = subtree.get(i);
+        List<ComponentAst> hierarchy = new ArrayList<>(component.getSecond());
+        hierarchy.add(component.getFirst());
+        if (validation.applicable().test(hierarchy)) {
+          List<ValidationResultItem> validationItems = validation.validateMany(component.getFirst(), artifactAst);
+          componentItems.get(i).addAll(validationItems);
+          itemCount += validationItems.size();
+        }
+      }
+      timing.time.add(System.nanoTime() - startTime);
+      timing.items.add(itemCount);
+    }
+    return componentItems.stream().flatMap(List::stream).collect(toList());
+  }
+
+  /**
+   * @return the components with their hierarchy, grouped by the top level component they belong to.
+   */
+  private static List<List<Pair<ComponentAst, List<ComponentAst>>>> getSubtrees(ArtifactAst artifactAst) {
+    Map<ComponentAst, List<Pair<ComponentAst, List<ComponentAst>>>> subtrees = new LinkedHashMap<>();
+    artifactAst.recursiveStreamWithHierarchy().forEachOrdered(component -> {
+      ComponentAst topLevelComponent = component.getSecond().isEmpty() ? component.getFirst() : component.getSecond().get(0);
+      subtrees.computeIfAbsent(topLevelComponent, key -> new ArrayList<>()).add(component);
+    });
+    return new ArrayList<>(subtrees.values());
+  }
+
+  private static List<ValidationResultItem> getResult(Callable<List<ValidationResultItem>> task) {
+    try {
+      return task.call();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ToolingException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof Error) {
+        throw (Error) e.getCause();
+      }
+      throw new ToolingException(e.getCause());
+    } catch (RuntimeException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new ToolingException(e);
+    }
+  }
+
+  private static class ValidationTiming {
+
+    private final String name;
+    private final String level;
+    private final LongAdder time = new LongAdder();
+    private final LongAdder items = new LongAdder();
+
+    private ValidationTiming(String name, String level) {
+      this.name = name;
+      this.level = level;
+    }
+
+    private JSONObject toJson() {
+      JSONObject json = new JSONObject();
+      json.put("name", name);
+      if (level != null) {
+        json.put("level", level);
+      }
+      json.put("timeMillis", NANOSECONDS.toMillis(time.sum()));
+      json.put("items", items.sum());
+      return json;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tooling.api;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.runtime.api.meta.MuleVersion;
+import org.mule.tooling.internal.PluginResources;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExtensionModelCacheTest {
+
+  private static final MuleVersion MULE_VERSION = new MuleVersion("4.6.0");
+
+  @TempDir
+  Path temporaryFolder;
+
+  private final BundleDescriptor descriptor = new BundleDescriptor.Builder()
+      .setGroupId("org.mule.connectors")
+      .setArtifactId("mule-http-connector")
+      .setVersion("1.7.3")
+      .setBaseVersion("1.7.3")
+      .setClassifier("mule-plugin")
+      .setType("jar")
+      .build();
+
+  private File pluginFile;
+  private ExtensionModelCache cache;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    pluginFile = Files.write(temporaryFolder.resolve("plugin.jar"), "plugin".getBytes()).toFile();
+    cache = new ExtensionModelCache(temporaryFolder.resolve("cache"), 1024 * 1024);
+  }
+
+  @Test
+  void cachedResourcesAreRead() throws IOException {
+    URL exportedResource = new URL("jar:" + pluginFile.toURI() + "!/META-INF/resource.xml");
+    String key = cache.getKey(descriptor, pluginFile, MULE_VERSION);
+
+    cache.put(key, new PluginResources(emptySet(), singletonList(exportedResource))
+        .setDwlFiles(singleton("modules/transform.dwl")));
+    Optional<PluginResources> resources = cache.get(key);
+
+    assertThat(resources).isPresent();
+    assertThat(resources.get().getExtensionModels()).isEmpty();
+    assertThat(resources.get().getExportedResources()).containsExactly(exportedResource);
+    assertThat(resources.get().getDwlFiles()).containsExactly("modules/transform.dwl");
+  }
+
+  @Test
+  void missingEntry() throws IOException {
+    assertThat(cache.get(cache.getKey(descriptor, pluginFile, MULE_VERSION))).isEmpty();
+  }
+
+  @Test
+  void keyDependsOnTheMuleVersionAndThePluginContent() throws IOException {
+    String key = cache.getKey(descriptor, pluginFile, MULE_VERSION);
+
+    assertThat(cache.getKey(descriptor, pluginFile, MULE_VERSION)).isEqualTo(key);
+    assertThat(cache.getKey(descriptor, pluginFile, new MuleVersion("4.7.0"))).isNotEqualTo(key);
+    Files.write(pluginFile.toPath(), "rebuilt plugin".getBytes());
+    assertThat(cache.getKey(descriptor, pluginFile, MULE_VERSION)).isNotEqualTo(key);
+  }
+
+  @Test
+  void entryWithMissingResourceIsDiscarded() throws IOException {
+    URL exportedResource = new URL("jar:" + temporaryFolder.resolve("deleted.jar").toUri() + "!/resource.xml");
+    String key = cache.getKey(descriptor, pluginFile, MULE_VERSION);
+
+    cache.put(key, new PluginResources(emptySet(), singletonList(exportedResource)).setDwlFiles(emptySet()));
+
+    assertThat(cache.get(key)).isEmpty();
+  }
+
+  @Test
+  void leastRecentlyUsedEntriesAreEvicted() throws IOException {
+    Path cacheFolder = temporaryFolder.resolve("cache");
+    cache.put("first", new PluginResources(emptySet(), singletonList(pluginFile.toURI().toURL())).setDwlFiles(emptySet()));
+    long entrySize = Files.size(cacheFolder.resolve("first.json"));
+    cache = new ExtensionModelCache(cacheFolder, entrySize * 2);
+    Files.setLastModifiedTime(cacheFolder.resolve("first.json"), FileTime.fromMillis(1000));
+    cache.put("second", new PluginResources(emptySet(), singletonList(pluginFile.toURI().toURL())).setDwlFiles(emptySet()));
+    Files.setLastModifiedTime(cacheFolder.resolve("second.json"), FileTime.fromMillis(2000));
+    assertThat(cache.get("first")).isPresent();
+
+    cache.put("third", new PluginResources(emptySet(), singletonList(pluginFile.toURI().toURL())).setDwlFiles(emptySet()));
+
+    assertThat(cacheFolder.resolve("first.json")).exists();
+    assertThat(cacheFolder.resolve("second.json")).doesNotExist();
+    assertThat(cacheFolder.resolve("third.json")).exists();
+  }
+}
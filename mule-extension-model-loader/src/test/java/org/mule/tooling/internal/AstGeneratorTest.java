@@ -17,6 +17,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockConstruction;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.apache.maven.artifact.Artifact;
@@ -37,15 +39,20 @@ import org.mule.runtime.api.meta.model.parameter.ParameterizedModel;
 import org.mule.runtime.ast.api.ArtifactAst;
 import org.mule.runtime.ast.api.serialization.ArtifactAstSerializer;
 import org.mule.runtime.ast.api.serialization.ArtifactAstSerializerProvider;
+import org.mule.runtime.ast.api.util.MuleAstUtils;
+import org.mule.runtime.ast.api.validation.ValidationResultItem;
 import org.mule.runtime.extension.api.model.construct.ImmutableConstructModel;
 import org.mule.tooling.api.AstGenerator;
 import org.mule.tooling.api.ConfigurationException;
+import org.mule.tooling.api.ExtensionModelCache;
+import org.mule.tooling.api.ToolingException;
 
 import java.io.File;
 import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
@@ -57,6 +64,7 @@ import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.tuple.Pair;
+import org.json.JSONObject;
 
 import org.junit.jupiter.api.Test;
 import org.mule.tooling.api.ExtensionModelLoader;
@@ -81,6 +89,38 @@ class AstGeneratorTest extends MavenClientTest {
         .isInstanceOf(ImmutableConstructModel.class);
   }
 
+  @Test
+  void validateASTWithSeveralThreadsWritesTimingReport() throws Exception {
+    final Pair<AstGenerator, ArtifactAst> elements = getElements("mule-config.xml");
+    final Path report = workingDir.resolve("validation-report.json");
+
+    elements.getLeft().validateAST(elements.getRight(), 4, report);
+
+    assertThat(report).exists();
+    assertThat(new JSONObject(new String(Files.readAllBytes(report))).getJSONArray("validations")).isNotEmpty();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"mule-config.xml", "mule-config2.xml"})
+  void profiledValidatorReportsTheItemsOfTheDefaultValidator(String muleConfiguration) {
+    final ArtifactAst artifactAst = getElements(muleConfiguration).getRight();
+    artifactAst.updatePropertiesResolver(propertyKey -> propertyKey);
+
+    List<String> expectedItems = MuleAstUtils.validatorBuilder().ignoreParamsWithProperties(true).build()
+        .validate(artifactAst).getItems().stream().map(AstGeneratorTest::describe).collect(Collectors.toList());
+    List<String> items = new ProfiledAstValidator(4).validate(artifactAst).stream().map(AstGeneratorTest::describe)
+        .collect(Collectors.toList());
+
+    assertThat(items).containsExactlyElementsOf(expectedItems);
+  }
+
+  @Test
+  void throwConfigurationExceptionIfMuleConfigHasErrorsWithSeveralThreads() {
+    final Pair<AstGenerator, ArtifactAst> elements = getElements("mule-config2.xml");
+    assertThatThrownBy(() -> elements.getLeft().validateAST(elements.getRight(), 4, null))
+        .isExactlyInstanceOf(ConfigurationException.class);
+  }
+
   @Test
   void throwConfigurationExceptionIfMuleConfigHasErrors() {
     final Pair<AstGenerator, ArtifactAst> elements = getElements("mule-config2.xml");
@@ -100,7 +140,8 @@ class AstGeneratorTest extends MavenClientTest {
       when(pluginResources.getExportedResources()).thenReturn(Collections.emptyList());
       extensionModelLoaderFactory
           .when(() -> ExtensionModelLoaderFactory.createLoader(nullable(MavenClient.class), nullable(Path.class),
-                                                               any(ClassLoader.class), anyString()))
+                                                               any(ClassLoader.class), anyString(),
+                                                               nullable(ExtensionModelCache.class)))
           .thenReturn(extensionModelLoader);
 
       ////
@@ -144,7 +185,8 @@ class AstGeneratorTest extends MavenClientTest {
       when(pluginResources.getExtensionModels()).thenReturn(extensionModels);
       extensionModelLoaderFactory
           .when(() -> ExtensionModelLoaderFactory.createLoader(nullable(MavenClient.class), nullable(Path.class),
-                                                               any(ClassLoader.class), anyString()))
+                                                               any(ClassLoader.class), anyString(),
+                                                               nullable(ExtensionModelCache.class)))
           .thenReturn(extensionModelLoader);
       ////
       URL url = mock(URL.class);
@@ -177,6 +219,87 @@ class AstGeneratorTest extends MavenClientTest {
     }
   }
 
+  @Test
+  void pluginsAreLoadedOnceWithSeveralLoaderThreads() {
+    try (MockedStatic<ExtensionModelLoaderFactory> extensionModelLoaderFactory = mockStatic(ExtensionModelLoaderFactory.class)) {
+      ExtensionModelLoader extensionModelLoader = mock(ExtensionModelLoader.class);
+      PluginResources pluginResources = mock(PluginResources.class);
+
+      when(extensionModelLoader.getRuntimeExtensionModels()).thenReturn(Collections.emptySet());
+      when(extensionModelLoader.load(any(BundleDescriptor.class))).thenReturn(pluginResources);
+      when(pluginResources.getExportedResources()).thenReturn(Collections.emptyList());
+      extensionModelLoaderFactory
+          .when(() -> ExtensionModelLoaderFactory.createLoader(nullable(MavenClient.class), nullable(Path.class),
+                                                               any(ClassLoader.class), anyString(),
+                                                               nullable(ExtensionModelCache.class)))
+          .thenReturn(extensionModelLoader);
+
+      AstGenerator.builder(mavenClient, RUNTIME_VERSION, getArtifacts(), workingDir, classRealm, getDependencies())
+          .withLoaderThreads(4).build();
+
+      verify(extensionModelLoader, times(8)).load(any(BundleDescriptor.class));
+    }
+  }
+
+  @Test
+  void pluginLoadFailureIsPropagatedWithSeveralLoaderThreads() {
+    try (MockedStatic<ExtensionModelLoaderFactory> extensionModelLoaderFactory = mockStatic(ExtensionModelLoaderFactory.class)) {
+      ExtensionModelLoader extensionModelLoader = mock(ExtensionModelLoader.class);
+
+      when(extensionModelLoader.load(any(BundleDescriptor.class))).thenThrow(new ToolingException("Plugin failure", null));
+      extensionModelLoaderFactory
+          .when(() -> ExtensionModelLoaderFactory.createLoader(nullable(MavenClient.class), nullable(Path.class),
+                                                               any(ClassLoader.class), anyString(),
+                                                               nullable(ExtensionModelCache.class)))
+          .thenReturn(extensionModelLoader);
+
+      assertThatThrownBy(() -> AstGenerator.builder(mavenClient, RUNTIME_VERSION, getArtifacts(), workingDir, classRealm,
+                                                    getDependencies())
+          .withLoaderThreads(4).build())
+          .isInstanceOf(ToolingException.class)
+          .hasMessage("Plugin failure");
+    }
+  }
+
+  @Test
+  void extensionModelsFingerprintChangesWhenPluginIsRebuilt() throws Exception {
+    ExtensionModelLoader extensionModelLoader = mock(ExtensionModelLoader.class);
+    PluginResources pluginResources = mock(PluginResources.class);
+    when(extensionModelLoader.getRuntimeExtensionModels()).thenReturn(Collections.emptySet());
+    when(extensionModelLoader.load(any(BundleDescriptor.class))).thenReturn(pluginResources);
+    when(pluginResources.getExportedResources()).thenReturn(Collections.emptyList());
+    BundleDependency bundleDependency = mock(BundleDependency.class);
+    URI uri = mock(URI.class);
+    when(uri.toURL()).thenReturn(mock(URL.class));
+    when(bundleDependency.getBundleUri()).thenReturn(uri);
+    when(mavenClient.resolveBundleDescriptor(any(BundleDescriptor.class))).thenReturn(bundleDependency);
+
+    File pluginFile = workingDir.resolve("plugin.jar").toFile();
+    Files.write(pluginFile.toPath(), "plugin".getBytes());
+    Artifact plugin = mock(Artifact.class);
+    when(plugin.getGroupId()).thenReturn("org.mule");
+    when(plugin.getArtifactId()).thenReturn("plugin");
+    when(plugin.getVersion()).thenReturn("1.0.0-SNAPSHOT");
+    when(plugin.getClassifier()).thenReturn("mule-plugin");
+    when(plugin.getType()).thenReturn("jar");
+    when(plugin.getId()).thenReturn("org.mule:plugin:jar:mule-plugin:1.0.0-SNAPSHOT");
+    when(plugin.getFile()).thenReturn(pluginFile);
+
+    String fingerprint = AstGenerator.builder(mavenClient, RUNTIME_VERSION, Collections.singleton(plugin), workingDir, classRealm,
+                                              Collections.emptyList())
+        .withExtensionModelLoader(extensionModelLoader).build().getExtensionModelsFingerprint();
+    Files.write(pluginFile.toPath(), "rebuilt plugin".getBytes());
+
+    assertThat(AstGenerator.builder(mavenClient, RUNTIME_VERSION, Collections.singleton(plugin), workingDir, classRealm,
+                                    Collections.emptyList())
+        .withExtensionModelLoader(extensionModelLoader).build().getExtensionModelsFingerprint())
+        .isNotEqualTo(fingerprint);
+  }
+
+  private static String describe(ValidationResultItem item) {
+    return item.getValidation().getName() + " " + AstGenerator.validationResultItemToString(item);
+  }
+
   private Pair<AstGenerator, ArtifactAst> getElements(String muleConfiguration) {
     try {
       final Path workingPath = Paths.get("src", "test", "resources", "test-project");
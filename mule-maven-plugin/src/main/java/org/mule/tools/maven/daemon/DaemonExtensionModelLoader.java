@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.tooling.api.ExtensionModelLoader;
+import org.mule.tooling.api.PluginResourcesSerializer;
+import org.mule.tooling.internal.PluginResources;
+import org.mule.tools.maven.daemon.ToolingDaemonClient.DaemonRequestException;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * {@link ExtensionModelLoader} that asks a {@link ToolingDaemon} for the extension models, so the runtime and plugin extension
+ * models are loaded once for all the builds. When the daemon fails to load a plugin or cannot be reached, the loader created by
+ * the fallback supplier is used instead.
+ */
+public class DaemonExtensionModelLoader implements ExtensionModelLoader {
+
+  private final ToolingDaemonClient client;
+  private final DaemonMavenConfiguration configuration;
+  private final String runtimeVersion;
+  private final Supplier<ExtensionModelLoader> fallbackSupplier;
+  private final PluginResourcesSerializer serializer = new PluginResourcesSerializer();
+  private volatile boolean daemonAvailable = true;
+  private ExtensionModelLoader fallback;
+
+  /**
+   * @param client           client of the daemon.
+   * @param configuration    configuration of the Maven client of the build.
+   * @param runtimeVersion   target Mule runtime version.
+   * @param fallbackSupplier creates the loader used when the daemon cannot load the extension models.
+   */
+  public DaemonExtensionModelLoader(ToolingDaemonClient client, DaemonMavenConfiguration configuration, String runtimeVersion,
+                                    Supplier<ExtensionModelLoader> fallbackSupplier) {
+    checkArgument(client != null, "Client cannot be null");
+    checkArgument(configuration != null, "Configuration cannot be null");
+    checkArgument(runtimeVersion != null, "Runtime version cannot be null");
+    checkArgument(fallbackSupplier != null, "Fallback supplier cannot be null");
+    this.client = client;
+    this.configuration = configuration;
+    this.runtimeVersion = runtimeVersion;
+    this.fallbackSupplier = fallbackSupplier;
+  }
+
+  @Override
+  public Set<ExtensionModel> getRuntimeExtensionModels() {
+    if (daemonAvailable) {
+      try {
+        Set<ExtensionModel> extensionModels = new HashSet<>();
+        for (String extensionModel : client.getRuntimeExtensionModels(configuration, runtimeVersion)) {
+          extensionModels.add(serializer.deserializeExtensionModel(extensionModel));
+        }
+        return extensionModels;
+      } catch (IOException e) {
+        onFailure(e);
+      }
+    }
+    return getFallback().getRuntimeExtensionModels();
+  }
+
+  @Override
+  public PluginResources load(BundleDescriptor artifactDescriptor) {
+    if (daemonAvailable) {
+      try {
+        Optional<String> resources = client.loadPlugin(configuration, runtimeVersion, artifactDescriptor);
+        return resources.isPresent() ? serializer.deserialize(resources.get()) : null;
+      } catch (IOException e) {
+        onFailure(e);
+      }
+    }
+    return getFallback().load(artifactDescriptor);
+  }
+
+  private void onFailure(IOException e) {
+    // A failure of the daemon itself is reported again by the fallback, with its actual cause
+    if (!(e instanceof DaemonRequestException)) {
+      daemonAvailable = false;
+    }
+  }
+
+  private synchronized ExtensionModelLoader getFallback() {
+    if (fallback == null) {
+      fallback = fallbackSupplier.get();
+    }
+    return fallback;
+  }
+}
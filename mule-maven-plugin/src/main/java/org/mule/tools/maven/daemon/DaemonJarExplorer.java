@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.mule.tools.api.util.JarExplorer;
+import org.mule.tools.api.util.JarInfo;
+import org.mule.tools.maven.daemon.ToolingDaemonClient.DaemonRequestException;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * {@link JarExplorer} that asks a {@link ToolingDaemon} for the content of JAR files, so explorations are kept in memory between
+ * builds. Folders, such as the classes of the project, are explored by the delegate, which is also used for every exploration
+ * once the daemon cannot be reached.
+ */
+public class DaemonJarExplorer implements JarExplorer {
+
+  private final ToolingDaemonClient client;
+  private final JarExplorer delegate;
+  private volatile boolean daemonAvailable = true;
+
+  /**
+   * @param client   client of the daemon. Non null.
+   * @param delegate explorer used when the daemon cannot explore a library. Non null.
+   */
+  public DaemonJarExplorer(ToolingDaemonClient client, JarExplorer delegate) {
+    checkArgument(client != null, "Client cannot be null");
+    checkArgument(delegate != null, "Delegate cannot be null");
+    this.client = client;
+    this.delegate = delegate;
+  }
+
+  @Override
+  public JarInfo explore(URI library) {
+    if (daemonAvailable && "file".equals(library.getScheme())) {
+      File libraryFile = new File(library);
+      if (libraryFile.isFile()) {
+        try {
+          return client.explore(libraryFile);
+        } catch (DaemonRequestException e) {
+          // The delegate reports the actual failure
+        } catch (IOException e) {
+          daemonAvailable = false;
+        }
+      }
+    }
+    return delegate.explore(library);
+  }
+}
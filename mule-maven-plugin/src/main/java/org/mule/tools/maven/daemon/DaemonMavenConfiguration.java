@@ -0,0 +1,130 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.stream.Collectors.toList;
+import static org.mule.tools.maven.daemon.DaemonProtocol.readString;
+import static org.mule.tools.maven.daemon.DaemonProtocol.readStrings;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeString;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeStrings;
+
+import org.mule.maven.client.api.MavenClient;
+import org.mule.tools.api.repository.MuleMavenPluginClientBuilder;
+import org.mule.tools.api.util.PackagerLog;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.maven.artifact.repository.ArtifactRepository;
+import org.apache.maven.execution.MavenExecutionRequest;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Settings a {@link ToolingDaemon} needs to create a {@link MavenClient} equivalent to the one of the build. Credentials are
+ * not sent to the daemon, so the servers of the remote repositories must be configured in the settings files.
+ */
+public class DaemonMavenConfiguration {
+
+  private final String localRepository;
+  private final String userSettings;
+  private final String globalSettings;
+  private final Map<String, String> remoteRepositories;
+  private final List<String> activeProfiles;
+  private final List<String> inactiveProfiles;
+
+  private DaemonMavenConfiguration(String localRepository, String userSettings, String globalSettings,
+                                   Map<String, String> remoteRepositories, List<String> activeProfiles,
+                                   List<String> inactiveProfiles) {
+    this.localRepository = localRepository;
+    this.userSettings = userSettings;
+    this.globalSettings = globalSettings;
+    this.remoteRepositories = remoteRepositories;
+    this.activeProfiles = activeProfiles;
+    this.inactiveProfiles = inactiveProfiles;
+  }
+
+  /**
+   * @param request            request of the build.
+   * @param remoteRepositories remote repositories of the project.
+   * @return the configuration of the Maven client of the build.
+   */
+  public static DaemonMavenConfiguration of(MavenExecutionRequest request, List<ArtifactRepository> remoteRepositories) {
+    checkArgument(request != null, "Request cannot be null");
+    Map<String, String> repositories = new LinkedHashMap<>();
+    if (remoteRepositories != null) {
+      remoteRepositories.forEach(repository -> repositories.put(repository.getId(), repository.getUrl()));
+    }
+    return new DaemonMavenConfiguration(path(request.getLocalRepositoryPath()), path(request.getUserSettingsFile()),
+                                        path(request.getGlobalSettingsFile()), repositories,
+                                        new ArrayList<>(request.getActiveProfiles()),
+                                        new ArrayList<>(request.getInactiveProfiles()));
+  }
+
+  static DaemonMavenConfiguration read(DataInputStream input) throws IOException {
+    String localRepository = readString(input);
+    String userSettings = readString(input);
+    String globalSettings = readString(input);
+    List<String> repositoryIds = readStrings(input);
+    List<String> repositoryUrls = readStrings(input);
+    if (repositoryIds.size() != repositoryUrls.size()) {
+      throw new IOException("Invalid remote repositories");
+    }
+    Map<String, String> remoteRepositories = new LinkedHashMap<>();
+    for (int i = 0; i < repositoryIds.size(); i++) {
+      remoteRepositories.put(repositoryIds.get(i), repositoryUrls.get(i));
+    }
+    return new DaemonMavenConfiguration(localRepository, userSettings, globalSettings, remoteRepositories, readStrings(input),
+                                        readStrings(input));
+  }
+
+  void write(DataOutputStream output) throws IOException {
+    writeString(output, localRepository);
+    writeString(output, userSettings);
+    writeString(output, globalSettings);
+    writeStrings(output, remoteRepositories.keySet());
+    writeStrings(output, remoteRepositories.values());
+    writeStrings(output, activeProfiles);
+    writeStrings(output, inactiveProfiles);
+  }
+
+  /**
+   * @return a key that is equal for configurations that create equivalent Maven clients.
+   */
+  String getKey() {
+    return String.join("|", localRepository, userSettings, globalSettings, remoteRepositories.toString(),
+                       activeProfiles.toString(), inactiveProfiles.toString());
+  }
+
+  MavenClient createMavenClient(PackagerLog log) {
+    List<RemoteRepository> repositories = remoteRepositories.entrySet().stream()
+        .map(repository -> new RemoteRepository.Builder(repository.getKey(), "default", repository.getValue()).build())
+        .collect(toList());
+    return new MuleMavenPluginClientBuilder(log)
+        .withRemoteRepositories(repositories)
+        .withLocalRepository(file(localRepository))
+        .withUserSettings(file(userSettings))
+        .withGlobalSettings(file(globalSettings))
+        .withActiveProfiles(activeProfiles)
+        .withInactiveProfiles(inactiveProfiles)
+        .build();
+  }
+
+  private static String path(File file) {
+    return file != null ? file.getAbsolutePath() : "";
+  }
+
+  private static File file(String path) {
+    return path.isEmpty() ? null : new File(path);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.tooling.api.ExtensionModelLoader;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Wire format between the {@link ToolingDaemonClient} and the {@link ToolingDaemon}. Each connection carries a single request,
+ * made of the protocol version, the token of the daemon, the versions of the plugin and of the extension model loader, the
+ * command and its arguments, and the response, made of a status flag followed by the result or an error message.
+ */
+final class DaemonProtocol {
+
+  static final int VERSION = 3;
+
+  // The token is read before the caller is trusted, so longer values are rejected without allocating them
+  static final int MAX_TOKEN_LENGTH = 256;
+
+  /**
+   * Versions of the plugin and of the extension model loader. A daemon only serves builds with the same versions, as the
+   * extension models it keeps are loaded and serialized by them.
+   */
+  static final String COMPONENT_VERSIONS =
+      getVersion("mule-maven-plugin", DaemonProtocol.class) + ";"
+          + getVersion("mule-extension-model-loader", ExtensionModelLoader.class);
+
+  static final String PING = "ping";
+  static final String EXPLORE = "explore";
+  static final String RUNTIME_EXTENSION_MODELS = "runtime-extension-models";
+  static final String LOAD_PLUGIN = "load-plugin";
+  static final String STOP = "stop";
+
+  // Longer than what writeUTF supports, as serialized extension models may take several megabytes
+  private static final int MAX_STRING_LENGTH = 256 * 1024 * 1024;
+
+  private DaemonProtocol() {}
+
+  private static String getVersion(String component, Class<?> componentClass) {
+    Package componentPackage = componentClass.getPackage();
+    String version = componentPackage != null ? componentPackage.getImplementationVersion() : null;
+    StringBuilder builder = new StringBuilder(component).append('=').append(version != null ? version : "unknown");
+    try {
+      // A rebuilt snapshot keeps its version, so the date of its file tells the builds apart
+      CodeSource codeSource = componentClass.getProtectionDomain().getCodeSource();
+      if (codeSource != null && codeSource.getLocation() != null) {
+        File location = new File(codeSource.getLocation().toURI());
+        if (location.isFile()) {
+          builder.append('@').append(location.lastModified());
+        }
+      }
+    } catch (URISyntaxException | IllegalArgumentException | SecurityException e) {
+      // The version alone is compared
+    }
+    return builder.toString();
+  }
+
+  static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(UTF_8);
+    output.writeInt(bytes.length);
+    output.write(bytes);
+  }
+
+  static String readString(DataInputStream input) throws IOException {
+    return readString(input, MAX_STRING_LENGTH);
+  }
+
+  static String readString(DataInputStream input, int maxLength) throws IOException {
+    int length = input.readInt();
+    if (length < 0 || length > maxLength) {
+      throw new IOException("Invalid string length " + length);
+    }
+    byte[] bytes = new byte[length];
+    input.readFully(bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  static void writeStrings(DataOutputStream output, Collection<String> values) throws IOException {
+    output.writeInt(values.size());
+    for (String value : values) {
+      writeString(output, value);
+    }
+  }
+
+  static List<String> readStrings(DataInputStream input) throws IOException {
+    int size = input.readInt();
+    if (size < 0) {
+      throw new IOException("Invalid size " + size);
+    }
+    List<String> values = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      values.add(readString(input));
+    }
+    return values;
+  }
+
+  static Set<String> readStringSet(DataInputStream input) throws IOException {
+    return new TreeSet<>(readStrings(input));
+  }
+
+  static void writeDescriptor(DataOutputStream output, BundleDescriptor descriptor) throws IOException {
+    writeString(output, descriptor.getGroupId());
+    writeString(output, descriptor.getArtifactId());
+    writeString(output, descriptor.getVersion());
+    writeString(output, descriptor.getBaseVersion());
+    writeString(output, descriptor.getClassifier().orElse(""));
+    writeString(output, descriptor.getType());
+  }
+
+  static BundleDescriptor readDescriptor(DataInputStream input) throws IOException {
+    BundleDescriptor.Builder builder = new BundleDescriptor.Builder()
+        .setGroupId(readString(input))
+        .setArtifactId(readString(input))
+        .setVersion(readString(input))
+        .setBaseVersion(readString(input));
+    String classifier = readString(input);
+    if (!classifier.isEmpty()) {
+      builder.setClassifier(classifier);
+    }
+    return builder.setType(readString(input)).build();
+  }
+}
@@ -0,0 +1,468 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.tools.api.util.SourcesProcessor.JAR_INFO_CACHE_FOLDER;
+import static org.mule.tools.maven.daemon.DaemonProtocol.COMPONENT_VERSIONS;
+import static org.mule.tools.maven.daemon.DaemonProtocol.EXPLORE;
+import static org.mule.tools.maven.daemon.DaemonProtocol.LOAD_PLUGIN;
+import static org.mule.tools.maven.daemon.DaemonProtocol.MAX_TOKEN_LENGTH;
+import static org.mule.tools.maven.daemon.DaemonProtocol.PING;
+import static org.mule.tools.maven.daemon.DaemonProtocol.RUNTIME_EXTENSION_MODELS;
+import static org.mule.tools.maven.daemon.DaemonProtocol.STOP;
+import static org.mule.tools.maven.daemon.DaemonProtocol.VERSION;
+import static org.mule.tools.maven.daemon.DaemonProtocol.readDescriptor;
+import static org.mule.tools.maven.daemon.DaemonProtocol.readString;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeString;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeStrings;
+
+import org.mule.maven.client.api.MavenClient;
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.runtime.api.meta.model.ExtensionModel;
+import org.mule.tooling.api.ExtensionModelLoader;
+import org.mule.tooling.api.ExtensionModelLoaderPool;
+import org.mule.tooling.api.PluginResourcesSerializer;
+import org.mule.tooling.internal.PluginResources;
+import org.mule.tools.api.util.FileJarExplorer;
+import org.mule.tools.api.util.JarExplorer;
+import org.mule.tools.api.util.JarInfo;
+import org.mule.tools.api.util.PackagerLog;
+import org.mule.tools.api.util.PersistentJarExplorer;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long lived process that keeps the extension model loaders, the Maven clients and the jar explorations of previous builds in
+ * memory, so builds delegating to it through a {@link ToolingDaemonClient} skip their bootstrap.
+ * <p>
+ * The daemon listens on a loopback port. The port and a random token, required by every request, are published in a state
+ * file under the local repository that only the owner can read. The daemon stops itself after an idle timeout. Its caches
+ * are bounded by the estimated size of their values, and only the most recently used loaders and Maven clients are kept.
+ */
+public class ToolingDaemon implements Closeable {
+
+  /**
+   * State file of the daemon, relative to the local Maven repository.
+   */
+  public static final String STATE_FILE = ".mule-maven-plugin/tooling-daemon.properties";
+
+  static final String PORT_PROPERTY = "port";
+  static final String TOKEN_PROPERTY = "token";
+
+  private static final int HANDSHAKE_TIMEOUT = 5 * 1000;
+  private static final int READ_TIMEOUT = 10 * 60 * 1000;
+  // Each loader pool keeps the container class loader of a runtime version, which is much heavier than any cached value
+  private static final int MAX_LOADER_POOLS = 4;
+  private static final int MAX_MAVEN_CLIENTS = 8;
+
+  private final File stateFile;
+  private final long idleTimeout;
+  private final int threads;
+  private final PackagerLog log;
+  private final String token = UUID.randomUUID().toString();
+  private final long startTime = System.currentTimeMillis();
+  private final CountDownLatch terminated = new CountDownLatch(1);
+
+  private final WeightedLruCache<String, JarInfo> jarInfos;
+  private final WeightedLruCache<String, String> pluginResources;
+  private final WeightedLruCache<String, List<String>> runtimeExtensionModels;
+  private final WeightedLruCache<String, MavenClient> mavenClients = new WeightedLruCache<>(MAX_MAVEN_CLIENTS, client -> 1);
+  private final WeightedLruCache<String, ExtensionModelLoaderPool> loaderPools =
+      new WeightedLruCache<>(MAX_LOADER_POOLS, loaderPool -> 1, this::retire);
+  // Dropped loader pools may still be used by the requests in progress, so they are closed once there are none
+  private final List<ExtensionModelLoaderPool> retiredLoaderPools = new ArrayList<>();
+  private final PluginResourcesSerializer serializer = new PluginResourcesSerializer();
+  private final JarExplorer jarExplorer;
+
+  private volatile long lastActivity = System.currentTimeMillis();
+  private final AtomicInteger activeRequests = new AtomicInteger();
+  private volatile boolean closed;
+  private ServerSocket serverSocket;
+  private ExecutorService requestExecutor;
+  private ScheduledExecutorService idleExecutor;
+
+  /**
+   * @param localRepository local Maven repository, where the state file and the jar explorations index are stored.
+   * @param idleTimeout     milliseconds without requests after which the daemon stops.
+   * @param maxCacheSize    maximum estimated size in bytes of the values kept in memory.
+   * @param threads         number of requests served at the same time.
+   * @param jarInfoCache    whether jar explorations are also kept in an index in the local repository.
+   * @param log             log of the daemon.
+   */
+  public ToolingDaemon(File localRepository, long idleTimeout, long maxCacheSize, int threads, boolean jarInfoCache,
+                       PackagerLog log) {
+    checkArgument(localRepository != null, "Local repository cannot be null");
+    checkArgument(idleTimeout > 0, "Idle timeout must be positive");
+    checkArgument(maxCacheSize > 1, "Max cache size must be greater than one");
+    checkArgument(threads > 0, "Threads must be positive");
+    checkArgument(log != null, "Log cannot be null");
+    this.stateFile = getStateFile(localRepository);
+    this.idleTimeout = idleTimeout;
+    this.threads = threads;
+    this.log = log;
+    // Half of the memory for the jar explorations, so lots of small jars do not evict the much more expensive extension models
+    this.jarInfos = new WeightedLruCache<>(maxCacheSize / 2, ToolingDaemon::weight);
+    this.pluginResources = new WeightedLruCache<>(maxCacheSize / 4, json -> 2L * json.length());
+    this.runtimeExtensionModels = new WeightedLruCache<>(maxCacheSize / 4, ToolingDaemon::weight);
+    this.jarExplorer = jarInfoCache
+        ? new PersistentJarExplorer(new FileJarExplorer(), new File(localRepository, JAR_INFO_CACHE_FOLDER),
+                                    PersistentJarExplorer.DEFAULT_MAX_CACHE_SIZE)
+        : new FileJarExplorer();
+  }
+
+  /**
+   * @param localRepository local Maven repository.
+   * @return the file where a daemon using the local repository publishes its port.
+   */
+  public static File getStateFile(File localRepository) {
+    return new File(localRepository, STATE_FILE);
+  }
+
+  /**
+   * Starts listening and publishes the state file.
+   *
+   * @return the port the daemon listens on.
+   * @throws IOException if the port cannot be opened or the state file cannot be written.
+   */
+  public synchronized int start() throws IOException {
+    checkState(serverSocket == null, "Daemon already started");
+    serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+    requestExecutor = newFixedThreadPool(threads, daemonThreads("mule-tooling-daemon-request"));
+    idleExecutor = newSingleThreadScheduledExecutor(daemonThreads("mule-tooling-daemon-idle"));
+    writeStateFile();
+    Thread acceptor = daemonThreads("mule-tooling-daemon-acceptor").newThread(this::accept);
+    acceptor.start();
+    long checkInterval = Math.max(1000, Math.min(idleTimeout / 10, 60 * 1000));
+    idleExecutor.scheduleWithFixedDelay(this::stopIfIdle, checkInterval, checkInterval, MILLISECONDS);
+    return serverSocket.getLocalPort();
+  }
+
+  /**
+   * Blocks until the daemon is closed, either by a stop request or by the idle timeout.
+   *
+   * @throws InterruptedException if the current thread is interrupted while waiting.
+   */
+  public void awaitTermination() throws InterruptedException {
+    terminated.await();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    deleteStateFile();
+    try {
+      if (serverSocket != null) {
+        serverSocket.close();
+      }
+    } catch (IOException e) {
+      log.debug("Could not close the daemon socket: " + e.getMessage());
+    }
+    if (requestExecutor != null) {
+      requestExecutor.shutdownNow();
+    }
+    if (idleExecutor != null) {
+      idleExecutor.shutdownNow();
+    }
+    loaderPools.clear();
+    closeRetiredLoaderPools();
+    mavenClients.clear();
+    jarInfos.clear();
+    pluginResources.clear();
+    runtimeExtensionModels.clear();
+    terminated.countDown();
+  }
+
+  private void accept() {
+    while (!closed) {
+      try {
+        Socket socket = serverSocket.accept();
+        try {
+          requestExecutor.execute(() -> serve(socket));
+        } catch (RuntimeException e) {
+          socket.close();
+          throw e;
+        }
+      } catch (SocketException e) {
+        // Socket closed
+      } catch (Exception e) {
+        if (!closed) {
+          log.warn("Could not accept a daemon request: " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  private void serve(Socket socket) {
+    boolean authenticated = false;
+    try (Socket connection = socket) {
+      // Until the token is verified the connection only gets a short timeout and does not keep the daemon alive
+      connection.setSoTimeout(HANDSHAKE_TIMEOUT);
+      DataInputStream input = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+      if (input.readInt() != VERSION
+          || !MessageDigest.isEqual(token.getBytes(UTF_8), readString(input, MAX_TOKEN_LENGTH).getBytes(UTF_8))) {
+        output.writeBoolean(false);
+        writeString(output, "Invalid request");
+        output.flush();
+        return;
+      }
+      authenticated = true;
+      activeRequests.incrementAndGet();
+      lastActivity = System.currentTimeMillis();
+      connection.setSoTimeout(READ_TIMEOUT);
+      String componentVersions = readString(input);
+      if (!COMPONENT_VERSIONS.equals(componentVersions)) {
+        output.writeBoolean(false);
+        writeString(output, "The tooling daemon runs " + COMPONENT_VERSIONS + " but the build uses " + componentVersions);
+        output.flush();
+        return;
+      }
+      String command = readString(input);
+      try {
+        handle(command, input, output);
+      } catch (Exception e) {
+        log.debug("Daemon request " + command + " failed: " + e);
+        output.writeBoolean(false);
+        writeString(output, String.valueOf(e.getMessage()));
+      }
+      output.flush();
+      if (STOP.equals(command)) {
+        close();
+      }
+    } catch (IOException e) {
+      log.debug("Daemon connection failed: " + e.getMessage());
+    } finally {
+      if (authenticated) {
+        lastActivity = System.currentTimeMillis();
+        if (activeRequests.decrementAndGet() == 0) {
+          closeRetiredLoaderPools();
+        }
+      }
+    }
+  }
+
+  private void handle(String command, DataInputStream input, DataOutputStream output) throws Exception {
+    switch (command) {
+      case PING:
+        output.writeBoolean(true);
+        writeStatus(output);
+        break;
+      case EXPLORE:
+        JarInfo jarInfo = explore(new File(readString(input)));
+        output.writeBoolean(true);
+        writeStrings(output, jarInfo.getPackages());
+        writeStrings(output, jarInfo.getResources());
+        break;
+      case RUNTIME_EXTENSION_MODELS:
+        List<String> extensionModels = getRuntimeExtensionModels(DaemonMavenConfiguration.read(input), readString(input));
+        output.writeBoolean(true);
+        writeStrings(output, extensionModels);
+        break;
+      case LOAD_PLUGIN:
+        String resources = loadPlugin(DaemonMavenConfiguration.read(input), readString(input), readDescriptor(input));
+        output.writeBoolean(true);
+        output.writeBoolean(resources != null);
+        if (resources != null) {
+          writeString(output, resources);
+        }
+        break;
+      case STOP:
+        output.writeBoolean(true);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown command " + command);
+    }
+  }
+
+  private void writeStatus(DataOutputStream output) throws IOException {
+    Runtime runtime = Runtime.getRuntime();
+    output.writeLong(System.currentTimeMillis() - startTime);
+    output.writeInt(jarInfos.size());
+    output.writeInt(pluginResources.size());
+    output.writeLong(jarInfos.weight() + pluginResources.weight());
+    output.writeLong(runtime.totalMemory() - runtime.freeMemory());
+  }
+
+  private JarInfo explore(File library) {
+    if (!library.isFile()) {
+      return jarExplorer.explore(library.toURI());
+    }
+    String key = library.getAbsolutePath() + ":" + library.length() + ":" + library.lastModified();
+    JarInfo jarInfo = jarInfos.get(key);
+    if (jarInfo == null) {
+      jarInfo = jarExplorer.explore(library.toURI());
+      jarInfos.put(key, jarInfo);
+    }
+    return jarInfo;
+  }
+
+  private List<String> getRuntimeExtensionModels(DaemonMavenConfiguration configuration, String runtimeVersion) {
+    String key = configuration.getKey() + "|" + runtimeVersion;
+    List<String> extensionModels = runtimeExtensionModels.get(key);
+    if (extensionModels == null) {
+      extensionModels = new ArrayList<>();
+      for (ExtensionModel extensionModel : getLoader(configuration, runtimeVersion).getRuntimeExtensionModels()) {
+        extensionModels.add(serializer.serialize(extensionModel));
+      }
+      runtimeExtensionModels.put(key, extensionModels);
+    }
+    return extensionModels;
+  }
+
+  private String loadPlugin(DaemonMavenConfiguration configuration, String runtimeVersion, BundleDescriptor descriptor) {
+    MavenClient mavenClient = getMavenClient(configuration);
+    File pluginFile = new File(mavenClient.resolveBundleDescriptor(descriptor).getBundleUri());
+    // A rebuilt snapshot has a different size or date, so it gets its own entry
+    String key = configuration.getKey() + "|" + runtimeVersion + "|" + descriptor + "|" + pluginFile.getAbsolutePath() + ":"
+        + pluginFile.length() + ":" + pluginFile.lastModified();
+    String resources = pluginResources.get(key);
+    if (resources == null) {
+      PluginResources loadedResources = getLoader(configuration, runtimeVersion).load(descriptor);
+      if (loadedResources == null) {
+        return null;
+      }
+      resources = serializer.serialize(loadedResources);
+      pluginResources.put(key, resources);
+    }
+    return resources;
+  }
+
+  private ExtensionModelLoader getLoader(DaemonMavenConfiguration configuration, String runtimeVersion) {
+    String key = configuration.getKey() + "|" + runtimeVersion;
+    ExtensionModelLoaderPool loaderPool = loaderPools.get(key);
+    if (loaderPool == null) {
+      loaderPool = new ExtensionModelLoaderPool();
+      loaderPools.put(key, loaderPool);
+    }
+    return loaderPool.getLoader(getMavenClient(configuration), ToolingDaemon.class.getClassLoader(), runtimeVersion, null);
+  }
+
+  private MavenClient getMavenClient(DaemonMavenConfiguration configuration) {
+    MavenClient mavenClient = mavenClients.get(configuration.getKey());
+    if (mavenClient == null) {
+      mavenClient = configuration.createMavenClient(log);
+      mavenClients.put(configuration.getKey(), mavenClient);
+    }
+    return mavenClient;
+  }
+
+  private void retire(ExtensionModelLoaderPool loaderPool) {
+    synchronized (retiredLoaderPools) {
+      retiredLoaderPools.add(loaderPool);
+    }
+  }
+
+  private void closeRetiredLoaderPools() {
+    List<ExtensionModelLoaderPool> loaderPoolsToClose;
+    synchronized (retiredLoaderPools) {
+      loaderPoolsToClose = new ArrayList<>(retiredLoaderPools);
+      retiredLoaderPools.clear();
+    }
+    loaderPoolsToClose.forEach(ExtensionModelLoaderPool::close);
+  }
+
+  private void stopIfIdle() {
+    // Loading the extension models of a large application may take longer than the idle timeout
+    if (activeRequests.get() == 0 && System.currentTimeMillis() - lastActivity > idleTimeout) {
+      log.info("Stopping the tooling daemon after " + MILLISECONDS.toMinutes(idleTimeout) + " minutes without requests");
+      close();
+    }
+  }
+
+  private void writeStateFile() throws IOException {
+    Properties state = new Properties();
+    state.setProperty(PORT_PROPERTY, String.valueOf(serverSocket.getLocalPort()));
+    state.setProperty(TOKEN_PROPERTY, token);
+    Files.createDirectories(stateFile.toPath().getParent());
+    Path temporaryStateFile = Files.createTempFile(stateFile.getParentFile().toPath(), "tooling-daemon", ".tmp");
+    try {
+      // The token grants access to the daemon, so only the owner can read it
+      try {
+        Files.setPosixFilePermissions(temporaryStateFile, PosixFilePermissions.fromString("rw-------"));
+      } catch (UnsupportedOperationException e) {
+        temporaryStateFile.toFile().setReadable(false, false);
+        temporaryStateFile.toFile().setReadable(true, true);
+      }
+      try (OutputStream output = Files.newOutputStream(temporaryStateFile)) {
+        state.store(output, "Mule tooling daemon");
+      }
+      Files.move(temporaryStateFile, stateFile.toPath(), REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temporaryStateFile);
+    }
+  }
+
+  private void deleteStateFile() {
+    // Another daemon may have been started since, its state file must be kept
+    Properties state = ToolingDaemonClient.readState(stateFile);
+    if (state != null && token.equals(state.getProperty(TOKEN_PROPERTY))) {
+      stateFile.delete();
+    }
+  }
+
+  private static long weight(List<String> extensionModels) {
+    long weight = 64;
+    for (String extensionModel : extensionModels) {
+      weight += 40 + 2L * extensionModel.length();
+    }
+    return weight;
+  }
+
+  private static long weight(JarInfo jarInfo) {
+    long weight = 64;
+    for (String value : jarInfo.getPackages()) {
+      weight += 40 + 2L * value.length();
+    }
+    for (String value : jarInfo.getResources()) {
+      weight += 40 + 2L * value.length();
+    }
+    return weight;
+  }
+
+  private static ThreadFactory daemonThreads(String name) {
+    AtomicInteger count = new AtomicInteger();
+    return runnable -> {
+      Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    };
+  }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static org.mule.tools.maven.daemon.DaemonProtocol.COMPONENT_VERSIONS;
+import static org.mule.tools.maven.daemon.DaemonProtocol.EXPLORE;
+import static org.mule.tools.maven.daemon.DaemonProtocol.LOAD_PLUGIN;
+import static org.mule.tools.maven.daemon.DaemonProtocol.PING;
+import static org.mule.tools.maven.daemon.DaemonProtocol.RUNTIME_EXTENSION_MODELS;
+import static org.mule.tools.maven.daemon.DaemonProtocol.STOP;
+import static org.mule.tools.maven.daemon.DaemonProtocol.VERSION;
+import static org.mule.tools.maven.daemon.DaemonProtocol.readString;
+import static org.mule.tools.maven.daemon.DaemonProtocol.readStringSet;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeDescriptor;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeString;
+import static org.mule.tools.maven.daemon.ToolingDaemon.PORT_PROPERTY;
+import static org.mule.tools.maven.daemon.ToolingDaemon.TOKEN_PROPERTY;
+
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+import org.mule.tools.api.util.JarInfo;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+
+/**
+ * Client of a {@link ToolingDaemon} running on this machine. Each request opens its own connection, so the client can be used
+ * by several threads.
+ */
+public class ToolingDaemonClient {
+
+  private static final int CONNECT_TIMEOUT = 1000;
+  private static final int PING_TIMEOUT = 2000;
+  private static final int READ_TIMEOUT = 10 * 60 * 1000;
+
+  private final int port;
+  private final String token;
+  private final String componentVersions;
+
+  ToolingDaemonClient(int port, String token) {
+    this(port, token, COMPONENT_VERSIONS);
+  }
+
+  ToolingDaemonClient(int port, String token, String componentVersions) {
+    checkArgument(token != null, "Token cannot be null");
+    checkArgument(componentVersions != null, "Component versions cannot be null");
+    this.port = port;
+    this.token = token;
+    this.componentVersions = componentVersions;
+  }
+
+  /**
+   * Connects to the daemon published in the state file, checking that it answers. A daemon started by other versions of the
+   * plugin or of the extension model loader rejects the requests, so the build falls back to loading everything itself.
+   *
+   * @param stateFile state file of the daemon, see {@link ToolingDaemon#getStateFile(File)}.
+   * @return the client, or empty if no daemon is running, it does not answer or it runs other versions.
+   */
+  public static Optional<ToolingDaemonClient> connect(File stateFile) {
+    Properties state = readState(stateFile);
+    if (state == null) {
+      return Optional.empty();
+    }
+    try {
+      ToolingDaemonClient client =
+          new ToolingDaemonClient(Integer.parseInt(state.getProperty(PORT_PROPERTY)), state.getProperty(TOKEN_PROPERTY));
+      client.ping();
+      return Optional.of(client);
+    } catch (IOException | RuntimeException e) {
+      return Optional.empty();
+    }
+  }
+
+  int getPort() {
+    return port;
+  }
+
+  static Properties readState(File stateFile) {
+    if (stateFile == null || !stateFile.isFile()) {
+      return null;
+    }
+    Properties state = new Properties();
+    try (InputStream input = Files.newInputStream(stateFile.toPath())) {
+      state.load(input);
+      return state.getProperty(PORT_PROPERTY) != null && state.getProperty(TOKEN_PROPERTY) != null ? state : null;
+    } catch (IOException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Health check of the daemon.
+   *
+   * @return the status of the daemon.
+   * @throws IOException if the daemon does not answer.
+   */
+  public Status ping() throws IOException {
+    return request(PING, PING_TIMEOUT, output -> {
+    }, input -> new Status(input.readLong(), input.readInt(), input.readInt(), input.readLong(), input.readLong()));
+  }
+
+  /**
+   * @param library JAR file to explore.
+   * @return the packages and resources of the library.
+   * @throws IOException if the daemon does not answer or fails to explore the library.
+   */
+  public JarInfo explore(File library) throws IOException {
+    return request(EXPLORE, READ_TIMEOUT, output -> writeString(output, library.getAbsolutePath()),
+                   input -> new JarInfo(readStringSet(input), readStringSet(input)));
+  }
+
+  /**
+   * @return the runtime extension models, serialized as JSON.
+   * @throws IOException if the daemon does not answer or fails to load them.
+   */
+  public List<String> getRuntimeExtensionModels(DaemonMavenConfiguration configuration, String runtimeVersion)
+      throws IOException {
+    return request(RUNTIME_EXTENSION_MODELS, READ_TIMEOUT, output -> {
+      configuration.write(output);
+      writeString(output, runtimeVersion);
+    }, DaemonProtocol::readStrings);
+  }
+
+  /**
+   * @return the resources of the plugin serialized as JSON, or empty if the plugin has no resources.
+   * @throws IOException if the daemon does not answer or fails to load the plugin.
+   */
+  public Optional<String> loadPlugin(DaemonMavenConfiguration configuration, String runtimeVersion,
+                                     BundleDescriptor descriptor)
+      throws IOException {
+    return request(LOAD_PLUGIN, READ_TIMEOUT, output -> {
+      configuration.write(output);
+      writeString(output, runtimeVersion);
+      writeDescriptor(output, descriptor);
+    }, input -> input.readBoolean() ? Optional.of(readString(input)) : Optional.empty());
+  }
+
+  /**
+   * Stops the daemon.
+   *
+   * @throws IOException if the daemon does not answer.
+   */
+  public void stop() throws IOException {
+    request(STOP, PING_TIMEOUT, output -> {
+    }, input -> null);
+  }
+
+  private <T> T request(String command, int timeout, RequestWriter writer, ResponseReader<T> reader) throws IOException {
+    try (Socket socket = new Socket()) {
+      socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+      socket.setSoTimeout(timeout);
+      DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      output.writeInt(VERSION);
+      writeString(output, token);
+      writeString(output, componentVersions);
+      writeString(output, command);
+      writer.write(output);
+      output.flush();
+      DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      if (!input.readBoolean()) {
+        throw new DaemonRequestException("Tooling daemon failed to process " + command + ": " + readString(input));
+      }
+      return reader.read(input);
+    }
+  }
+
+  @FunctionalInterface
+  private interface RequestWriter {
+
+    void write(DataOutputStream output) throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface ResponseReader<T> {
+
+    T read(DataInputStream input) throws IOException;
+  }
+
+  /**
+   * Failure reported by a daemon that is up, as opposed to a daemon that cannot be reached.
+   */
+  static class DaemonRequestException extends IOException {
+
+    DaemonRequestException(String message) {
+      super(message);
+    }
+  }
+
+  /**
+   * Status of a running daemon.
+   */
+  public static class Status {
+
+    private final long uptime;
+    private final int jarInfos;
+    private final int pluginResources;
+    private final long cacheSize;
+    private final long usedMemory;
+
+    Status(long uptime, int jarInfos, int pluginResources, long cacheSize, long usedMemory) {
+      this.uptime = uptime;
+      this.jarInfos = jarInfos;
+      this.pluginResources = pluginResources;
+      this.cacheSize = cacheSize;
+      this.usedMemory = usedMemory;
+    }
+
+    /**
+     * @return milliseconds since the daemon started.
+     */
+    public long getUptime() {
+      return uptime;
+    }
+
+    /**
+     * @return number of jar explorations kept in memory.
+     */
+    public int getJarInfos() {
+      return jarInfos;
+    }
+
+    /**
+     * @return number of plugin resources kept in memory.
+     */
+    public int getPluginResources() {
+      return pluginResources;
+    }
+
+    /**
+     * @return estimated size in bytes of the values kept in memory.
+     */
+    public long getCacheSize() {
+      return cacheSize;
+    }
+
+    /**
+     * @return heap used by the daemon in bytes.
+     */
+    public long getUsedMemory() {
+      return usedMemory;
+    }
+
+    @Override
+    public String toString() {
+      return "uptime=" + uptime / 1000 + "s, jarInfos=" + jarInfos + ", pluginResources=" + pluginResources
+          + ", cacheSize=" + cacheSize / 1024 + "KB, usedMemory=" + usedMemory / (1024 * 1024) + "MB";
+    }
+  }
+}
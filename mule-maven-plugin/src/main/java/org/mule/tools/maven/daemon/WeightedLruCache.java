@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * In memory cache bounded by the estimated size of its values. When adding a value exceeds the maximum weight, the least
+ * recently used values are dropped. Values holding resources are released through a listener of the dropped values.
+ *
+ * @param <K> type of the keys.
+ * @param <V> type of the values.
+ */
+class WeightedLruCache<K, V> {
+
+  private final long maxWeight;
+  private final ToLongFunction<V> weigher;
+  private final Consumer<V> droppedValueListener;
+  private final LinkedHashMap<K, V> values = new LinkedHashMap<>(16, 0.75f, true);
+  private long weight;
+
+  /**
+   * @param maxWeight maximum sum of the weight of the values.
+   * @param weigher   estimated size of a value.
+   */
+  WeightedLruCache(long maxWeight, ToLongFunction<V> weigher) {
+    this(maxWeight, weigher, value -> {
+    });
+  }
+
+  /**
+   * @param maxWeight            maximum sum of the weight of the values.
+   * @param weigher              estimated size of a value.
+   * @param droppedValueListener called with each value that is evicted, replaced or cleared.
+   */
+  WeightedLruCache(long maxWeight, ToLongFunction<V> weigher, Consumer<V> droppedValueListener) {
+    checkArgument(maxWeight > 0, "Max weight must be positive");
+    checkArgument(weigher != null, "Weigher cannot be null");
+    checkArgument(droppedValueListener != null, "Dropped value listener cannot be null");
+    this.maxWeight = maxWeight;
+    this.weigher = weigher;
+    this.droppedValueListener = droppedValueListener;
+  }
+
+  synchronized V get(K key) {
+    return values.get(key);
+  }
+
+  /**
+   * Adds the value, unless it is heavier than the whole cache.
+   */
+  synchronized void put(K key, V value) {
+    long valueWeight = weigher.applyAsLong(value);
+    if (valueWeight > maxWeight) {
+      droppedValueListener.accept(value);
+      return;
+    }
+    V previous = values.put(key, value);
+    if (previous != null) {
+      weight -= weigher.applyAsLong(previous);
+      if (previous != value) {
+        droppedValueListener.accept(previous);
+      }
+    }
+    weight += valueWeight;
+    Iterator<Map.Entry<K, V>> entries = values.entrySet().iterator();
+    while (weight > maxWeight && entries.hasNext()) {
+      Map.Entry<K, V> eldest = entries.next();
+      weight -= weigher.applyAsLong(eldest.getValue());
+      entries.remove();
+      droppedValueListener.accept(eldest.getValue());
+    }
+  }
+
+  synchronized int size() {
+    return values.size();
+  }
+
+  synchronized long weight() {
+    return weight;
+  }
+
+  synchronized void clear() {
+    values.values().forEach(droppedValueListener);
+    values.clear();
+    weight = 0;
+  }
+}
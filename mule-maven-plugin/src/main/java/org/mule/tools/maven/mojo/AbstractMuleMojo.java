@@ -9,6 +9,7 @@ package org.mule.tools.maven.mojo;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.Optional;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -19,11 +20,16 @@ import org.apache.maven.repository.RepositorySystem;
 import org.mule.runtime.api.deployment.meta.MuleApplicationModel;
 import org.mule.runtime.api.deployment.persistence.MuleApplicationModelJsonSerializer;
 import org.mule.tools.api.packager.resources.content.ResourcesContent;
+import org.mule.tools.api.packager.sources.ConfigFileRegistry;
 import org.mule.tools.api.packager.sources.ContentGenerator;
 import org.mule.tools.api.packager.sources.ContentGeneratorFactory;
+import org.mule.tools.api.packager.sources.MuleContentGenerator;
+import org.mule.tools.api.util.MavenPackagerLog;
 import org.mule.tools.api.util.Project;
 import org.mule.tools.api.validation.resolver.MulePluginResolver;
 import org.mule.tools.api.util.MavenProjectBuilder;
+import org.mule.tools.maven.daemon.ToolingDaemon;
+import org.mule.tools.maven.daemon.ToolingDaemonClient;
 import org.mule.tools.maven.utils.MuleApplicationModelLoader;
 
 import static java.nio.charset.Charset.defaultCharset;
@@ -50,8 +56,27 @@ public abstract class AbstractMuleMojo extends AbstractGenericMojo {
   @Parameter(property = "runtimeVersion")
   public String runtimeVersion;
 
+  @Parameter(defaultValue = "${copyThreads}")
+  protected int copyThreads = 1;
+
+  /**
+   * If {@code true} source and test files are only copied to the build directory when they changed since the previous build, and
+   * files removed from the sources are removed from the build directory.
+   */
+  @Parameter(defaultValue = "${syncCopy}")
+  protected boolean syncCopy = false;
+
+  /**
+   * If {@code true} and a tooling daemon is running, see the tooling-daemon goal, jar explorations and extension model loading
+   * are delegated to it.
+   */
+  @Parameter(defaultValue = "${useToolingDaemon}")
+  protected boolean useToolingDaemon = false;
+
   protected ContentGenerator contentGenerator;
 
+  protected final ConfigFileRegistry configFileRegistry = new ConfigFileRegistry();
+
   protected static ResourcesContent resourcesContent;
 
 
@@ -64,9 +89,28 @@ public abstract class AbstractMuleMojo extends AbstractGenericMojo {
     }
   }
 
+  /**
+   * @return the client of the running tooling daemon, or empty if it is disabled or not running.
+   */
+  protected Optional<ToolingDaemonClient> getToolingDaemonClient() {
+    if (!useToolingDaemon) {
+      return Optional.empty();
+    }
+    Optional<ToolingDaemonClient> client =
+        ToolingDaemonClient.connect(ToolingDaemon.getStateFile(session.getRequest().getLocalRepositoryPath()));
+    if (!client.isPresent()) {
+      getLog().info("No tooling daemon available, running without it");
+    }
+    return client;
+  }
+
   public ContentGenerator getContentGenerator() {
     if (contentGenerator == null) {
       contentGenerator = ContentGeneratorFactory.create(getProjectInformation(), project.getModel().getParent());
+      if (contentGenerator instanceof MuleContentGenerator) {
+        ((MuleContentGenerator) contentGenerator).withCopyThreads(copyThreads).withSyncCopy(syncCopy)
+            .withLog(new MavenPackagerLog(getLog())).withConfigFileRegistry(configFileRegistry);
+      }
     }
     return contentGenerator;
   }
@@ -17,6 +17,7 @@ import static org.mule.tools.api.packager.packaging.PackagingType.MULE_DOMAIN_BU
 import org.apache.maven.artifact.Artifact;
 import org.apache.maven.artifact.DefaultArtifact;
 import org.apache.maven.artifact.handler.manager.ArtifactHandlerManager;
+import org.mule.tools.api.packager.archiver.CompressionPolicy;
 import org.mule.tools.api.packager.builder.PackageBuilder;
 import org.mule.tools.api.packager.builder.PackageBuilderFactory;
 import org.mule.tools.api.packager.packaging.PackagingOptions;
@@ -26,6 +27,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
 
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugins.annotations.Component;
@@ -58,6 +60,27 @@ public class PackageMojo extends AbstractMuleMojo {
 
   @Parameter(defaultValue = "${attachMuleSources}")
   protected boolean attachMuleSources = false;
+
+  /**
+   * Number of threads used to compress the package entries, the number of available processors by default. Lower it to leave
+   * processors to other builds running at the same time. The archive content and entry order do not depend on it.
+   */
+  @Parameter(defaultValue = "${compressionThreads}")
+  protected int compressionThreads = Runtime.getRuntime().availableProcessors();
+
+  /**
+   * Extensions of the package entries that are stored without compression, replacing the default list of nested archive and
+   * media extensions. An empty list deflates every entry.
+   */
+  @Parameter
+  protected List<String> storedExtensions;
+
+  /**
+   * If {@code true} the package left by a previous run is not deleted. Its entries that did not change are copied into the new
+   * package instead of being compressed again. It uses at least as many compression threads as available processors.
+   */
+  @Parameter(defaultValue = "${incrementalPackage}")
+  protected boolean incrementalPackage = false;
   protected PackagingOptions options;
 
   @Override
@@ -94,7 +117,7 @@ public class PackageMojo extends AbstractMuleMojo {
 
   /**
    * Given a {@code targetFolder}, it returns a new {@link File} to the new compressed file where the complete Mule app will be
-   * stored. If the file already exists, it will delete it and create a new one.
+   * stored. If the file already exists, it will delete it and create a new one, unless it is reused by an incremental package.
    *
    * @param targetFolder starting path in which the destination file will be stored
    * @return the destination file to store the Mule app
@@ -103,6 +126,9 @@ public class PackageMojo extends AbstractMuleMojo {
   protected File getDestinationFile(String targetFolder) throws MojoExecutionException {
     checkArgument(targetFolder != null, "The target folder must not be null");
     Path destinationPath = Paths.get(targetFolder, getFileName());
+    if (incrementalPackage && !getPackagingType().equals(MULE_DOMAIN_BUNDLE)) {
+      return destinationPath.toFile();
+    }
     try {
       Files.deleteIfExists(destinationPath);
     } catch (IOException e) {
@@ -126,7 +152,14 @@ public class PackageMojo extends AbstractMuleMojo {
     boolean isMuleReusableApp = MULE_PLUGIN.equals(classifier);
     return new PackagingOptions(isMuleApplicationTemplate || onlyMuleSources,
                                 isMuleReusableApp || lightweightPackage, isMuleApplicationExample || attachMuleSources,
-                                testJar, useLocalRepository);
+                                testJar, useLocalRepository)
+                                    .withCompressionThreads(compressionThreads)
+                                    .withCompressionPolicy(getCompressionPolicy())
+                                    .withIncrementalPackage(incrementalPackage);
+  }
+
+  protected CompressionPolicy getCompressionPolicy() {
+    return storedExtensions == null ? CompressionPolicy.defaultPolicy() : new CompressionPolicy(storedExtensions);
   }
 
   private String getType() {
@@ -8,6 +8,9 @@ package org.mule.tools.maven.mojo;
 
 import static org.mule.tooling.api.AstGenerator.validationResultItemToString;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_PLUGIN;
+import static org.mule.tools.api.packager.sources.ArtifactAstInputs.ARTIFACT_AST_INPUTS;
+import static org.mule.tools.maven.mojo.model.lifecycle.ExtensionModelLoaderPoolParticipant.getPool;
+import static org.mule.tools.maven.mojo.model.lifecycle.ExtensionModelLoaderPoolParticipant.release;
 import static org.mule.tools.maven.mojo.model.lifecycle.MavenLifecyclePhase.VALIDATE;
 
 import org.mule.runtime.api.meta.MuleVersion;
@@ -17,17 +20,29 @@ import org.mule.tooling.api.AstGenerator;
 import org.mule.tooling.api.AstValidatonResult;
 import org.mule.tooling.api.ConfigurationException;
 import org.mule.tooling.api.DynamicStructureException;
+import org.mule.tooling.api.ExtensionModelCache;
+import org.mule.tooling.api.ExtensionModelLoader;
+import org.mule.tooling.api.ExtensionModelLoaderFactory;
 import org.mule.tools.api.exception.ValidationException;
+import org.mule.tools.api.packager.sources.ArtifactAstInputs;
 import org.mule.tools.api.packager.sources.MuleArtifactContentResolver;
 import org.mule.tools.api.packager.sources.MuleContentGenerator;
 import org.mule.tools.api.packager.structure.FolderNames;
 import org.mule.tools.api.packager.structure.ProjectStructure;
+import org.mule.tools.maven.daemon.DaemonExtensionModelLoader;
+import org.mule.tools.maven.daemon.DaemonMavenConfiguration;
+import org.mule.tools.maven.daemon.ToolingDaemonClient;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 import org.apache.maven.model.Dependency;
 import org.apache.maven.plugin.MojoExecutionException;
@@ -36,6 +51,7 @@ import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 
 /**
@@ -49,11 +65,61 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
 
   @Component
   private PluginDescriptor descriptor;
+
+  /**
+   * Caches the extension models loaded from each plugin in the {@code .mule-extension-models} folder of the local repository,
+   * so they are not loaded again by the following builds.
+   */
+  @Parameter(defaultValue = "${extensionModelCache}")
+  protected boolean extensionModelCache = false;
+
+  /**
+   * Maximum size in megabytes of the extension model cache. The least recently used entries are evicted once it is exceeded.
+   */
+  @Parameter(defaultValue = "${extensionModelCacheMaxSize}")
+  protected long extensionModelCacheMaxSize = 512;
+
+  /**
+   * Number of plugins whose extension models are loaded at the same time.
+   */
+  @Parameter(defaultValue = "${extensionModelLoaderThreads}")
+  protected int extensionModelLoaderThreads = 1;
+
+  /**
+   * Shares the container class loader and the runtime extension models between the modules of a reactor build. They are
+   * released once the last module using this plugin is processed.
+   */
+  @Parameter(defaultValue = "${shareExtensionModelLoader}")
+  protected boolean shareExtensionModelLoader = false;
+
+  /**
+   * Skips the generation of the artifact AST when its configs, extension models and validations did not change since the
+   * previous build.
+   */
+  @Parameter(defaultValue = "${incrementalAst}")
+  protected boolean incrementalAst = false;
+
+  /**
+   * Number of component subtrees of the artifact AST validated at the same time.
+   */
+  @Parameter(defaultValue = "${astValidationThreads}")
+  protected int astValidationThreads = 1;
+
+  /**
+   * Writes the time taken by each validation of the artifact AST to {@code artifact-ast-validation-report.json} in the build
+   * directory.
+   */
+  @Parameter(defaultValue = "${astValidationReport}")
+  protected boolean astValidationReport = false;
+
+  private ArtifactAstInputs artifactAstInputs;
+
   private static final MuleVersion MIN_RUNTIME_AST_VERSION = new MuleVersion("4.4.0");
   private static final String MULE_POLICY = "mule-policy";
   private static final String MULE_DOMAIN = "mule-domain";
   private static final String SKIP_AST = "skipAST";
   private static final String SKIP_AST_VALIDATION = "skipASTValidation";
+  private static final String AST_VALIDATION_REPORT = "artifact-ast-validation-report.json";
 
   @Override
   public void doExecute() throws MojoExecutionException, MojoFailureException {
@@ -77,6 +143,9 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
           Objects.equals(methodName, e.getStackTrace()[0].getMethodName()))) {
         throw new MojoFailureException("Fail to compile", e);
       }
+    } finally {
+      // The last project of the reactor building with this plugin closes the shared loader pool
+      release(session, project, descriptor.getPluginLookupKey());
     }
     try {
       getContentGenerator().copyDescriptorFile();
@@ -103,7 +172,12 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
     }
 
     if (artifact != null) {
-      ((MuleContentGenerator) getContentGenerator()).createAstFile(serialize(artifact));
+      try (InputStream serializedArtifact = serialize(artifact)) {
+        ((MuleContentGenerator) getContentGenerator()).createAstFile(serializedArtifact);
+      }
+      if (artifactAstInputs != null) {
+        artifactAstInputs.write(getArtifactAstInputsPath());
+      }
     }
   }
 
@@ -126,19 +200,32 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
         new MuleArtifactContentResolver(new ProjectStructure(projectBaseFolder.toPath(), false),
                                         getProjectInformation().getEffectivePom(),
                                         getProjectInformation().getProject().getBundleDependencies());
-    AstGenerator astGenerator = new AstGenerator(getMavenClient(), runtimeVersion.toString(),
-                                                 project.getArtifacts(), Paths.get(project.getBuild().getDirectory()),
-                                                 descriptor.getClassRealm(), project.getDependencies(),
-                                                 contentResolver.isApplication(), getClassifier());
+    contentResolver.withConfigFileRegistry(configFileRegistry);
+    AstGenerator astGenerator = createAstGenerator(runtimeVersion.toString(), contentResolver.isApplication());
 
     ((MuleContentGenerator) getContentGenerator()).createDwlFile(astGenerator.getDwlFiles());
     ProjectStructure projectStructure = new ProjectStructure(projectBaseFolder.toPath(), false);
 
-    ArtifactAst artifactAST =
-        astGenerator.generateAST(project.getArtifactId(), contentResolver.getConfigs(), projectStructure.getConfigsPath());
-    if (artifactAST != null && !this.getClassifier().equalsIgnoreCase(MULE_PLUGIN.toString())
-        && !"true".equals(System.getProperty(SKIP_AST_VALIDATION))) {
-      AstValidatonResult validationResult = astGenerator.validateAST(artifactAST);
+    Map<String, byte[]> configContents =
+        configFileRegistry.getContents(projectStructure.getConfigsPath(), contentResolver.getConfigs());
+    boolean validateAst = !this.getClassifier().equalsIgnoreCase(MULE_PLUGIN.toString())
+        && !"true".equals(System.getProperty(SKIP_AST_VALIDATION));
+    artifactAstInputs = null;
+    if (incrementalAst) {
+      // An AST generated without validations must not be reused when they are requested
+      String validation = validateAst ? (astValidationReport ? "validated-with-report" : "validated") : "not-validated";
+      artifactAstInputs = ArtifactAstInputs.of(configContents, astGenerator.getExtensionModelsFingerprint(), validation);
+      if (isArtifactAstUpToDate(artifactAstInputs)) {
+        getLog().info("Artifact AST is up to date, skipping its generation");
+        return null;
+      }
+    }
+    ArtifactAst artifactAST = astGenerator.generateAST(project.getArtifactId(), configContents);
+    if (artifactAST != null && validateAst) {
+      AstValidatonResult validationResult =
+          astGenerator.validateAST(artifactAST, astValidationThreads,
+                                   astValidationReport ? Paths.get(project.getBuild().getDirectory())
+                                       .resolve(AST_VALIDATION_REPORT) : null);
       for (ValidationResultItem warning : validationResult.getWarnings()) {
         getLog().warn(validationResultItemToString(warning));
       }
@@ -152,6 +239,62 @@ public class ProcessClassesMojo extends AbstractMuleMojo {
     return artifactAST;
   }
 
+  private AstGenerator createAstGenerator(String runtimeVersion, boolean asApplication) {
+    Path workingDir = Paths.get(project.getBuild().getDirectory());
+    Optional<ToolingDaemonClient> toolingDaemonClient = getToolingDaemonClient();
+    if (toolingDaemonClient.isPresent()) {
+      getLog().debug("Loading extension models with the tooling daemon");
+      DaemonMavenConfiguration configuration = DaemonMavenConfiguration.of(session.getRequest(), remoteArtifactRepositories);
+      ExtensionModelLoader loader = new DaemonExtensionModelLoader(toolingDaemonClient.get(), configuration, runtimeVersion,
+                                                                   () -> ExtensionModelLoaderFactory
+                                                                       .createLoader(getMavenClient(), workingDir,
+                                                                                     AstGenerator.class.getClassLoader(),
+                                                                                     runtimeVersion,
+                                                                                     getExtensionModelCache()));
+      return astGeneratorBuilder(runtimeVersion, workingDir, asApplication).withExtensionModelLoader(loader).build();
+    }
+    return astGeneratorBuilder(runtimeVersion, workingDir, asApplication).withExtensionModelCache(getExtensionModelCache())
+        .withLoaderPool(shareExtensionModelLoader ? getPool(session, descriptor.getPluginLookupKey()) : null).build();
+  }
+
+  private AstGenerator.Builder astGeneratorBuilder(String runtimeVersion, Path workingDir, boolean asApplication) {
+    return AstGenerator.builder(getMavenClient(), runtimeVersion, project.getArtifacts(), workingDir, descriptor.getClassRealm(),
+                                project.getDependencies())
+        .withAsApplication(asApplication).withClassifier(getClassifier()).withLoaderThreads(extensionModelLoaderThreads);
+  }
+
+  private boolean isArtifactAstUpToDate(ArtifactAstInputs inputs) throws IOException {
+    Optional<ArtifactAstInputs> previousInputs = ArtifactAstInputs.read(getArtifactAstInputsPath());
+    if (!previousInputs.isPresent()
+        || !Files.isRegularFile(((MuleContentGenerator) getContentGenerator()).getArtifactAstPath())) {
+      return false;
+    }
+    if (previousInputs.get().equals(inputs)) {
+      return true;
+    }
+    List<String> changedConfigs = inputs.getChangedConfigs(previousInputs.get());
+    if (!changedConfigs.isEmpty()) {
+      getLog().debug("Configs changed since the last artifact AST: " + changedConfigs);
+    } else if (inputs.isValidationChanged(previousInputs.get())) {
+      getLog().debug("Validations changed since the last artifact AST");
+    } else {
+      getLog().debug("Extension models changed since the last artifact AST");
+    }
+    return false;
+  }
+
+  private Path getArtifactAstInputsPath() {
+    return Paths.get(project.getBuild().getDirectory()).resolve(ARTIFACT_AST_INPUTS);
+  }
+
+  private ExtensionModelCache getExtensionModelCache() {
+    if (!extensionModelCache) {
+      return null;
+    }
+    return ExtensionModelCache.inLocalRepository(new File(localRepository.getBasedir()),
+                                                 extensionModelCacheMaxSize * 1024 * 1024);
+  }
+
   private boolean hasDomain() {
     if (project.getDependencies() != null) {
       for (Dependency dependency : project.getDependencies()) {
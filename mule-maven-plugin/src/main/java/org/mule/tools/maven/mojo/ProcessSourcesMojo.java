@@ -9,8 +9,13 @@ package org.mule.tools.maven.mojo;
 import static java.lang.String.format;
 import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
 import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
+import org.mule.tools.api.repository.InstallStrategy;
 import org.mule.tools.api.util.MavenComponents;
 import org.mule.tools.api.util.SourcesProcessor;
+import org.mule.tools.maven.daemon.DaemonJarExplorer;
+
+import java.io.File;
+import java.util.Arrays;
 
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
@@ -23,6 +28,8 @@ import org.apache.maven.plugins.annotations.ResolutionScope;
     requiresDependencyResolution = ResolutionScope.RUNTIME)
 public class ProcessSourcesMojo extends AbstractMuleMojo {
 
+  private static final String DEPENDENCY_GRAPH_CACHE_FOLDER = ".mule-maven-plugin/dependency-graph";
+
   /**
    * @deprecated Should not be considered as validations for compatible plugins is already done when resolving dependencies.
    */
@@ -33,6 +40,66 @@ public class ProcessSourcesMojo extends AbstractMuleMojo {
   @Parameter(defaultValue = "${prettyPrinting}")
   protected boolean prettyPrinting = false;
 
+  /**
+   * Maximum number of dependencies explored at the same time when generating the classloader-model.json file.
+   */
+  @Parameter(defaultValue = "${jarExplorationThreads}")
+  protected int jarExplorationThreads = 1;
+
+  /**
+   * If {@code true} the packages and resources found in the dependency JAR files are not kept in an index in the local
+   * repository, so every JAR file is explored again on every build.
+   */
+  @Parameter(defaultValue = "${skipJarInfoCache}")
+  protected boolean skipJarInfoCache = false;
+
+  /**
+   * How dependencies are placed in the repository folder: copy, hardlink, reflink-if-supported or symlink-for-exploded. Every
+   * strategy falls back to copying when it cannot be applied.
+   * <p>
+   * With hardlink the dependency and pom files in the repository folder are the same files as the ones in the local repository.
+   * The plugin never writes into them, it only replaces or deletes them, so hardlink must only be used when no other build step
+   * modifies the repository folder in place. Otherwise use reflink-if-supported, which shares data blocks until modified.
+   */
+  @Parameter(defaultValue = "${repositoryInstallStrategy}")
+  protected String repositoryInstallStrategy = "copy";
+
+  /**
+   * Maximum number of dependencies installed at the same time in the repository folder.
+   */
+  @Parameter(defaultValue = "${repositoryInstallationThreads}")
+  protected int repositoryInstallationThreads = 1;
+
+  /**
+   * If {@code true} the repository folder is updated from the previous build instead of installing every dependency again.
+   */
+  @Parameter(defaultValue = "${incrementalRepository}")
+  protected boolean incrementalRepository = false;
+
+  /**
+   * If {@code true} dependencies and their pom files are not staged in the repository folder. Their location is recorded
+   * instead, so the package goal reads them directly from the local repository when building the archive. Only the generated
+   * classloader-model.json descriptors are written to the repository folder.
+   */
+  @Parameter(defaultValue = "${virtualRepository}")
+  protected boolean virtualRepository = false;
+
+  /**
+   * If {@code true} the resolved dependency graph is cached in the build directory and reused while the effective model,
+   * profiles, shared libraries, additional plugin dependencies and remote repositories do not change, and every dependency file
+   * and POM is unchanged. Graphs with SNAPSHOT dependencies or version ranges, and builds that update SNAPSHOTs, are always
+   * resolved.
+   */
+  @Parameter(defaultValue = "${dependencyGraphCache}")
+  protected boolean dependencyGraphCache = false;
+
+  /**
+   * If {@code true} the dependency graph cache is kept in the local repository instead of the build directory, so it survives
+   * clean builds. It implies {@code dependencyGraphCache}.
+   */
+  @Parameter(defaultValue = "${sharedDependencyGraphCache}")
+  protected boolean sharedDependencyGraphCache = false;
+
   @Override
   public void doExecute() throws MojoFailureException {
     getLog().debug("Processing sources...");
@@ -55,7 +122,16 @@ public class ProcessSourcesMojo extends AbstractMuleMojo {
             .withRemoteArtifactRepositories(remoteArtifactRepositories)
             .withClassifier(classifier)
             .withAdditionalPluginDependencies(additionalPluginDependencies)
-            .withProjectBaseFolder(projectBaseFolder);
+            .withProjectBaseFolder(projectBaseFolder)
+            .withJarExplorationThreads(jarExplorationThreads)
+            .withJarInfoCache(!skipJarInfoCache)
+            .withInstallStrategy(getInstallStrategy())
+            .withInstallationThreads(repositoryInstallationThreads)
+            .withIncrementalRepository(incrementalRepository)
+            .withVirtualRepository(virtualRepository)
+            .withDependencyGraphCacheDirectory(getDependencyGraphCacheDirectory());
+    getToolingDaemonClient().ifPresent(client -> mavenComponents
+        .withJarExplorerDecorator(jarExplorer -> new DaemonJarExplorer(client, jarExplorer)));
 
     SourcesProcessor sourcesProcessor = new SourcesProcessor(mavenComponents);
 
@@ -70,6 +146,22 @@ public class ProcessSourcesMojo extends AbstractMuleMojo {
     }
   }
 
+  protected File getDependencyGraphCacheDirectory() {
+    if (sharedDependencyGraphCache) {
+      return new File(localRepository.getBasedir(), DEPENDENCY_GRAPH_CACHE_FOLDER);
+    }
+    return dependencyGraphCache ? new File(outputDirectory, "dependency-graph-cache") : null;
+  }
+
+  protected InstallStrategy getInstallStrategy() throws MojoFailureException {
+    try {
+      return InstallStrategy.fromString(repositoryInstallStrategy);
+    } catch (IllegalArgumentException e) {
+      throw new MojoFailureException(format("Invalid repositoryInstallStrategy [%s], valid values are: %s",
+                                            repositoryInstallStrategy, Arrays.toString(InstallStrategy.values())));
+    }
+  }
+
   @Override
   public String getPreviousRunPlaceholder() {
     return "MULE_MAVEN_PLUGIN_PROCESS_SOURCES_PREVIOUS_RUN_PLACEHOLDER";
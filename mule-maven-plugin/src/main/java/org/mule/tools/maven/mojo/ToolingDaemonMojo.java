@@ -0,0 +1,101 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.mojo;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import org.mule.tools.api.util.MavenPackagerLog;
+import org.mule.tools.maven.daemon.ToolingDaemon;
+import org.mule.tools.maven.daemon.ToolingDaemonClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Optional;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Runs a {@link ToolingDaemon} in the foreground until it is stopped or idle, so the builds run with {@code -DuseToolingDaemon}
+ * reuse its warm extension model loaders and jar explorations. Run with {@code -DstopToolingDaemon} to stop the running daemon.
+ */
+@Mojo(name = "tooling-daemon", requiresProject = false)
+public class ToolingDaemonMojo extends AbstractMojo {
+
+  @Parameter(readonly = true, required = true, defaultValue = "${session}")
+  protected MavenSession session;
+
+  /**
+   * Minutes without requests after which the daemon stops.
+   */
+  @Parameter(defaultValue = "${toolingDaemonIdleTimeout}")
+  protected long toolingDaemonIdleTimeout = 30;
+
+  /**
+   * Maximum size in MB of the extension models and jar explorations kept in memory.
+   */
+  @Parameter(defaultValue = "${toolingDaemonCacheSize}")
+  protected long toolingDaemonCacheSize = 256;
+
+  /**
+   * Number of requests served at the same time.
+   */
+  @Parameter(defaultValue = "${toolingDaemonThreads}")
+  protected int toolingDaemonThreads = 4;
+
+  /**
+   * If {@code true} the jar explorations are only kept in memory, not in an index in the local repository.
+   */
+  @Parameter(defaultValue = "${skipJarInfoCache}")
+  protected boolean skipJarInfoCache = false;
+
+  @Parameter(defaultValue = "${stopToolingDaemon}")
+  protected boolean stopToolingDaemon = false;
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    File localRepository = session.getRequest().getLocalRepositoryPath();
+    Optional<ToolingDaemonClient> runningDaemon = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository));
+    if (stopToolingDaemon) {
+      stop(runningDaemon);
+      return;
+    }
+    if (runningDaemon.isPresent()) {
+      getLog().info("Tooling daemon already running");
+      return;
+    }
+
+    try (ToolingDaemon daemon = new ToolingDaemon(localRepository, MINUTES.toMillis(toolingDaemonIdleTimeout),
+                                                  toolingDaemonCacheSize * 1024 * 1024, toolingDaemonThreads, !skipJarInfoCache,
+                                                  new MavenPackagerLog(getLog()))) {
+      int port = daemon.start();
+      getLog().info("Tooling daemon listening on port " + port + ", it stops after " + toolingDaemonIdleTimeout
+          + " minutes without requests");
+      daemon.awaitTermination();
+    } catch (IOException e) {
+      throw new MojoExecutionException("Could not start the tooling daemon", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void stop(Optional<ToolingDaemonClient> runningDaemon) throws MojoExecutionException {
+    if (!runningDaemon.isPresent()) {
+      getLog().info("No tooling daemon running");
+      return;
+    }
+    try {
+      getLog().info("Stopping tooling daemon: " + runningDaemon.get().ping());
+      runningDaemon.get().stop();
+    } catch (IOException e) {
+      throw new MojoExecutionException("Could not stop the tooling daemon", e);
+    }
+  }
+}
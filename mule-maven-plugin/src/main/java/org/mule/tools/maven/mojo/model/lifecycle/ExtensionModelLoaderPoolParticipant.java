@@ -0,0 +1,122 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.mojo.model.lifecycle;
+
+import org.mule.tooling.api.ExtensionModelLoaderPool;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import org.apache.maven.AbstractMavenLifecycleParticipant;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Scopes an {@link ExtensionModelLoaderPool} to each build session, so the modules of a reactor share the container class
+ * loader and the runtime extension models.
+ * <p>
+ * The pool of a session is released by the last project of the reactor that builds with the plugin, see
+ * {@link #release(MavenSession, MavenProject, String)}. The end of the session, which Maven only notifies when the plugin is
+ * declared with {@code <extensions>true</extensions>}, and the exit of the JVM close the pools of builds that fail before that.
+ */
+public class ExtensionModelLoaderPoolParticipant extends AbstractMavenLifecycleParticipant {
+
+  private static final Map<MavenSession, SessionPool> POOLS = new WeakHashMap<>();
+
+  /**
+   * @param session   current build session.
+   * @param pluginKey key of the plugin sharing the pool, as in {@link org.apache.maven.model.Plugin#getKey()}.
+   * @return the pool of the session, created on first use.
+   */
+  public static ExtensionModelLoaderPool getPool(MavenSession session, String pluginKey) {
+    synchronized (POOLS) {
+      return getSessionPool(session, pluginKey).getPool();
+    }
+  }
+
+  /**
+   * Notifies that a project is done with the pool of the session, which is closed once every project of the reactor building
+   * with the plugin is. Projects that never used the pool are released too.
+   *
+   * @param session   current build session.
+   * @param project   project that is done with the pool.
+   * @param pluginKey key of the plugin sharing the pool, as in {@link org.apache.maven.model.Plugin#getKey()}.
+   */
+  public static void release(MavenSession session, MavenProject project, String pluginKey) {
+    SessionPool sessionPool;
+    synchronized (POOLS) {
+      sessionPool = getSessionPool(session, pluginKey);
+      sessionPool.pendingProjects.remove(project);
+      if (!sessionPool.pendingProjects.isEmpty()) {
+        return;
+      }
+      POOLS.remove(session);
+    }
+    sessionPool.close();
+  }
+
+  private static SessionPool getSessionPool(MavenSession session, String pluginKey) {
+    return POOLS.computeIfAbsent(session, key -> new SessionPool(getProjects(session, pluginKey)));
+  }
+
+  private static Set<MavenProject> getProjects(MavenSession session, String pluginKey) {
+    Set<MavenProject> projects = new HashSet<>();
+    if (session.getProjects() != null) {
+      session.getProjects().stream()
+          .filter(project -> project.getBuildPlugins().stream().anyMatch(plugin -> Objects.equals(plugin.getKey(), pluginKey)))
+          .forEach(projects::add);
+    }
+    return projects;
+  }
+
+  @Override
+  public void afterSessionEnd(MavenSession session) {
+    SessionPool sessionPool;
+    synchronized (POOLS) {
+      sessionPool = POOLS.remove(session);
+    }
+    if (sessionPool != null) {
+      sessionPool.close();
+    }
+  }
+
+  private static class SessionPool {
+
+    private final Set<MavenProject> pendingProjects;
+    private ExtensionModelLoaderPool pool;
+    private Thread shutdownHook;
+
+    private SessionPool(Set<MavenProject> pendingProjects) {
+      this.pendingProjects = pendingProjects;
+    }
+
+    private ExtensionModelLoaderPool getPool() {
+      if (pool == null) {
+        pool = new ExtensionModelLoaderPool();
+        shutdownHook = new Thread(pool::close, "extension-model-loader-pool-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+      }
+      return pool;
+    }
+
+    private void close() {
+      if (pool == null) {
+        return;
+      }
+      try {
+        Runtime.getRuntime().removeShutdownHook(shutdownHook);
+      } catch (IllegalStateException e) {
+        // The JVM is already exiting, so the hook closes the pool
+        return;
+      }
+      pool.close();
+    }
+  }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mule.tools.maven.daemon.DaemonProtocol.writeString;
+
+import org.mule.tools.api.util.JarInfo;
+import org.mule.tools.api.util.PackagerLog;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ToolingDaemonTest {
+
+  @TempDir
+  Path temporaryFolder;
+
+  private File localRepository;
+  private ToolingDaemon daemon;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    localRepository = temporaryFolder.resolve("repository").toFile();
+    daemon = new ToolingDaemon(localRepository, MINUTES.toMillis(1), 1024 * 1024, 2, true, mock(PackagerLog.class));
+    daemon.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    daemon.close();
+  }
+
+  @Test
+  void clientConnectsThroughStateFile() throws IOException {
+    Optional<ToolingDaemonClient> client = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository));
+
+    assertThat(client).isPresent();
+    assertThat(client.get().ping().getJarInfos()).isZero();
+  }
+
+  @Test
+  void explorationsAreKeptInMemory() throws IOException {
+    File library = temporaryFolder.resolve("library.jar").toFile();
+    try (ZipOutputStream jar = new ZipOutputStream(new FileOutputStream(library))) {
+      jar.putNextEntry(new ZipEntry("org/mule/Foo.class"));
+      jar.closeEntry();
+      jar.putNextEntry(new ZipEntry("META-INF/resource.xml"));
+      jar.closeEntry();
+    }
+    ToolingDaemonClient client = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository)).get();
+
+    JarInfo jarInfo = client.explore(library);
+    client.explore(library);
+
+    assertThat(jarInfo.getPackages()).containsExactly("org.mule");
+    assertThat(jarInfo.getResources()).contains("META-INF/resource.xml");
+    assertThat(client.ping().getJarInfos()).isEqualTo(1);
+  }
+
+  @Test
+  void requestWithWrongTokenIsRejected() throws IOException {
+    ToolingDaemonClient client = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository)).get();
+    ToolingDaemonClient intruder = new ToolingDaemonClient(client.getPort(), "wrong");
+
+    assertThatThrownBy(intruder::ping).isInstanceOf(IOException.class);
+  }
+
+  @Test
+  void requestFromOtherVersionsIsRejected() throws IOException {
+    ToolingDaemonClient client = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository)).get();
+    ToolingDaemonClient otherVersionsClient =
+        new ToolingDaemonClient(client.getPort(), readToken(), "mule-maven-plugin=0.0.1;mule-extension-model-loader=0.0.1");
+
+    assertThatThrownBy(otherVersionsClient::ping).isInstanceOf(IOException.class).hasMessageContaining("0.0.1");
+  }
+
+  @Test
+  void stoppedDaemonIsNotAvailable() throws Exception {
+    ToolingDaemonClient client = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository)).get();
+
+    client.stop();
+    daemon.awaitTermination();
+
+    assertThat(ToolingDaemon.getStateFile(localRepository)).doesNotExist();
+    assertThat(ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository))).isEmpty();
+  }
+
+  @Test
+  void daemonDoesNotStopWhileServingRequest() throws Exception {
+    File otherRepository = temporaryFolder.resolve("other").toFile();
+    ToolingDaemon idleDaemon = new ToolingDaemon(otherRepository, 1, 1024 * 1024, 1, true, mock(PackagerLog.class));
+    int port = idleDaemon.start();
+
+    try (Socket request = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      DataOutputStream output = new DataOutputStream(request.getOutputStream());
+      output.writeInt(DaemonProtocol.VERSION);
+      writeString(output, readToken(otherRepository));
+      output.flush();
+      // The command is never sent, so the daemon keeps waiting for it past several idle checks
+      Thread.sleep(2500);
+      assertThat(ToolingDaemon.getStateFile(otherRepository)).exists();
+    }
+    idleDaemon.awaitTermination();
+
+    assertThat(ToolingDaemon.getStateFile(otherRepository)).doesNotExist();
+  }
+
+  @Test
+  void unauthenticatedConnectionDoesNotKeepTheDaemonAlive() throws Exception {
+    File otherRepository = temporaryFolder.resolve("other").toFile();
+    ToolingDaemon idleDaemon = new ToolingDaemon(otherRepository, 1, 1024 * 1024, 1, true, mock(PackagerLog.class));
+    int port = idleDaemon.start();
+
+    try (Socket request = new Socket(InetAddress.getLoopbackAddress(), port)) {
+      idleDaemon.awaitTermination();
+
+      assertThat(ToolingDaemon.getStateFile(otherRepository)).doesNotExist();
+    }
+  }
+
+  @Test
+  void oversizedTokenIsRejectedBeforeReadingIt() throws IOException {
+    ToolingDaemonClient client = ToolingDaemonClient.connect(ToolingDaemon.getStateFile(localRepository)).get();
+
+    try (Socket request = new Socket(InetAddress.getLoopbackAddress(), client.getPort())) {
+      request.setSoTimeout(10000);
+      DataOutputStream output = new DataOutputStream(request.getOutputStream());
+      output.writeInt(DaemonProtocol.VERSION);
+      output.writeInt(DaemonProtocol.MAX_TOKEN_LENGTH + 1);
+      output.flush();
+
+      // The daemon drops the connection without waiting for the token
+      assertThat(request.getInputStream().read()).isEqualTo(-1);
+    }
+    assertThat(client.ping().getJarInfos()).isZero();
+  }
+
+  @Test
+  void idleDaemonStops() throws Exception {
+    File otherRepository = temporaryFolder.resolve("other").toFile();
+    ToolingDaemon idleDaemon = new ToolingDaemon(otherRepository, 1, 1024 * 1024, 1, true, mock(PackagerLog.class));
+    idleDaemon.start();
+
+    idleDaemon.awaitTermination();
+
+    assertThat(ToolingDaemonClient.connect(ToolingDaemon.getStateFile(otherRepository))).isEmpty();
+  }
+
+  private String readToken() {
+    return readToken(localRepository);
+  }
+
+  private static String readToken(File repository) {
+    return ToolingDaemonClient.readState(ToolingDaemon.getStateFile(repository)).getProperty(ToolingDaemon.TOKEN_PROPERTY);
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.daemon;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class WeightedLruCacheTest {
+
+  private final WeightedLruCache<String, String> cache = new WeightedLruCache<>(10, value -> value.length());
+
+  @Test
+  void leastRecentlyUsedValuesAreDroppedWhenFull() {
+    cache.put("first", "aaaa");
+    cache.put("second", "bbbb");
+    assertThat(cache.get("first")).isEqualTo("aaaa");
+
+    cache.put("third", "cccc");
+
+    assertThat(cache.get("first")).isEqualTo("aaaa");
+    assertThat(cache.get("second")).isNull();
+    assertThat(cache.get("third")).isEqualTo("cccc");
+    assertThat(cache.weight()).isEqualTo(8);
+  }
+
+  @Test
+  void replacedValueIsNotWeightedTwice() {
+    cache.put("first", "aaaa");
+    cache.put("first", "bbbbbb");
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.weight()).isEqualTo(6);
+  }
+
+  @Test
+  void valueHeavierThanTheCacheIsNotKept() {
+    cache.put("first", "aaaa");
+    cache.put("second", "bbbbbbbbbbbb");
+
+    assertThat(cache.get("first")).isEqualTo("aaaa");
+    assertThat(cache.get("second")).isNull();
+  }
+
+  @Test
+  void droppedValuesAreNotified() {
+    List<String> droppedValues = new ArrayList<>();
+    WeightedLruCache<String, String> notifyingCache = new WeightedLruCache<>(10, value -> value.length(), droppedValues::add);
+    notifyingCache.put("first", "aaaa");
+    notifyingCache.put("second", "bbbb");
+    notifyingCache.put("second", "cccc");
+    notifyingCache.put("third", "dddd");
+    notifyingCache.put("fourth", "eeeeeeeeeeee");
+
+    assertThat(droppedValues).containsExactly("bbbb", "aaaa", "eeeeeeeeeeee");
+
+    notifyingCache.clear();
+
+    assertThat(droppedValues).containsExactly("bbbb", "aaaa", "eeeeeeeeeeee", "cccc", "dddd");
+  }
+}
@@ -66,6 +66,7 @@ import java.util.stream.Stream;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.nullable;
 import static org.mockito.Mockito.doNothing;
@@ -276,7 +277,7 @@ class ProcessClassesMojoTest {
     setProject(packaging, withDomain);
     // THEN
     try (MockedConstruction<AstGenerator> astGenerator = mockConstruction(AstGenerator.class, (mock, context) -> {
-      when(mock.generateAST(nullable(String.class), nullable(List.class), nullable(Path.class))).thenReturn(artifactAST);
+      when(mock.generateAST(nullable(String.class), nullable(Map.class))).thenReturn(artifactAST);
     });
         MockedConstruction<MuleArtifactContentResolver> contentResolver =
             mockConstruction(MuleArtifactContentResolver.class, (mock, context) -> {
@@ -316,8 +317,8 @@ class ProcessClassesMojoTest {
     setProject(packaging, false);
     // THEN
     try (MockedConstruction<AstGenerator> astGenerator = mockConstruction(AstGenerator.class, (mock, context) -> {
-      when(mock.generateAST(nullable(String.class), nullable(List.class), nullable(Path.class))).thenReturn(artifactAST);
-      when(mock.validateAST(nullable(ArtifactAst.class))).thenReturn(validationResult);
+      when(mock.generateAST(nullable(String.class), nullable(Map.class))).thenReturn(artifactAST);
+      when(mock.validateAST(nullable(ArtifactAst.class), anyInt(), nullable(Path.class))).thenReturn(validationResult);
     });
         MockedConstruction<MuleArtifactContentResolver> contentResolver =
             mockConstruction(MuleArtifactContentResolver.class, (mock, context) -> {
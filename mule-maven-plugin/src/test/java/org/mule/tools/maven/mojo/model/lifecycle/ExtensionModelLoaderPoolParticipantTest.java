@@ -0,0 +1,100 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.maven.mojo.model.lifecycle;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static java.util.Arrays.asList;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.mule.maven.client.api.MavenClient;
+import org.mule.tooling.api.ExtensionModelLoaderPool;
+
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.Test;
+
+class ExtensionModelLoaderPoolParticipantTest {
+
+  private static final String PLUGIN_KEY = "org.mule.tools.maven:mule-maven-plugin";
+
+  private final ExtensionModelLoaderPoolParticipant participant = new ExtensionModelLoaderPoolParticipant();
+
+  @Test
+  void poolIsSharedWithinSession() {
+    MavenSession session = mock(MavenSession.class);
+
+    ExtensionModelLoaderPool pool = ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY);
+
+    assertThat(ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY)).isSameAs(pool);
+    assertThat(ExtensionModelLoaderPoolParticipant.getPool(mock(MavenSession.class), PLUGIN_KEY)).isNotSameAs(pool);
+    participant.afterSessionEnd(session);
+  }
+
+  @Test
+  void poolIsClosedWhenSessionEnds() {
+    MavenSession session = mock(MavenSession.class);
+    ExtensionModelLoaderPool pool = ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY);
+
+    participant.afterSessionEnd(session);
+
+    assertThatThrownBy(() -> pool.getLoader(mock(MavenClient.class), getClass().getClassLoader(), "4.6.0", null))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY)).isNotSameAs(pool);
+    participant.afterSessionEnd(session);
+  }
+
+  @Test
+  void poolIsClosedWhenLastProjectIsReleased() {
+    MavenSession session = mock(MavenSession.class);
+    MavenProject first = createProject("first", true);
+    MavenProject second = createProject("second", true);
+    when(session.getProjects()).thenReturn(asList(first, createProject("other", false), second));
+    ExtensionModelLoaderPool pool = ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY);
+
+    ExtensionModelLoaderPoolParticipant.release(session, first, PLUGIN_KEY);
+
+    assertThat(ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY)).isSameAs(pool);
+
+    ExtensionModelLoaderPoolParticipant.release(session, second, PLUGIN_KEY);
+
+    assertThatThrownBy(() -> pool.getLoader(mock(MavenClient.class), getClass().getClassLoader(), "4.6.0", null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void projectReleasedBeforePoolIsCreatedIsNotWaitedFor() {
+    MavenSession session = mock(MavenSession.class);
+    MavenProject first = createProject("first", true);
+    MavenProject second = createProject("second", true);
+    when(session.getProjects()).thenReturn(asList(first, second));
+
+    ExtensionModelLoaderPoolParticipant.release(session, first, PLUGIN_KEY);
+    ExtensionModelLoaderPool pool = ExtensionModelLoaderPoolParticipant.getPool(session, PLUGIN_KEY);
+    ExtensionModelLoaderPoolParticipant.release(session, second, PLUGIN_KEY);
+
+    assertThatThrownBy(() -> pool.getLoader(mock(MavenClient.class), getClass().getClassLoader(), "4.6.0", null))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  private static MavenProject createProject(String artifactId, boolean withPlugin) {
+    MavenProject project = new MavenProject();
+    project.setGroupId("org.mule.test");
+    project.setArtifactId(artifactId);
+    project.setVersion("1.0.0");
+    if (withPlugin) {
+      Plugin plugin = new Plugin();
+      plugin.setGroupId("org.mule.tools.maven");
+      plugin.setArtifactId("mule-maven-plugin");
+      project.getBuild().addPlugin(plugin);
+    }
+    return project;
+  }
+}
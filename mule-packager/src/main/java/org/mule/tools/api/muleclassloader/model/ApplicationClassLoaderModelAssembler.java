@@ -24,6 +24,7 @@ import org.mule.tools.api.muleclassloader.model.resolver.ApplicationDependencyRe
 import org.mule.tools.api.muleclassloader.model.resolver.ClassloaderModelResolver;
 import org.mule.tools.api.muleclassloader.model.resolver.MulePluginClassloaderModelResolver;
 import org.mule.tools.api.muleclassloader.model.util.ArtifactUtils;
+import org.mule.tools.api.util.FileJarExplorer;
 import org.mule.tools.api.util.JarExplorer;
 import org.mule.tools.api.util.JarInfo;
 
@@ -53,6 +54,7 @@ public class ApplicationClassLoaderModelAssembler {
     this.mulePluginClassLoaderModelResolver = new MulePluginClassloaderModelResolver(mavenClient);
     this.additionalPluginDependenciesResolver =
         new AdditionalPluginDependenciesResolver(mavenClient, emptyList(), temporaryFolder);
+    this.jarExplorer = new FileJarExplorer();
   }
 
   public ApplicationClassLoaderModelAssembler(ApplicationDependencyResolver applicationDependencyResolver,
@@ -102,7 +104,8 @@ public class ApplicationClassLoaderModelAssembler {
         applicationDependencyResolver.resolveApplicationDependencies(pomFile, includeTestDependencies, mavenReactorResolver);
 
     List<Artifact> dependencies =
-        updateArtifactsSharedState(appDependencies, updatePackagesResources(toApplicationModelArtifacts(appDependencies)),
+        updateArtifactsSharedState(appDependencies,
+                                   updatePackagesResources(toApplicationModelArtifacts(appDependencies), jarExplorer),
                                    pomModel, activeProfiles);
     appModel.setDependencies(dependencies);
 
@@ -112,7 +115,7 @@ public class ApplicationClassLoaderModelAssembler {
     applicationClassLoaderModel.addAllMulePluginClassloaderModels(pluginsClassLoaderModels);
 
     appModel.setAdditionalPluginDependencies(toPluginDependencies(additionalPluginDependenciesResolver
-        .resolveDependencies(appDependencies, pluginsClassLoaderModels)));
+        .resolveDependencies(appDependencies, pluginsClassLoaderModels), jarExplorer));
 
     return applicationClassLoaderModel;
   }
@@ -23,9 +23,19 @@ public class ApplicationDependencyResolver {
   protected static final String MULE_DOMAIN_CLASSIFIER = "mule-domain";
 
   private final MavenClient mavenClient;
+  private final DependencyGraphCache dependencyGraphCache;
 
   public ApplicationDependencyResolver(MavenClient mavenClient) {
+    this(mavenClient, null);
+  }
+
+  /**
+   * @param mavenClient          client used to resolve the dependencies.
+   * @param dependencyGraphCache cache of the resolved dependencies, or {@code null} to resolve them on every call.
+   */
+  public ApplicationDependencyResolver(MavenClient mavenClient, DependencyGraphCache dependencyGraphCache) {
     this.mavenClient = mavenClient;
+    this.dependencyGraphCache = dependencyGraphCache;
   }
 
   /**
@@ -58,6 +68,22 @@ public class ApplicationDependencyResolver {
    */
   public List<BundleDependency> resolveApplicationDependencies(File pomFile, boolean includeTestDependencies,
                                                                Optional<MavenReactorResolver> mavenReactorResolver) {
+    // Artifacts of the reactor are not covered by the fingerprint of the cache
+    if (dependencyGraphCache == null || mavenReactorResolver.isPresent()) {
+      return doResolveApplicationDependencies(pomFile, includeTestDependencies, mavenReactorResolver);
+    }
+    Optional<List<BundleDependency>> cachedDependencies = dependencyGraphCache.get(includeTestDependencies);
+    if (cachedDependencies.isPresent()) {
+      return cachedDependencies.get();
+    }
+    List<BundleDependency> resolvedApplicationDependencies =
+        doResolveApplicationDependencies(pomFile, includeTestDependencies, mavenReactorResolver);
+    dependencyGraphCache.put(includeTestDependencies, resolvedApplicationDependencies);
+    return resolvedApplicationDependencies;
+  }
+
+  private List<BundleDependency> doResolveApplicationDependencies(File pomFile, boolean includeTestDependencies,
+                                                                  Optional<MavenReactorResolver> mavenReactorResolver) {
     List<BundleDependency> resolvedApplicationDependencies =
         mavenClient
             .resolveArtifactDependencies(pomFile, includeTestDependencies, true, empty(), mavenReactorResolver, empty())
@@ -14,6 +14,7 @@ import org.mule.tools.api.util.FileJarExplorer;
 import org.mule.tools.api.util.JarExplorer;
 import org.mule.tools.api.util.JarInfo;
 
+import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -32,11 +33,16 @@ public abstract class ClassloaderModelResolver {
   private final String classifier;
   protected Map<BundleDependency, List<BundleDependency>> dependenciesMap;
 
-  private JarExplorer jarExplorer = new FileJarExplorer();
+  private final JarExplorer jarExplorer;
 
   public ClassloaderModelResolver(MavenClient mavenClient, String classifier) {
+    this(mavenClient, classifier, new FileJarExplorer());
+  }
+
+  public ClassloaderModelResolver(MavenClient mavenClient, String classifier, JarExplorer jarExplorer) {
     this.mavenClient = mavenClient;
     this.classifier = classifier;
+    this.jarExplorer = jarExplorer;
     dependenciesMap = new HashMap<>();
   }
 
@@ -50,18 +56,23 @@ public abstract class ClassloaderModelResolver {
 
     dependenciesMap = resolveDependencies(dependencies);
 
+    // plugins are explored together so the explorer may do it concurrently
+    Map<URI, JarInfo> pluginsJarInfo = jarExplorer.exploreAll(dependenciesMap.keySet().stream()
+        .map(BundleDependency::getBundleUri)
+        .collect(Collectors.toList()));
+
     // all classloader models are resolved here
     for (Map.Entry<BundleDependency, List<BundleDependency>> dependencyListEntry : dependenciesMap.entrySet()) {
       ClassLoaderModel dependencyClassloaderModel =
           new ClassLoaderModel(CLASS_LOADER_MODEL_VERSION, toArtifactCoordinates(dependencyListEntry.getKey().getDescriptor()));
 
-      JarInfo jarInfo = jarExplorer.explore(dependencyListEntry.getKey().getBundleUri());
+      JarInfo jarInfo = pluginsJarInfo.get(dependencyListEntry.getKey().getBundleUri());
       dependencyClassloaderModel.setPackages(jarInfo.getPackages().toArray(new String[jarInfo.getPackages().size()]));
       dependencyClassloaderModel.setResources(jarInfo.getResources().toArray(new String[jarInfo.getResources().size()]));
 
       List<BundleDependency> dependencyDependencies =
           resolveConflicts(dependencyListEntry.getValue(), dependencies);
-      dependencyClassloaderModel.setDependencies(updatePackagesResources(toArtifacts(dependencyDependencies)));
+      dependencyClassloaderModel.setDependencies(updatePackagesResources(toArtifacts(dependencyDependencies), jarExplorer));
       classloaderModels.add(dependencyClassloaderModel);
     }
     return classloaderModels;
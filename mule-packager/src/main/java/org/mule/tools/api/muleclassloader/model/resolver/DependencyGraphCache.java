@@ -0,0 +1,288 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.muleclassloader.model.resolver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparingLong;
+
+import org.mule.maven.pom.parser.api.model.BundleDependency;
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.reflect.Type;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.google.common.hash.Hashing;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * On-disk cache of the dependency graphs resolved for an application, so Maven resolution is not run again while the inputs of
+ * the resolution do not change.
+ * <p>
+ * Entries are keyed by a fingerprint of those inputs, such as the effective model of the project, its active profiles and remote
+ * repositories. An entry is a JSON document with the size and last modified time of every file the resolved
+ * {@link BundleDependency} graph points to and of the POM next to each of them, which define the transitive dependencies,
+ * followed by the graph itself. It is discarded as soon as one of those files is missing or changed, which is cheap enough to
+ * check on every build. The graph is mapped to JSON field by field, so unlike Java serialization, reading an entry only creates
+ * instances of the classes declared by the graph.
+ * <p>
+ * Graphs with SNAPSHOT dependencies are not stored, as a newer SNAPSHOT may be published in a remote repository without any
+ * local file changing. The least recently used entries are evicted once there are more than the maximum number of entries.
+ */
+public class DependencyGraphCache {
+
+  public static final int DEFAULT_MAX_ENTRIES = 64;
+
+  protected static final String ENTRY_EXTENSION = ".graph";
+  private static final String SNAPSHOT = "SNAPSHOT";
+  private static final String POM_EXTENSION = ".pom";
+  private static final int FORMAT_VERSION = 3;
+  private static final long FOLDER_SIZE = -1;
+  private static final String VERSION_FIELD = "version";
+  private static final String FILES_FIELD = "files";
+  private static final String DEPENDENCIES_FIELD = "dependencies";
+  private static final Gson GSON = new Gson();
+  private static final Type GRAPH_TYPE = new TypeToken<List<BundleDependency>>() {}.getType();
+
+  private final Path cacheDirectory;
+  private final String fingerprint;
+  private final int maxEntries;
+  private final AtomicInteger hits = new AtomicInteger();
+  private int entries = -1;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param cacheDirectory folder where the entries are stored. Non null.
+   * @param fingerprint    fingerprint of the inputs of the resolution. Non empty.
+   * @param maxEntries     maximum number of entries kept in the folder.
+   */
+  public DependencyGraphCache(File cacheDirectory, String fingerprint, int maxEntries) {
+    checkArgument(cacheDirectory != null, "Cache directory cannot be null");
+    checkArgument(fingerprint != null && !fingerprint.isEmpty(), "Fingerprint cannot be empty");
+    checkArgument(maxEntries > 0, "Max entries must be positive");
+    this.cacheDirectory = cacheDirectory.toPath();
+    this.fingerprint = fingerprint;
+    this.maxEntries = maxEntries;
+  }
+
+  /**
+   * @param includeTestDependencies whether the graph was resolved with the test dependencies.
+   * @return the cached graph, or empty if there is none or any of its files changed.
+   */
+  public Optional<List<BundleDependency>> get(boolean includeTestDependencies) {
+    Path entry = getEntry(includeTestDependencies);
+    if (!Files.isRegularFile(entry)) {
+      return Optional.empty();
+    }
+    try (Reader reader = Files.newBufferedReader(entry, UTF_8); JsonReader input = new JsonReader(reader)) {
+      input.beginObject();
+      if (!VERSION_FIELD.equals(input.nextName()) || input.nextInt() != FORMAT_VERSION
+          || !FILES_FIELD.equals(input.nextName()) || !isValid(input) || !DEPENDENCIES_FIELD.equals(input.nextName())) {
+        delete(entry);
+        return Optional.empty();
+      }
+      List<BundleDependency> dependencies = GSON.fromJson(input, GRAPH_TYPE);
+      if (dependencies == null) {
+        delete(entry);
+        return Optional.empty();
+      }
+      // Touch the entry so it is the last one to be evicted
+      entry.toFile().setLastModified(System.currentTimeMillis());
+      hits.incrementAndGet();
+      return Optional.of(dependencies);
+    } catch (IOException | JsonParseException | IllegalStateException e) {
+      // Entries written by other versions of the Maven client cannot be read
+      delete(entry);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Stores a resolved graph, unless it has SNAPSHOT dependencies or dependencies that are not files. Failing to store it does not
+   * fail the build, it is resolved again by the next one.
+   *
+   * @param includeTestDependencies whether the graph was resolved with the test dependencies.
+   * @param dependencies            resolved graph. Non null.
+   */
+  public void put(boolean includeTestDependencies, List<BundleDependency> dependencies) {
+    checkArgument(dependencies != null, "Dependencies cannot be null");
+    Path entry = getEntry(includeTestDependencies);
+    try {
+      Optional<Map<String, long[]>> files = getFiles(dependencies);
+      if (!files.isPresent()) {
+        delete(entry);
+        return;
+      }
+      Files.createDirectories(cacheDirectory);
+      boolean newEntry = !Files.exists(entry);
+      Path temporaryEntry = Files.createTempFile(cacheDirectory, entry.getFileName().toString(), ".tmp");
+      try {
+        try (Writer writer = Files.newBufferedWriter(temporaryEntry, UTF_8); JsonWriter output = new JsonWriter(writer)) {
+          output.beginObject();
+          output.name(VERSION_FIELD).value(FORMAT_VERSION);
+          output.name(FILES_FIELD).beginArray();
+          for (Map.Entry<String, long[]> file : files.get().entrySet()) {
+            output.beginArray().value(file.getKey()).value(file.getValue()[0]).value(file.getValue()[1]).endArray();
+          }
+          output.endArray();
+          output.name(DEPENDENCIES_FIELD);
+          GSON.toJson(new ArrayList<>(dependencies), GRAPH_TYPE, output);
+          output.endObject();
+        }
+        try {
+          Files.move(temporaryEntry, entry, ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+          Files.move(temporaryEntry, entry, REPLACE_EXISTING);
+        }
+      } finally {
+        Files.deleteIfExists(temporaryEntry);
+      }
+      if (newEntry) {
+        evictIfNeeded();
+      }
+    } catch (IOException | JsonParseException e) {
+      // Graphs that cannot be stored are resolved again by the next build
+    }
+  }
+
+  /**
+   * @return number of graphs read from the cache instead of being resolved.
+   */
+  public int getHits() {
+    return hits.get();
+  }
+
+  private Path getEntry(boolean includeTestDependencies) {
+    String key = fingerprint + (includeTestDependencies ? ":test" : ":main");
+    return cacheDirectory.resolve(Hashing.sha256().hashString(key, UTF_8) + ENTRY_EXTENSION);
+  }
+
+  private static boolean isValid(JsonReader input) throws IOException {
+    input.beginArray();
+    while (input.hasNext()) {
+      input.beginArray();
+      File file = new File(input.nextString());
+      long size = input.nextLong();
+      long lastModified = input.nextLong();
+      input.endArray();
+      boolean unchanged = size == FOLDER_SIZE ? file.isDirectory()
+          : file.isFile() && file.length() == size && file.lastModified() == lastModified;
+      if (!unchanged) {
+        return false;
+      }
+    }
+    input.endArray();
+    return true;
+  }
+
+  /**
+   * @return the size and last modified time of every file of the graph, including the POM files, or empty if the graph cannot
+   *         be cached.
+   */
+  private static Optional<Map<String, long[]>> getFiles(List<BundleDependency> dependencies) {
+    Map<String, long[]> files = new LinkedHashMap<>();
+    Set<BundleDependency> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<BundleDependency> pending = new ArrayList<>(dependencies);
+    while (!pending.isEmpty()) {
+      BundleDependency dependency = pending.remove(pending.size() - 1);
+      if (!visited.add(dependency)) {
+        continue;
+      }
+      BundleDescriptor descriptor = dependency.getDescriptor();
+      if (descriptor != null && (isSnapshot(descriptor.getVersion()) || isSnapshot(descriptor.getBaseVersion()))) {
+        return Optional.empty();
+      }
+      URI bundleUri = dependency.getBundleUri();
+      if (bundleUri != null) {
+        if (!"file".equals(bundleUri.getScheme())) {
+          return Optional.empty();
+        }
+        File file = new File(bundleUri);
+        if (file.isDirectory()) {
+          files.put(file.getAbsolutePath(), new long[] {FOLDER_SIZE, 0});
+        } else {
+          addFile(files, file);
+          if (descriptor != null) {
+            // The POM defining the transitive dependencies is installed next to the artifact in the local repository
+            addFile(files, new File(file.getParentFile(),
+                                    descriptor.getArtifactId() + "-" + descriptor.getVersion() + POM_EXTENSION));
+          }
+        }
+      }
+      if (dependency.getTransitiveDependencies() != null) {
+        pending.addAll(dependency.getTransitiveDependencies());
+      }
+    }
+    return Optional.of(files);
+  }
+
+  private static void addFile(Map<String, long[]> files, File file) {
+    if (file.isFile()) {
+      files.put(file.getAbsolutePath(), new long[] {file.length(), file.lastModified()});
+    }
+  }
+
+  private static boolean isSnapshot(String version) {
+    return version != null && version.contains(SNAPSHOT);
+  }
+
+  /**
+   * Counts the entries once and keeps the count in memory, so the folder is only listed again when it has more entries than
+   * allowed.
+   */
+  private synchronized void evictIfNeeded() {
+    if (entries >= 0 && ++entries <= maxEntries) {
+      return;
+    }
+    File[] entryFiles = cacheDirectory.toFile().listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+    if (entryFiles == null) {
+      return;
+    }
+    entries = entryFiles.length;
+    if (entries <= maxEntries) {
+      return;
+    }
+    Arrays.sort(entryFiles, comparingLong(File::lastModified));
+    for (int i = 0; i < entryFiles.length - maxEntries; i++) {
+      if (entryFiles[i].delete()) {
+        entries--;
+      }
+    }
+  }
+
+  private static void delete(Path entry) {
+    try {
+      Files.deleteIfExists(entry);
+    } catch (IOException ignored) {
+      // A stale entry that cannot be deleted fails its validation again and is replaced by the next put
+    }
+  }
+}
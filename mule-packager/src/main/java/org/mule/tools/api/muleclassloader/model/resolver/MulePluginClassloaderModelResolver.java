@@ -11,6 +11,7 @@ import static org.mule.maven.client.internal.MuleMavenClient.MULE_PLUGIN_CLASSIF
 import static org.mule.tools.api.validation.VersionUtils.getMajor;
 
 import org.mule.maven.client.api.MavenClient;
+import org.mule.tools.api.util.JarExplorer;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -29,6 +30,10 @@ public class MulePluginClassloaderModelResolver extends ClassloaderModelResolver
     super(mavenClient, MULE_PLUGIN_CLASSIFIER);
   }
 
+  public MulePluginClassloaderModelResolver(MavenClient mavenClient, JarExplorer jarExplorer) {
+    super(mavenClient, MULE_PLUGIN_CLASSIFIER, jarExplorer);
+  }
+
   @Override
   protected List<BundleDependency> resolveConflicts(List<BundleDependency> newDependencies,
                                                     List<BundleDependency> alreadyResolved) {
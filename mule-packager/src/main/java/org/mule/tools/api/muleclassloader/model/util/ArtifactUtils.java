@@ -28,12 +28,14 @@ import org.mule.tools.api.classloader.model.ApplicationGAVModel;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ArtifactCoordinates;
 import org.mule.tools.api.util.FileJarExplorer;
+import org.mule.tools.api.util.JarExplorer;
 import org.mule.tools.api.util.JarInfo;
 
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.apache.commons.lang3.StringUtils;
@@ -139,20 +141,42 @@ public class ArtifactUtils {
   }
 
   public static List<Artifact> updatePackagesResources(List<Artifact> artifacts) {
-    return artifacts.stream().map(artifact -> updatePackagesResources(artifact)).collect(toList());
+    return updatePackagesResources(artifacts, new FileJarExplorer());
+  }
+
+  public static List<Artifact> updatePackagesResources(List<Artifact> artifacts, JarExplorer jarExplorer) {
+    // All libraries are explored together so the explorer may do it concurrently
+    Map<URI, JarInfo> jarInfos = jarExplorer.exploreAll(artifacts.stream()
+        .filter(ArtifactUtils::hasPackagesResources)
+        .map(Artifact::getUri)
+        .collect(toList()));
+    artifacts.stream()
+        .filter(ArtifactUtils::hasPackagesResources)
+        .forEach(artifact -> setPackagesResources(artifact, jarInfos.get(artifact.getUri())));
+    return artifacts;
   }
 
   public static Artifact updatePackagesResources(Artifact artifact) {
-    if (MULE_PLUGIN.equals(artifact.getArtifactCoordinates().getClassifier())
-        || artifact.getUri() == null
-        // mule-domain are set with a "" URI
-        || isBlank(artifact.getUri().getPath())) {
-      return artifact;
+    return updatePackagesResources(artifact, new FileJarExplorer());
+  }
+
+  public static Artifact updatePackagesResources(Artifact artifact, JarExplorer jarExplorer) {
+    if (hasPackagesResources(artifact)) {
+      setPackagesResources(artifact, jarExplorer.explore(artifact.getUri()));
     }
-    JarInfo jarInfo = new FileJarExplorer().explore(artifact.getUri());
+    return artifact;
+  }
+
+  private static boolean hasPackagesResources(Artifact artifact) {
+    return !MULE_PLUGIN.equals(artifact.getArtifactCoordinates().getClassifier())
+        && artifact.getUri() != null
+        // mule-domain are set with a "" URI
+        && !isBlank(artifact.getUri().getPath());
+  }
+
+  private static void setPackagesResources(Artifact artifact, JarInfo jarInfo) {
     artifact.setPackages(jarInfo.getPackages().toArray(new String[jarInfo.getPackages().size()]));
     artifact.setResources(jarInfo.getResources().toArray(new String[jarInfo.getResources().size()]));
-    return artifact;
   }
 
   public static List<Artifact> updateArtifactsSharedState(List<BundleDependency> appDependencies, List<Artifact> artifacts,
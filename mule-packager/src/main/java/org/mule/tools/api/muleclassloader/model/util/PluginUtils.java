@@ -12,6 +12,8 @@ import static org.mule.tools.api.muleclassloader.model.util.ArtifactUtils.update
 
 import org.mule.maven.pom.parser.api.model.BundleDependency;
 import org.mule.tools.api.classloader.model.Plugin;
+import org.mule.tools.api.util.FileJarExplorer;
+import org.mule.tools.api.util.JarExplorer;
 
 import java.util.List;
 import java.util.Map;
@@ -24,6 +26,11 @@ import java.util.Map;
 public class PluginUtils {
 
   public static List<Plugin> toPluginDependencies(Map<BundleDependency, List<BundleDependency>> pluginsAndDependencies) {
+    return toPluginDependencies(pluginsAndDependencies, new FileJarExplorer());
+  }
+
+  public static List<Plugin> toPluginDependencies(Map<BundleDependency, List<BundleDependency>> pluginsAndDependencies,
+                                                  JarExplorer jarExplorer) {
     return pluginsAndDependencies.entrySet().stream().map(
                                                           (pluginEntry) -> {
                                                             Plugin plugin = new Plugin();
@@ -32,7 +39,7 @@ public class PluginUtils {
                                                             plugin.setGroupId(pluginEntry.getKey().getDescriptor().getGroupId());
                                                             plugin.setAdditionalDependencies(
                                                                                              updatePackagesResources(toApplicationModelArtifacts(pluginEntry
-                                                                                                 .getValue())));
+                                                                                                 .getValue()), jarExplorer));
                                                             return plugin;
                                                           })
         .collect(toList());
@@ -6,6 +6,7 @@
  */
 package org.mule.tools.api.packager.archiver;
 
+import static com.google.common.base.Preconditions.checkState;
 import static org.mule.tools.api.packager.structure.FolderNames.MAVEN;
 import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
 
@@ -67,6 +68,39 @@ public class AbstractArchiver {
     archiver.createArchive();
   }
 
+  /**
+   * Defines which entries are stored without compression.
+   *
+   * @param compressionPolicy the compression policy
+   * @throws IllegalStateException if the underlying archiver does not support compression policies
+   */
+  public void setCompressionPolicy(CompressionPolicy compressionPolicy) {
+    if (archiver instanceof ParallelZipArchiver) {
+      ((ParallelZipArchiver) archiver).setCompressionPolicy(compressionPolicy);
+    } else {
+      checkState(archiver instanceof CompressionPolicyZipArchiver, "The archiver does not support compression policies");
+      ((CompressionPolicyZipArchiver) archiver).setCompressionPolicy(compressionPolicy);
+    }
+  }
+
+  /**
+   * Defines an archive created by a previous run whose unchanged entries can be copied instead of compressed again.
+   *
+   * @param previousArchive the previous archive
+   * @throws IllegalStateException if the underlying archiver does not support incremental archiving
+   */
+  public void setPreviousArchive(File previousArchive) {
+    checkState(supportsIncrementalArchiving(), "The archiver does not support incremental archiving");
+    ((ParallelZipArchiver) archiver).setPreviousArchive(previousArchive);
+  }
+
+  /**
+   * @return whether unchanged entries can be copied from an archive created by a previous run.
+   */
+  public boolean supportsIncrementalArchiving() {
+    return archiver instanceof ParallelZipArchiver;
+  }
+
   protected void addResource(String resourceLocation, File resource, String[] includes, String[] excludes) {
     if (resource.isFile()) {
       archiver.addFile(resource, resourceLocation + resource.getName());
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.archiver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableSet;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Decides, based on the file extension of each entry, whether it is stored as is or deflated in the archive.
+ * <p>
+ * Nested archives and media files are already compressed, so deflating them again costs CPU for almost no size gain.
+ */
+public class CompressionPolicy {
+
+  public static final Set<String> DEFAULT_STORED_EXTENSIONS =
+      unmodifiableSet(new TreeSet<>(asList("jar", "zip", "war", "ear", "gz", "tgz", "bz2", "xz", "7z",
+                                           "png", "jpg", "jpeg", "gif", "ico", "webp", "mp3", "mp4", "woff", "woff2")));
+
+  private static final CompressionPolicy DEFAULT = new CompressionPolicy(DEFAULT_STORED_EXTENSIONS);
+
+  private static final CompressionPolicy DEFLATE_ALL = new CompressionPolicy(new TreeSet<>());
+
+  private final Set<String> storedExtensions;
+
+  /**
+   * @param storedExtensions extensions, without the leading dot, of the entries that are stored without compression. Non null.
+   */
+  public CompressionPolicy(Collection<String> storedExtensions) {
+    checkArgument(storedExtensions != null, "Stored extensions cannot be null");
+    Set<String> extensions = new TreeSet<>();
+    for (String extension : storedExtensions) {
+      String normalizedExtension = extension.trim().toLowerCase(Locale.ROOT);
+      extensions.add(normalizedExtension.startsWith(".") ? normalizedExtension.substring(1) : normalizedExtension);
+    }
+    this.storedExtensions = unmodifiableSet(extensions);
+  }
+
+  /**
+   * @return the policy that stores the {@link #DEFAULT_STORED_EXTENSIONS} and deflates everything else.
+   */
+  public static CompressionPolicy defaultPolicy() {
+    return DEFAULT;
+  }
+
+  /**
+   * @return the policy that deflates every entry.
+   */
+  public static CompressionPolicy deflateAll() {
+    return DEFLATE_ALL;
+  }
+
+  /**
+   * @param entryName path of the entry inside the archive.
+   * @return whether the entry has to be stored without compression.
+   */
+  public boolean isStored(String entryName) {
+    int extensionIndex = entryName.lastIndexOf('.');
+    if (extensionIndex < 0 || extensionIndex < Math.max(entryName.lastIndexOf('/'), entryName.lastIndexOf('\\'))) {
+      return false;
+    }
+    return storedExtensions.contains(entryName.substring(extensionIndex + 1).toLowerCase(Locale.ROOT));
+  }
+
+  public Set<String> getStoredExtensions() {
+    return storedExtensions;
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.archiver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.IOException;
+
+import org.codehaus.plexus.archiver.ArchiveEntry;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.zip.ConcurrentJarCreator;
+import org.codehaus.plexus.archiver.zip.ZipArchiver;
+
+/**
+ * Plexus zip archiver that decides the compression method of every file entry through a {@link CompressionPolicy}.
+ */
+public class CompressionPolicyZipArchiver extends ZipArchiver {
+
+  private CompressionPolicy compressionPolicy = CompressionPolicy.deflateAll();
+
+  public void setCompressionPolicy(CompressionPolicy compressionPolicy) {
+    checkArgument(compressionPolicy != null, "Compression policy cannot be null");
+    this.compressionPolicy = compressionPolicy;
+  }
+
+  public CompressionPolicy getCompressionPolicy() {
+    return compressionPolicy;
+  }
+
+  @Override
+  protected void zipFile(ArchiveEntry entry, ConcurrentJarCreator zOut, String vPath) throws IOException, ArchiverException {
+    // The compression method is taken from the compress flag when the zip entry is created, so it is switched per entry
+    boolean compress = isCompress();
+    setCompress(compress && !compressionPolicy.isStored(vPath));
+    try {
+      super.zipFile(entry, zOut, vPath);
+    } finally {
+      setCompress(compress);
+    }
+  }
+}
@@ -14,7 +14,6 @@ import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
 import java.io.File;
 
 import org.codehaus.plexus.archiver.ArchiverException;
-import org.codehaus.plexus.archiver.zip.ZipArchiver;
 
 /**
  * Defines and creates the basic structure of Mule archive.
@@ -30,7 +29,16 @@ public class MuleArchiver extends AbstractArchiver {
   public static final String REPOSITORY_LOCATION = REPOSITORY.value() + File.separator;
 
   public MuleArchiver() {
-    this(new ZipArchiver());
+    this(new CompressionPolicyZipArchiver());
+  }
+
+  /**
+   * Creates an archiver backed by a {@link ParallelZipArchiver}, which also supports incremental archiving.
+   *
+   * @param compressionThreads number of threads used to compress the archive entries.
+   */
+  public MuleArchiver(int compressionThreads) {
+    this(new ParallelZipArchiver(compressionThreads));
   }
 
   protected MuleArchiver(org.codehaus.plexus.archiver.AbstractArchiver archiver) {
@@ -48,4 +56,18 @@ public class MuleArchiver extends AbstractArchiver {
   public void addRepository(File resource, String[] includes, String[] excludes) throws ArchiverException {
     addResource(REPOSITORY_LOCATION, resource, includes, excludes);
   }
+
+  /**
+   * Adds a single repository entry read from a file that is not staged in the repository folder.
+   *
+   * @param source file or exploded folder the entry content is read from.
+   * @param entry  path of the entry relative to the repository location.
+   */
+  public void addRepositoryEntry(File source, String entry) throws ArchiverException {
+    if (source.isFile()) {
+      getArchiver().addFile(source, REPOSITORY_LOCATION + entry);
+    } else {
+      addResource(REPOSITORY_LOCATION + entry + File.separator, source, null, null);
+    }
+  }
 }
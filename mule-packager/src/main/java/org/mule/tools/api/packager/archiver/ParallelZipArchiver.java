@@ -0,0 +1,368 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.archiver;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.zip.Deflater.DEFAULT_COMPRESSION;
+import static java.util.zip.ZipEntry.DEFLATED;
+import static java.util.zip.ZipEntry.STORED;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+import org.apache.commons.compress.archivers.zip.StreamCompressor;
+import org.apache.commons.compress.archivers.zip.UnixStat;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.archivers.zip.ZipUtil;
+import org.apache.commons.compress.parallel.FileBasedScatterGatherBackingStore;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+import org.codehaus.plexus.archiver.AbstractArchiver;
+import org.codehaus.plexus.archiver.ArchiveEntry;
+import org.codehaus.plexus.archiver.ArchiverException;
+import org.codehaus.plexus.archiver.ResourceIterator;
+
+/**
+ * Zip archiver that deflates entries on several threads, in the spirit of commons-compress {@code ParallelScatterZipCreator}.
+ * <p>
+ * Each entry is compressed on its own into a scatter store, kept in memory or in a temporary file depending on its size, and the
+ * compressed entries are gathered into the archive in the order the resources were added. Entry order, timestamps and
+ * permissions are the same regardless of the number of threads, so the archive is reproducible.
+ * <p>
+ * When an archive from a previous run is provided, unchanged entries are copied raw from it instead of being compressed again.
+ */
+public class ParallelZipArchiver extends AbstractArchiver {
+
+  private static final String ARCHIVE_TYPE = "zip";
+  private static final long IN_MEMORY_THRESHOLD = 1024 * 1024;
+  private static final int PENDING_ENTRIES_PER_THREAD = 4;
+  private static final int BUFFER_SIZE = 64 * 1024;
+
+  private final int threads;
+  private CompressionPolicy compressionPolicy = CompressionPolicy.deflateAll();
+  private File previousArchive;
+  private ZipFile previousZipFile;
+  private final AtomicInteger reusedEntries = new AtomicInteger();
+  private ZipArchiveOutputStream zipOutputStream;
+
+  /**
+   * @param threads number of threads used to compress entries. Must be greater than zero.
+   */
+  public ParallelZipArchiver(int threads) {
+    checkArgument(threads > 0, "The number of compression threads must be greater than zero");
+    this.threads = threads;
+  }
+
+  public int getThreads() {
+    return threads;
+  }
+
+  public void setCompressionPolicy(CompressionPolicy compressionPolicy) {
+    checkArgument(compressionPolicy != null, "Compression policy cannot be null");
+    this.compressionPolicy = compressionPolicy;
+  }
+
+  public CompressionPolicy getCompressionPolicy() {
+    return compressionPolicy;
+  }
+
+  /**
+   * Defines an archive created by a previous run. Entries whose size, timestamp, CRC and compression method did not change are
+   * copied from it as they are, without compressing them again.
+   *
+   * @param previousArchive the previous archive, or {@code null} to compress every entry.
+   */
+  public void setPreviousArchive(File previousArchive) {
+    this.previousArchive = previousArchive;
+  }
+
+  /**
+   * @return number of entries copied from the previous archive by the last run.
+   */
+  public int getReusedEntries() {
+    return reusedEntries.get();
+  }
+
+  @Override
+  protected void execute() throws ArchiverException, IOException {
+    File destFile = getDestFile();
+    if (destFile.getParentFile() != null) {
+      destFile.getParentFile().mkdirs();
+    }
+    zipOutputStream = new ZipArchiveOutputStream(destFile);
+    zipOutputStream.setEncoding("UTF-8");
+    reusedEntries.set(0);
+    previousZipFile = openPreviousArchive();
+
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    Deque<Future<CompressedEntry>> pendingEntries = new ArrayDeque<>();
+    try {
+      Set<String> addedDirectories = new HashSet<>();
+      ResourceIterator resources = getResources();
+      while (resources.hasNext()) {
+        ArchiveEntry entry = resources.next();
+        String name = entry.getName().replace(File.separatorChar, '/');
+        if (entry.getType() == ArchiveEntry.DIRECTORY) {
+          name = name.endsWith("/") ? name : name + "/";
+          addParentDirectories(name, entry, addedDirectories, pendingEntries);
+          if (!name.equals("/") && addedDirectories.add(name)) {
+            pendingEntries.add(CompletableFuture.completedFuture(directoryEntry(name, entry.getResource().getLastModified(),
+                                                                                entry.getMode())));
+          }
+        } else {
+          addParentDirectories(name, entry, addedDirectories, pendingEntries);
+          String fileName = name;
+          ZipArchiveEntry previousEntry = previousZipFile != null ? previousZipFile.getEntry(name) : null;
+          pendingEntries.add(executor.submit(() -> compress(fileName, entry, previousEntry)));
+        }
+        while (pendingEntries.size() >= threads * PENDING_ENTRIES_PER_THREAD) {
+          writeEntry(pendingEntries.poll());
+        }
+      }
+      while (!pendingEntries.isEmpty()) {
+        writeEntry(pendingEntries.poll());
+      }
+    } finally {
+      discard(pendingEntries);
+      executor.shutdownNow();
+    }
+  }
+
+  /**
+   * Adds the entries of the parent folders that have not been added yet, the same way the plexus zip archiver does.
+   */
+  private void addParentDirectories(String name, ArchiveEntry entry, Set<String> addedDirectories,
+                                    Deque<Future<CompressedEntry>> pendingEntries) {
+    int separator = name.lastIndexOf('/', name.endsWith("/") ? name.length() - 2 : name.length() - 1);
+    if (separator <= 0) {
+      return;
+    }
+    String parent = name.substring(0, separator + 1);
+    if (!addedDirectories.contains(parent)) {
+      addParentDirectories(parent, entry, addedDirectories, pendingEntries);
+      addedDirectories.add(parent);
+      pendingEntries.add(CompletableFuture.completedFuture(directoryEntry(parent, entry.getResource().getLastModified(),
+                                                                          entry.getDefaultDirMode())));
+    }
+  }
+
+  private CompressedEntry directoryEntry(String name, long lastModified, int mode) {
+    ZipArchiveEntry zipEntry = new ZipArchiveEntry(name);
+    zipEntry.setMethod(STORED);
+    zipEntry.setSize(0);
+    zipEntry.setCompressedSize(0);
+    zipEntry.setCrc(0);
+    zipEntry.setTime(getEntryTime(lastModified));
+    zipEntry.setUnixMode(UnixStat.DIR_FLAG | mode);
+    return new CompressedEntry(zipEntry);
+  }
+
+  private ZipFile openPreviousArchive() {
+    if (previousArchive == null || !previousArchive.isFile()) {
+      return null;
+    }
+    try {
+      return new ZipFile(previousArchive);
+    } catch (IOException e) {
+      getLogger().warn("Previous archive " + previousArchive + " cannot be read, every entry is compressed again", e);
+      return null;
+    }
+  }
+
+  private CompressedEntry compress(String name, ArchiveEntry entry, ZipArchiveEntry previousEntry) throws IOException {
+    int method = compressionPolicy.isStored(name) ? STORED : DEFLATED;
+    long entryTime = getEntryTime(entry.getResource().getLastModified());
+    if (isUnchanged(entry, method, entryTime, previousEntry)) {
+      ZipArchiveEntry zipEntry = new ZipArchiveEntry(name);
+      zipEntry.setMethod(method);
+      zipEntry.setCrc(previousEntry.getCrc());
+      zipEntry.setSize(previousEntry.getSize());
+      zipEntry.setCompressedSize(previousEntry.getCompressedSize());
+      zipEntry.setTime(entryTime);
+      zipEntry.setUnixMode(UnixStat.FILE_FLAG | entry.getMode());
+      return new CompressedEntry(zipEntry, previousEntry);
+    }
+
+    ScatterGatherBackingStore store = entry.getResource().getSize() > IN_MEMORY_THRESHOLD
+        ? new FileBasedScatterGatherBackingStore(File.createTempFile("mule-archiver", ".tmp"))
+        : new InMemoryBackingStore();
+    try (StreamCompressor compressor = StreamCompressor.create(DEFAULT_COMPRESSION, store);
+        InputStream input = entry.getInputStream()) {
+      compressor.deflate(input, method);
+      store.closeForWriting();
+
+      ZipArchiveEntry zipEntry = new ZipArchiveEntry(name);
+      zipEntry.setMethod(method);
+      zipEntry.setCrc(compressor.getCrc32());
+      zipEntry.setSize(compressor.getBytesRead());
+      zipEntry.setCompressedSize(compressor.getBytesWrittenForLastEntry());
+      zipEntry.setTime(entryTime);
+      zipEntry.setUnixMode(UnixStat.FILE_FLAG | entry.getMode());
+      return new CompressedEntry(zipEntry, store);
+    } catch (IOException | RuntimeException e) {
+      store.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Size, timestamp and method are taken from the central directory of the previous archive. Only when they match the content is
+   * read to compare its CRC, which is much cheaper than compressing it.
+   */
+  private boolean isUnchanged(ArchiveEntry entry, int method, long entryTime, ZipArchiveEntry previousEntry) throws IOException {
+    if (previousEntry == null || previousEntry.getMethod() != method || previousEntry.getSize() != entry.getResource().getSize()
+        || !Arrays.equals(ZipUtil.toDosTime(previousEntry.getTime()), ZipUtil.toDosTime(entryTime))) {
+      return false;
+    }
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[BUFFER_SIZE];
+    try (InputStream input = entry.getInputStream()) {
+      int read;
+      while ((read = input.read(buffer)) != -1) {
+        crc.update(buffer, 0, read);
+      }
+    }
+    return crc.getValue() == previousEntry.getCrc();
+  }
+
+  private long getEntryTime(long lastModified) {
+    long time = getLastModifiedTime() != null ? getLastModifiedTime().toMillis() : lastModified;
+    // Same rounding as the plexus zip archiver, which accounts for the two seconds precision of DOS timestamps
+    return time + 1999;
+  }
+
+  private void writeEntry(Future<CompressedEntry> pendingEntry) throws IOException {
+    CompressedEntry compressedEntry = getCompressedEntry(pendingEntry);
+    if (compressedEntry.previousEntry != null) {
+      try (InputStream content = previousZipFile.getRawInputStream(compressedEntry.previousEntry)) {
+        zipOutputStream.addRawArchiveEntry(compressedEntry.zipEntry, content);
+      }
+      reusedEntries.incrementAndGet();
+      return;
+    }
+    if (compressedEntry.store == null) {
+      zipOutputStream.putArchiveEntry(compressedEntry.zipEntry);
+      zipOutputStream.closeArchiveEntry();
+      return;
+    }
+    try (InputStream content = compressedEntry.store.getInputStream()) {
+      zipOutputStream.addRawArchiveEntry(compressedEntry.zipEntry, content);
+    } finally {
+      compressedEntry.store.close();
+    }
+  }
+
+  private CompressedEntry getCompressedEntry(Future<CompressedEntry> pendingEntry) throws IOException {
+    try {
+      return pendingEntry.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ArchiverException("Interrupted while compressing the archive entries", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new ArchiverException("Error compressing an archive entry: " + e.getCause().getMessage(), e.getCause());
+    }
+  }
+
+  private void discard(Deque<Future<CompressedEntry>> pendingEntries) {
+    for (Future<CompressedEntry> pendingEntry : pendingEntries) {
+      if (!pendingEntry.cancel(true)) {
+        try {
+          CompressedEntry compressedEntry = pendingEntry.get();
+          if (compressedEntry.store != null) {
+            compressedEntry.store.close();
+          }
+        } catch (Exception e) {
+          // Nothing to release for an entry that could not be compressed
+        }
+      }
+    }
+    pendingEntries.clear();
+  }
+
+  @Override
+  protected String getArchiveType() {
+    return ARCHIVE_TYPE;
+  }
+
+  @Override
+  protected void close() throws IOException {
+    try {
+      if (zipOutputStream != null) {
+        zipOutputStream.close();
+      }
+    } finally {
+      zipOutputStream = null;
+      if (previousZipFile != null) {
+        ZipFile.closeQuietly(previousZipFile);
+        previousZipFile = null;
+      }
+    }
+  }
+
+  private static class CompressedEntry {
+
+    private final ZipArchiveEntry zipEntry;
+    private final ScatterGatherBackingStore store;
+    private final ZipArchiveEntry previousEntry;
+
+    private CompressedEntry(ZipArchiveEntry zipEntry) {
+      this(zipEntry, (ScatterGatherBackingStore) null);
+    }
+
+    private CompressedEntry(ZipArchiveEntry zipEntry, ScatterGatherBackingStore store) {
+      this.zipEntry = zipEntry;
+      this.store = store;
+      this.previousEntry = null;
+    }
+
+    private CompressedEntry(ZipArchiveEntry zipEntry, ZipArchiveEntry previousEntry) {
+      this.zipEntry = zipEntry;
+      this.store = null;
+      this.previousEntry = previousEntry;
+    }
+  }
+
+  private static class InMemoryBackingStore implements ScatterGatherBackingStore {
+
+    private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+
+    @Override
+    public InputStream getInputStream() {
+      return new ByteArrayInputStream(content.toByteArray());
+    }
+
+    @Override
+    public void writeOut(byte[] data, int offset, int length) {
+      content.write(data, offset, length);
+    }
+
+    @Override
+    public void closeForWriting() {}
+
+    @Override
+    public void close() {}
+  }
+}
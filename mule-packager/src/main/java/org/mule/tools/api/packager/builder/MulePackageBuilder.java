@@ -8,6 +8,8 @@ package org.mule.tools.api.packager.builder;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.mule.tools.api.packager.structure.FolderNames.CLASSES;
 import static org.mule.tools.api.packager.structure.FolderNames.MAVEN;
 import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
@@ -20,15 +22,18 @@ import static org.mule.tools.api.packager.structure.FolderNames.TEST_MULE;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import org.codehaus.plexus.archiver.ArchiverException;
 
 import org.mule.tools.api.packager.archiver.MuleArchiver;
 import org.mule.tools.api.packager.packaging.PackagingOptions;
 import org.mule.tools.api.packager.structure.FolderNames;
+import org.mule.tools.api.repository.VirtualRepository;
 
 /**
  * Builder for Mule Application packages.
@@ -36,6 +41,8 @@ import org.mule.tools.api.packager.structure.FolderNames;
 public class MulePackageBuilder implements PackageBuilder {
 
   public static final String CLASSLOADER_MODEL_JSON = "classloader-model.json";
+  private static final String PREVIOUS_PACKAGE_SUFFIX = ".previous";
+
   private PackagingOptions packagingOptions;
 
   private File classesFolder = null;
@@ -43,6 +50,7 @@ public class MulePackageBuilder implements PackageBuilder {
   private File testMule = null;
 
   private File repositoryFolder = null;
+  private VirtualRepository virtualRepository = null;
 
   // All this is META-INF
   private File mavenFolder = null;
@@ -102,6 +110,16 @@ public class MulePackageBuilder implements PackageBuilder {
     return this;
   }
 
+  /**
+   * @param virtualRepository repository entries that are not staged in the repository folder and have to be read from their
+   *                          source file when archiving.
+   */
+  public MulePackageBuilder withVirtualRepository(VirtualRepository virtualRepository) {
+    checkArgument(virtualRepository != null, "The virtual repository must not be null");
+    this.virtualRepository = virtualRepository;
+    return this;
+  }
+
   public MulePackageBuilder withRootResource(File resource) {
     checkArgument(resource != null, "The resource must not be null");
     checkArgument(resource.exists(), "The resource must exists");
@@ -182,6 +200,11 @@ public class MulePackageBuilder implements PackageBuilder {
         .withRepository(originFolderPath.resolve(REPOSITORY.value()).toFile())
         .withMuleSrc(metaInfPath.resolve(MULE_SRC.value()).toFile());
 
+    File virtualRepositoryEntries = originFolderPath.resolve(VirtualRepository.ENTRIES_FILE_NAME).toFile();
+    if (virtualRepositoryEntries.isFile()) {
+      this.withVirtualRepository(VirtualRepository.load(repositoryFolder, virtualRepositoryEntries));
+    }
+
     this.createArchive(destinationPath);
   }
 
@@ -200,39 +223,78 @@ public class MulePackageBuilder implements PackageBuilder {
    */
   private void createArchive(Path destinationPath) throws IOException {
     checkArgument(destinationPath != null, "The destination path must not be null");
-    checkArgument(!destinationPath.toFile().exists(), "The destination file must not be duplicated");
+    boolean reusePreviousPackage =
+        packagingOptions != null && packagingOptions.isIncrementalPackage() && destinationPath.toFile().isFile();
+    checkArgument(reusePreviousPackage || !destinationPath.toFile().exists(), "The destination file must not be duplicated");
 
     validateState(packagingOptions);
 
     MuleArchiver archiver = getArchiver();
-    if (!packagingOptions.isOnlyMuleSources()) {
-      archiver.addToRoot(classesFolder, null, null);
-      archiver.addMaven(mavenFolder, null, null);
-
-      if (packagingOptions.isLightweightPackage() && !packagingOptions.isUseLocalRepository()) {
-        archiver.addMuleArtifact(muleArtifactFolder, null, new String[] {CLASSLOADER_MODEL_JSON});
+    File previousPackage = reusePreviousPackage ? preservePreviousPackage(archiver, destinationPath) : null;
+    try {
+      if (!packagingOptions.isOnlyMuleSources()) {
+        archiver.addToRoot(classesFolder, null, null);
+        archiver.addMaven(mavenFolder, null, null);
+
+        if (packagingOptions.isLightweightPackage() && !packagingOptions.isUseLocalRepository()) {
+          archiver.addMuleArtifact(muleArtifactFolder, null, new String[] {CLASSLOADER_MODEL_JSON});
+        } else {
+          archiver.addMuleArtifact(muleArtifactFolder, null, null);
+        }
+
+        if (packagingOptions.isTestPackage()) {
+          archiver.addToRoot(testClassesFolder, null, null);
+          archiver.addToRoot(testMule, null, null);
+        }
+
+        if (!packagingOptions.isLightweightPackage()) {
+          archiver.addRepository(repositoryFolder, null, null);
+          if (virtualRepository != null) {
+            addVirtualRepository(archiver);
+          }
+        }
+
+        if (packagingOptions.isAttachMuleSources()) {
+          archiver.addMuleSrc(muleSrcFolder, null, null);
+        }
       } else {
-        archiver.addMuleArtifact(muleArtifactFolder, null, null);
+        archiver.addMuleSrc(muleSrcFolder, null, null);
       }
 
-      if (packagingOptions.isTestPackage()) {
-        archiver.addToRoot(testClassesFolder, null, null);
-        archiver.addToRoot(testMule, null, null);
+      archiver.setDestFile(destinationPath.toFile());
+      archiver.createArchive();
+    } finally {
+      if (previousPackage != null) {
+        Files.deleteIfExists(previousPackage.toPath());
       }
+    }
+  }
 
-      if (!packagingOptions.isLightweightPackage()) {
-        archiver.addRepository(repositoryFolder, null, null);
-      }
+  /**
+   * Moves the package left by a previous run aside, so its unchanged entries are copied into the new one.
+   *
+   * @return the moved package, or {@code null} if the archiver cannot reuse it and it was deleted.
+   */
+  private File preservePreviousPackage(MuleArchiver archiver, Path destinationPath) throws IOException {
+    if (!archiver.supportsIncrementalArchiving()) {
+      Files.delete(destinationPath);
+      return null;
+    }
+    Path previousPackage = destinationPath.resolveSibling(destinationPath.getFileName() + PREVIOUS_PACKAGE_SUFFIX);
+    Files.move(destinationPath, previousPackage, REPLACE_EXISTING);
+    archiver.setPreviousArchive(previousPackage.toFile());
+    return previousPackage.toFile();
+  }
 
-      if (packagingOptions.isAttachMuleSources()) {
-        archiver.addMuleSrc(muleSrcFolder, null, null);
+  private void addVirtualRepository(MuleArchiver archiver) throws IOException {
+    for (Map.Entry<String, String> entry : virtualRepository.getEntries().entrySet()) {
+      File source = new File(entry.getValue());
+      if (!source.exists()) {
+        throw new IOException(format("The source [%s] of the repository entry [%s] no longer exists, generate the repository again",
+                                     source, entry.getKey()));
       }
-    } else {
-      archiver.addMuleSrc(muleSrcFolder, null, null);
+      archiver.addRepositoryEntry(source, entry.getKey());
     }
-
-    archiver.setDestFile(destinationPath.toFile());
-    archiver.createArchive();
   }
 
   /**
@@ -277,7 +339,17 @@ public class MulePackageBuilder implements PackageBuilder {
 
   protected MuleArchiver getArchiver() {
     if (archiver == null) {
-      archiver = new MuleArchiver();
+      if (packagingOptions != null) {
+        int compressionThreads = packagingOptions.getCompressionThreads();
+        if (packagingOptions.isIncrementalPackage()) {
+          // Unchanged entries are detected by the compression threads, so fewer threads also slow down copying them
+          compressionThreads = Math.max(compressionThreads, Runtime.getRuntime().availableProcessors());
+        }
+        archiver = new MuleArchiver(compressionThreads);
+        archiver.setCompressionPolicy(packagingOptions.getCompressionPolicy());
+      } else {
+        archiver = new MuleArchiver();
+      }
     }
     return archiver;
   }
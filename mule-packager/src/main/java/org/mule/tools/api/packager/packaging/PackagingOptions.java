@@ -9,6 +9,10 @@
  */
 package org.mule.tools.api.packager.packaging;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import org.mule.tools.api.packager.archiver.CompressionPolicy;
+
 public class PackagingOptions {
 
   private final boolean onlyMuleSources;
@@ -17,6 +21,9 @@ public class PackagingOptions {
   private final boolean testPackage;
 
   private boolean useLocalRepository;
+  private int compressionThreads = Runtime.getRuntime().availableProcessors();
+  private CompressionPolicy compressionPolicy = CompressionPolicy.defaultPolicy();
+  private boolean incrementalPackage = false;
 
   @Deprecated
   public PackagingOptions(boolean onlyMuleSources, boolean lightweightPackage, boolean attachMuleSources, boolean testPackage) {
@@ -51,4 +58,45 @@ public class PackagingOptions {
   public boolean isTestPackage() {
     return testPackage;
   }
+
+  /**
+   * @param compressionThreads number of threads used to compress the package entries, the available processors by default. Must
+   *                           be greater than zero.
+   */
+  public PackagingOptions withCompressionThreads(int compressionThreads) {
+    checkArgument(compressionThreads > 0, "The number of compression threads must be greater than zero");
+    this.compressionThreads = compressionThreads;
+    return this;
+  }
+
+  public int getCompressionThreads() {
+    return compressionThreads;
+  }
+
+  /**
+   * @param compressionPolicy policy that decides which package entries are stored without compression.
+   */
+  public PackagingOptions withCompressionPolicy(CompressionPolicy compressionPolicy) {
+    checkArgument(compressionPolicy != null, "The compression policy must not be null");
+    this.compressionPolicy = compressionPolicy;
+    return this;
+  }
+
+  public CompressionPolicy getCompressionPolicy() {
+    return compressionPolicy;
+  }
+
+  /**
+   * @param incrementalPackage whether a package left by a previous run is reused, copying its unchanged entries instead of
+   *                           compressing them again. An incremental package uses at least as many compression threads as
+   *                           available processors.
+   */
+  public PackagingOptions withIncrementalPackage(boolean incrementalPackage) {
+    this.incrementalPackage = incrementalPackage;
+    return this;
+  }
+
+  public boolean isIncrementalPackage() {
+    return incrementalPackage;
+  }
 }
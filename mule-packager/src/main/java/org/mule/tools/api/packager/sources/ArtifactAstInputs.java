@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.sources;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Inputs of an artifact AST: the hash of the content of each configuration file, in parsing order, the fingerprint of the
+ * extension models used to parse them and the validations applied to the AST.
+ * <p>
+ * The inputs of the last generated artifact AST are kept in the build directory, so the AST is only generated again when any
+ * of them changed.
+ */
+public class ArtifactAstInputs {
+
+  public static final String ARTIFACT_AST_INPUTS = "artifact-ast.inputs";
+
+  private final String extensionModelsFingerprint;
+  private final String validation;
+  private final Map<String, String> configHashes;
+
+  private ArtifactAstInputs(String extensionModelsFingerprint, String validation, Map<String, String> configHashes) {
+    this.extensionModelsFingerprint = extensionModelsFingerprint;
+    this.validation = validation;
+    this.configHashes = configHashes;
+  }
+
+  /**
+   * @param configContents             content of each configuration file by its relative path, in parsing order.
+   * @param extensionModelsFingerprint fingerprint of the extension models used to parse the configuration files.
+   * @param validation                 description of the validations applied to the AST, so an AST generated without them is
+   *                                   not reused when they are requested. It cannot contain spaces.
+   * @return the inputs of the artifact AST.
+   */
+  public static ArtifactAstInputs of(Map<String, byte[]> configContents, String extensionModelsFingerprint,
+                                     String validation) {
+    checkArgument(configContents != null, "Config contents should not be null");
+    checkArgument(extensionModelsFingerprint != null, "Extension models fingerprint should not be null");
+    checkArgument(validation != null && validation.indexOf(' ') < 0, "Validation should not be null nor contain spaces");
+    Map<String, String> configHashes = new LinkedHashMap<>();
+    configContents.forEach((config, content) -> configHashes.put(config, hash(content)));
+    return new ArtifactAstInputs(extensionModelsFingerprint, validation, configHashes);
+  }
+
+  /**
+   * @param file file written by {@link #write(Path)}.
+   * @return the inputs kept in the file, or empty if the file does not exist.
+   * @throws IOException if the file cannot be read.
+   */
+  public static Optional<ArtifactAstInputs> read(Path file) throws IOException {
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(file, UTF_8);
+    } catch (NoSuchFileException e) {
+      return Optional.empty();
+    }
+    if (lines.isEmpty()) {
+      return Optional.empty();
+    }
+    Map<String, String> configHashes = new LinkedHashMap<>();
+    for (String line : lines.subList(1, lines.size())) {
+      int separatorIndex = line.indexOf(' ');
+      if (separatorIndex < 0) {
+        return Optional.empty();
+      }
+      configHashes.put(line.substring(separatorIndex + 1), line.substring(0, separatorIndex));
+    }
+    int separatorIndex = lines.get(0).indexOf(' ');
+    if (separatorIndex < 0) {
+      return Optional.empty();
+    }
+    return Optional.of(new ArtifactAstInputs(lines.get(0).substring(0, separatorIndex),
+                                             lines.get(0).substring(separatorIndex + 1), configHashes));
+  }
+
+  /**
+   * Keeps the inputs in the file, with the extension models fingerprint and the validations in the first line followed by a line
+   * with the hash and the path of each configuration file.
+   *
+   * @param file destination file.
+   * @throws IOException if the file cannot be written.
+   */
+  public void write(Path file) throws IOException {
+    List<String> lines = new ArrayList<>();
+    lines.add(extensionModelsFingerprint + " " + validation);
+    configHashes.forEach((config, hash) -> lines.add(hash + " " + config));
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    Files.write(file, lines, UTF_8);
+  }
+
+  /**
+   * @param previous inputs of the previous artifact AST.
+   * @return whether the validations applied to the AST changed since the previous inputs.
+   */
+  public boolean isValidationChanged(ArtifactAstInputs previous) {
+    return !validation.equals(previous.validation);
+  }
+
+  /**
+   * @param previous inputs of the previous artifact AST.
+   * @return the configuration files that were added or whose content changed since the previous inputs.
+   */
+  public List<String> getChangedConfigs(ArtifactAstInputs previous) {
+    return configHashes.keySet().stream()
+        .filter(config -> !configHashes.get(config).equals(previous.configHashes.get(config)))
+        .collect(toList());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    ArtifactAstInputs that = (ArtifactAstInputs) o;
+    // The parsing order is part of the inputs
+    return extensionModelsFingerprint.equals(that.extensionModelsFingerprint) && validation.equals(that.validation)
+        && new ArrayList<>(configHashes.entrySet()).equals(new ArrayList<>(that.configHashes.entrySet()));
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(extensionModelsFingerprint, validation, configHashes);
+  }
+
+  private static String hash(byte[] content) {
+    try {
+      StringBuilder hash = new StringBuilder();
+      for (byte b : MessageDigest.getInstance("SHA-256").digest(content)) {
+        hash.append(String.format("%02x", b));
+      }
+      return hash.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
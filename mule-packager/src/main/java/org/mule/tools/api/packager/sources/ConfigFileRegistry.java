@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.sources;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the content of the configuration files read during a build, so the content resolvers and the artifact AST generation
+ * read each file from disk only once.
+ * <p>
+ * A file is read again if its size or last modified time changed since it was kept.
+ */
+public class ConfigFileRegistry {
+
+  private final Map<Path, ConfigFile> configFiles = new ConcurrentHashMap<>();
+
+  /**
+   * @param path configuration file.
+   * @return the content of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  public byte[] getContent(Path path) throws IOException {
+    checkArgument(path != null, "Path should not be null");
+    Path key = path.toAbsolutePath().normalize();
+    BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+    ConfigFile configFile = configFiles.get(key);
+    if (configFile == null || !configFile.isUpToDate(attributes)) {
+      configFile = new ConfigFile(attributes, Files.readAllBytes(key));
+      configFiles.put(key, configFile);
+    }
+    return configFile.content;
+  }
+
+  /**
+   * @param path configuration file.
+   * @return a new stream over the content of the file.
+   * @throws IOException if the file cannot be read.
+   */
+  public InputStream openStream(Path path) throws IOException {
+    return new ByteArrayInputStream(getContent(path));
+  }
+
+  /**
+   * @param configsPath folder of the configuration files.
+   * @param configs     paths of the configuration files, relative to the configs folder.
+   * @return the content of each configuration file by its relative path, keeping the order of the configs.
+   * @throws IOException if any of the files cannot be read.
+   */
+  public Map<String, byte[]> getContents(Path configsPath, List<String> configs) throws IOException {
+    Map<String, byte[]> contents = new LinkedHashMap<>();
+    for (String config : configs) {
+      contents.put(config, getContent(configsPath.resolve(config)));
+    }
+    return contents;
+  }
+
+  /**
+   * Discards the content of all the files.
+   */
+  public void clear() {
+    configFiles.clear();
+  }
+
+  private static class ConfigFile {
+
+    private final long size;
+    private final long lastModified;
+    private final byte[] content;
+
+    private ConfigFile(BasicFileAttributes attributes, byte[] content) {
+      this.size = attributes.size();
+      this.lastModified = attributes.lastModifiedTime().toMillis();
+      this.content = content;
+    }
+
+    private boolean isUpToDate(BasicFileAttributes attributes) {
+      return size == attributes.size() && lastModified == attributes.lastModifiedTime().toMillis();
+    }
+  }
+}
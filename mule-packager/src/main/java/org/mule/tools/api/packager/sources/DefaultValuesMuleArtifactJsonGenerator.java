@@ -111,7 +111,7 @@ public class DefaultValuesMuleArtifactJsonGenerator extends AbstractDefaultValue
     Set<Path> configs = getConfigs(originalMuleArtifact, muleArtifactContentResolver).stream()
         .map(config -> muleArtifactContentResolver.getProjectStructure().getConfigsPath().resolve(config))
         .collect(toSet());
-    return configs.stream().map(this::toDocument).anyMatch(this::containsEENamespace);
+    return configs.stream().map(config -> toDocument(config, muleArtifactContentResolver)).anyMatch(this::containsEENamespace);
   }
 
   private boolean containsEENamespace(org.w3c.dom.Document doc) {
@@ -135,10 +135,10 @@ public class DefaultValuesMuleArtifactJsonGenerator extends AbstractDefaultValue
     return false;
   }
 
-  private org.w3c.dom.Document toDocument(Path filePath) {
+  private org.w3c.dom.Document toDocument(Path filePath, MuleArtifactContentResolver muleArtifactContentResolver) {
     javax.xml.parsers.DocumentBuilderFactory factory = XmlFactoryUtils.createSecureDocumentBuilderFactory();
-    try {
-      return factory.newDocumentBuilder().parse(filePath.toFile());
+    try (InputStream inputStream = muleArtifactContentResolver.openConfig(filePath)) {
+      return factory.newDocumentBuilder().parse(inputStream, filePath.toUri().toString());
     } catch (SAXException | IOException | ParserConfigurationException e) {
       return null;
     }
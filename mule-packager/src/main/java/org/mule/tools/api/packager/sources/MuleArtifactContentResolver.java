@@ -9,7 +9,8 @@ package org.mule.tools.api.packager.sources;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.nio.file.Paths.get;
 import static java.util.stream.Collectors.toList;
-import static java.util.stream.Collectors.toMap;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+import static org.apache.commons.lang3.StringUtils.isEmpty;
 
 import org.mule.maven.pom.parser.api.model.BundleDependency;
 import org.mule.tools.api.packager.Pom;
@@ -18,6 +19,8 @@ import org.mule.tools.api.util.XmlFactoryUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -25,10 +28,11 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.function.Function;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.IOFileFilter;
@@ -37,14 +41,15 @@ import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.apache.commons.lang3.StringUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
-import org.xml.sax.SAXException;
 
 /**
  * Resolves the content of resources defined in mule-artifact.json based on the project base folder.
  */
 public class MuleArtifactContentResolver {
 
-  private static final DocumentBuilderFactory DOCUMENT_BUILDER_FACTORY = XmlFactoryUtils.createSecureDocumentBuilderFactory();
+  private static final XMLInputFactory XML_INPUT_FACTORY = XmlFactoryUtils.createSecureXMLInputFactory();
+  private static final String MULE_ROOT_ELEMENT = "mule";
+  private static final String MULE_DOMAIN_ROOT_ELEMENT = "domain:mule-domain";
   private static final String CONFIG_FILE_EXTENSION = ".xml";
   public static final String CLASS_PATH_SEPARATOR = "/";
 
@@ -58,6 +63,8 @@ public class MuleArtifactContentResolver {
   private Boolean isApplication;
   private final Pom pom;
   private final List<BundleDependency> bundleDependencies;
+  private final Map<Path, String> rootElementNames = new ConcurrentHashMap<>();
+  private ConfigFileRegistry configFileRegistry;
 
   public MuleArtifactContentResolver(ProjectStructure projectStructure, Pom pom, List<BundleDependency> bundleDependencies) {
     checkArgument(projectStructure != null, "Project structure should not be null");
@@ -67,6 +74,16 @@ public class MuleArtifactContentResolver {
     this.bundleDependencies = bundleDependencies;
   }
 
+  /**
+   * Reads the configuration files through the given registry, so their content is shared with other consumers of the build.
+   *
+   * @param configFileRegistry registry of the build.
+   */
+  public MuleArtifactContentResolver withConfigFileRegistry(ConfigFileRegistry configFileRegistry) {
+    this.configFileRegistry = configFileRegistry;
+    return this;
+  }
+
   /**
    * Returns the resolved list of exported packages paths.
    */
@@ -128,16 +145,63 @@ public class MuleArtifactContentResolver {
 
   public boolean isApplication() throws IOException {
     if (isApplication == null) {
-      isApplication = getResourcesWithDocument(projectStructure.getConfigsPath(), getConfigs()).entrySet().stream()
-          .noneMatch(entry -> hasMuleDomainAsRootElement(entry.getValue()));
+      Path configsPath = projectStructure.getConfigsPath();
+      isApplication = getConfigs().stream()
+          .noneMatch(config -> MULE_DOMAIN_ROOT_ELEMENT.equals(getRootElementName(configsPath.resolve(config))));
     }
     return isApplication;
   }
 
   protected boolean hasMuleAsRootElement(Path path) {
-    try {
-      return hasMuleAsRootElement(DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().parse(path.toFile()));
-    } catch (IOException | ParserConfigurationException | SAXException e) {
+    return isMuleConfig(path);
+  }
+
+  private boolean isMuleConfig(Path path) {
+    String rootElementName = getRootElementName(path);
+    return MULE_ROOT_ELEMENT.equals(rootElementName) || MULE_DOMAIN_ROOT_ELEMENT.equals(rootElementName);
+  }
+
+  /**
+   * Reads the qualified name of the root element of a XML file. The whole file is streamed, so a malformed file fails as it did
+   * when it was parsed into a document, but no document is built. The name is kept, so the file is not read again by this
+   * resolver.
+   *
+   * @param path XML file
+   * @return the name of the root element
+   */
+  protected String getRootElementName(Path path) {
+    return rootElementNames.computeIfAbsent(path, this::readRootElementName);
+  }
+
+  /**
+   * Opens a configuration file, through the {@link ConfigFileRegistry} when this resolver has one.
+   *
+   * @param path configuration file
+   * @return a new stream over the content of the file
+   */
+  public InputStream openConfig(Path path) throws IOException {
+    return configFileRegistry != null ? configFileRegistry.openStream(path) : Files.newInputStream(path);
+  }
+
+  private String readRootElementName(Path path) {
+    try (InputStream inputStream = openConfig(path)) {
+      XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(inputStream);
+      try {
+        String rootElementName = null;
+        while (reader.hasNext()) {
+          if (reader.next() == START_ELEMENT && rootElementName == null) {
+            String prefix = reader.getPrefix();
+            rootElementName = isEmpty(prefix) ? reader.getLocalName() : prefix + ":" + reader.getLocalName();
+          }
+        }
+        if (rootElementName == null) {
+          throw new XMLStreamException("No root element found in " + path);
+        }
+        return rootElementName;
+      } finally {
+        reader.close();
+      }
+    } catch (IOException | XMLStreamException e) {
       throw new RuntimeException(e);
     }
   }
@@ -147,11 +211,11 @@ public class MuleArtifactContentResolver {
   }
 
   protected boolean hasMuleAppAsRootElement(Document doc) {
-    return hasTagNameAsRootElement(doc, "mule");
+    return hasTagNameAsRootElement(doc, MULE_ROOT_ELEMENT);
   }
 
   protected boolean hasMuleDomainAsRootElement(Document doc) {
-    return hasTagNameAsRootElement(doc, "domain:mule-domain");
+    return hasTagNameAsRootElement(doc, MULE_DOMAIN_ROOT_ELEMENT);
   }
 
   protected boolean hasTagNameAsRootElement(Document doc, String tagName) {
@@ -164,11 +228,9 @@ public class MuleArtifactContentResolver {
 
   private List<String> getMuleResources(Path path) {
     try {
-      return getResourcesWithDocument(path, getResources(path, new SuffixFileFilter(CONFIG_FILE_EXTENSION)))
-          .entrySet()
+      return getResources(path, new SuffixFileFilter(CONFIG_FILE_EXTENSION))
           .stream()
-          .filter(entry -> hasMuleAsRootElement(entry.getValue()))
-          .map(Map.Entry::getKey)
+          .filter(resource -> isMuleConfig(path.resolve(resource)))
           .collect(toList());
     } catch (Exception exception) {
       throw new RuntimeException(exception);
@@ -191,17 +253,6 @@ public class MuleArtifactContentResolver {
     return getResources(resourcesFolderPath, TrueFileFilter.INSTANCE);
   }
 
-  private Map<String, Document> getResourcesWithDocument(Path path, Collection<String> resources) {
-    return resources.stream()
-        .collect(toMap(Function.identity(), resource -> {
-          try {
-            return DOCUMENT_BUILDER_FACTORY.newDocumentBuilder().parse(path.resolve(resource).toFile());
-          } catch (Exception exception) {
-            throw new RuntimeException(exception);
-          }
-        }));
-  }
-
   /**
    * Returns a list of resources within a given path.
    *
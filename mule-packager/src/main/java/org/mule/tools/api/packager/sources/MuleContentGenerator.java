@@ -6,7 +6,10 @@
  */
 package org.mule.tools.api.packager.sources;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.Boolean.FALSE;
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.deserialize;
 import static org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer.serializeToFile;
 import static org.mule.tools.api.packager.packaging.Classifier.MULE_POLICY;
@@ -23,17 +26,21 @@ import org.mule.tools.api.packager.ProjectInformation;
 import org.mule.tools.api.packager.packaging.PackagingType;
 import org.mule.tools.api.packager.structure.ProjectStructure;
 import org.mule.tools.api.util.CopyFileVisitor;
+import org.mule.tools.api.util.PackagerLog;
+import org.mule.tools.api.util.ParallelTreeCopier;
 import org.mule.tools.api.util.exclude.MuleExclusionMatcher;
 
 import java.io.*;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import org.apache.maven.model.Parent;
 
 
@@ -42,12 +49,57 @@ import org.apache.maven.model.Parent;
  */
 public class MuleContentGenerator extends ContentGenerator {
 
+  private static final int AST_BUFFER_SIZE = 64 * 1024;
+
   private MuleArtifactContentResolver muleArtifactContentResolver;
 
+  private int copyThreads = 1;
+
+  private boolean syncCopy = false;
+
+  private PackagerLog log;
+
+  private ConfigFileRegistry configFileRegistry;
+
   public MuleContentGenerator(ProjectInformation projectInformation, Parent parent) {
     super(projectInformation, parent);
   }
 
+  /**
+   * @param copyThreads number of threads used to copy the source and test folders. With a single thread they are copied
+   *                    sequentially.
+   */
+  public MuleContentGenerator withCopyThreads(int copyThreads) {
+    checkArgument(copyThreads > 0, "The number of copy threads must be greater than zero");
+    this.copyThreads = copyThreads;
+    return this;
+  }
+
+  /**
+   * @param syncCopy if {@code true} files that did not change since the previous build are not copied again, and files that are
+   *                 no longer part of the origin are deleted from the destinations that are not shared with other content.
+   */
+  public MuleContentGenerator withSyncCopy(boolean syncCopy) {
+    this.syncCopy = syncCopy;
+    return this;
+  }
+
+  /**
+   * @param log logger used to report the files copied, skipped and deleted when copying in sync mode.
+   */
+  public MuleContentGenerator withLog(PackagerLog log) {
+    this.log = log;
+    return this;
+  }
+
+  /**
+   * @param configFileRegistry registry through which the content resolvers read the configuration files.
+   */
+  public MuleContentGenerator withConfigFileRegistry(ConfigFileRegistry configFileRegistry) {
+    this.configFileRegistry = configFileRegistry;
+    return this;
+  }
+
   /**
    * It creates all the package content in the required folders
    *
@@ -72,11 +124,34 @@ public class MuleContentGenerator extends ContentGenerator {
     copyContent(originPath, destinationPath, Optional.empty(), true, false);
   }
 
+  /**
+   * Streams the serialized artifact AST to its file in the build directory, without holding it in memory. The file is left
+   * untouched when it already has the same content, so it is not considered modified by the following phases.
+   *
+   * @param inputStream serialized artifact AST.
+   * @throws IOException if the file cannot be written.
+   */
   public void createAstFile(InputStream inputStream) throws IOException {
-    File targetFile = projectInformation.getBuildDirectory().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value())
-        .resolve(ARTIFACT_AST).toFile();
+    Path targetFile = getArtifactAstPath();
+    Files.createDirectories(targetFile.getParent());
+    Path temporaryFile = Files.createTempFile(targetFile.getParent(), targetFile.getFileName().toString(), ".tmp");
+    try {
+      try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporaryFile), AST_BUFFER_SIZE)) {
+        IOUtils.copy(inputStream, output, AST_BUFFER_SIZE);
+      }
+      if (!Files.isRegularFile(targetFile) || !FileUtils.contentEquals(temporaryFile.toFile(), targetFile.toFile())) {
+        Files.move(temporaryFile, targetFile, REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryFile);
+    }
+  }
 
-    FileUtils.copyInputStreamToFile(inputStream, targetFile);
+  /**
+   * @return the path of the artifact AST in the build directory.
+   */
+  public Path getArtifactAstPath() {
+    return projectInformation.getBuildDirectory().resolve(META_INF.value()).resolve(MULE_ARTIFACT.value()).resolve(ARTIFACT_AST);
   }
 
   public void createDwlFile(Set<String> dwlFiles) throws IOException {
@@ -120,7 +195,7 @@ public class MuleContentGenerator extends ContentGenerator {
     List<Path> exclusions = new ArrayList<>();
     exclusions.add(projectInformation.getBuildDirectory());
 
-    copyContent(originPath, destinationPath, Optional.of(exclusions), true, true, true, true);
+    copyContent(originPath, destinationPath, Optional.of(exclusions), true, true, true, true, true);
   }
 
   /**
@@ -170,11 +245,18 @@ public class MuleContentGenerator extends ContentGenerator {
   private void copyContent(Path originPath, Path destinationPath, Optional<List<Path>> exclusions, Boolean validateOrigin,
                            Boolean validateDestination)
       throws IOException {
-    copyContent(originPath, destinationPath, exclusions, validateOrigin, validateDestination, FALSE, FALSE);
+    // Destinations such as the classes folder are shared with other content, so files that are not part of the origin are kept
+    copyContent(originPath, destinationPath, exclusions, validateOrigin, validateDestination, FALSE, FALSE, false);
   }
 
+  /**
+   * In sync copy mode, files that did not change since the previous build are not copied again.
+   *
+   * @param deleteOrphans whether files that are no longer part of the origin are deleted from the destination in sync copy mode.
+   */
   private void copyContent(Path originPath, Path destinationPath, Optional<List<Path>> exclusions, Boolean validateOrigin,
-                           Boolean validateDestination, Boolean ignoreHiddenFiles, Boolean ignoreHiddenFolders)
+                           Boolean validateDestination, Boolean ignoreHiddenFiles, Boolean ignoreHiddenFolders,
+                           boolean deleteOrphans)
       throws IOException {
     if (validateOrigin) {
       checkPathExist(originPath);
@@ -188,8 +270,14 @@ public class MuleContentGenerator extends ContentGenerator {
         new CopyFileVisitor(originPath.toFile(), destinationPath.toFile(), ignoreHiddenFiles, ignoreHiddenFolders,
                             new MuleExclusionMatcher(projectInformation.getProjectBaseFolder()));
     exclusions.ifPresent(e -> visitor.setExclusions(e));
+    visitor.setSync(syncCopy, deleteOrphans);
 
-    Files.walkFileTree(originPath, visitor);
+    new ParallelTreeCopier(visitor, copyThreads).copy(originPath);
+    if (syncCopy && log != null) {
+      log.info(format("Synchronized <%s>: %d files copied, %d unchanged files skipped, %d files deleted",
+                      destinationPath, visitor.getCopiedFiles(), visitor.getSkippedFiles(),
+                      visitor.getDeletedFiles()));
+    }
   }
 
   /**
@@ -244,6 +332,7 @@ public class MuleContentGenerator extends ContentGenerator {
       muleArtifactContentResolver =
           new MulePolicyArtifactContentResolver(getProjectStructure(), projectInformation.getEffectivePom(),
                                                 projectInformation.getProject().getBundleDependencies());
+      muleArtifactContentResolver.withConfigFileRegistry(configFileRegistry);
     }
     return muleArtifactContentResolver;
   }
@@ -252,6 +341,7 @@ public class MuleContentGenerator extends ContentGenerator {
     if (muleArtifactContentResolver == null) {
       muleArtifactContentResolver = new MuleArtifactContentResolver(getProjectStructure(), projectInformation.getEffectivePom(),
                                                                     projectInformation.getProject().getBundleDependencies());
+      muleArtifactContentResolver.withConfigFileRegistry(configFileRegistry);
     }
     return muleArtifactContentResolver;
   }
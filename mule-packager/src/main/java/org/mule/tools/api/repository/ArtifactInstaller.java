@@ -8,8 +8,14 @@ package org.mule.tools.api.repository;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 import static org.apache.commons.io.FileUtils.copyFile;
+import static org.apache.commons.io.FileUtils.sizeOfDirectory;
+import static org.mule.tools.api.classloader.Constants.CLASSLOADER_MODEL_FILE_NAME;
 import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
+import org.mule.tools.api.classloader.ClassLoaderModelJsonSerializer;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ClassLoaderModel;
 import org.mule.tools.api.packager.sources.MuleContentGenerator;
@@ -17,16 +23,65 @@ import org.mule.tools.api.util.PackagerLog;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Pattern;
 
+import com.google.common.hash.Hashing;
+
 public class ArtifactInstaller {
 
   private static final String POM_FILE_NAME = "pom.xml";
+  private static final String SHA1_EXTENSION = ".sha1";
+  private static final long REFLINK_TIMEOUT_SECONDS = 60;
+  private static final String NULL_DEVICE = "/dev/null";
+  private static final String TEMPORARY_EXTENSION = ".tmp";
   private PackagerLog log;
+  private final InstallStrategy installStrategy;
+  private final VirtualRepository virtualRepository;
+  private final AtomicLong avoidedCopyBytes = new AtomicLong();
 
   public ArtifactInstaller(PackagerLog log) {
+    this(log, InstallStrategy.COPY);
+  }
+
+  /**
+   * @param log             logger used to report the installed artifacts.
+   * @param installStrategy how dependency files are placed in the repository folder. Non null.
+   */
+  public ArtifactInstaller(PackagerLog log, InstallStrategy installStrategy) {
+    this(log, installStrategy, null);
+  }
+
+  /**
+   * @param log               logger used to report the installed artifacts.
+   * @param installStrategy   how dependency files are placed in the repository folder. Non null.
+   * @param virtualRepository if not {@code null}, dependency files and the pom files installed next to them are recorded in it
+   *                          instead of being placed in the repository folder, and the {@link InstallStrategy} is not used.
+   *                          Generated classloader-model.json descriptors are still written to the repository folder.
+   */
+  public ArtifactInstaller(PackagerLog log, InstallStrategy installStrategy, VirtualRepository virtualRepository) {
+    checkArgument(installStrategy != null, "Install strategy cannot be null");
     this.log = log;
+    this.installStrategy = installStrategy;
+    this.virtualRepository = virtualRepository;
+  }
+
+  public InstallStrategy getInstallStrategy() {
+    return installStrategy;
+  }
+
+  /**
+   * @return number of bytes that were linked or cloned instead of copied into the repository folder.
+   */
+  public long getAvoidedCopyBytes() {
+    return avoidedCopyBytes.get();
   }
 
   @Deprecated
@@ -66,7 +121,107 @@ public class ArtifactInstaller {
                          .replaceFirst(Pattern.quote(repositoryFile.getAbsolutePath()),
                                        "")));
 
-    copyFile(new File(artifact.getUri()), destinationArtifactFile);
+    installFile(new File(artifact.getUri()), destinationArtifactFile);
+  }
+
+  /**
+   * Places the source file in the destination according to the {@link InstallStrategy}, copying it when the strategy cannot be
+   * applied. When a {@link VirtualRepository} is used, the file is only recorded in it.
+   * <p>
+   * Artifacts installed concurrently may share a destination, such as the pom file of artifacts that only differ in their
+   * classifier, so the file is placed in a temporary file first and then moved to the destination. Moving replaces a previously
+   * installed file instead of writing into it, so a file hard linked to the local repository is never modified.
+   */
+  protected void installFile(File source, File destination) throws IOException {
+    if (virtualRepository != null) {
+      virtualRepository.put(source, destination);
+      avoidedCopyBytes.addAndGet(source.isDirectory() ? sizeOfDirectory(source) : source.length());
+      return;
+    }
+    Path temporaryDestination =
+        Files.createTempFile(destination.getParentFile().toPath(), "." + destination.getName(), TEMPORARY_EXTENSION);
+    try {
+      // Links and clones cannot replace an existing file, the name is only reserved
+      Files.delete(temporaryDestination);
+      placeFile(source, temporaryDestination.toFile());
+      try {
+        Files.move(temporaryDestination, destination.toPath(), ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryDestination, destination.toPath(), REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temporaryDestination);
+    }
+  }
+
+  private void placeFile(File source, File destination) throws IOException {
+    switch (installStrategy) {
+      case HARDLINK:
+        if (source.isFile() && link(source.toPath(), destination.toPath(), false)) {
+          avoidedCopyBytes.addAndGet(source.length());
+          return;
+        }
+        break;
+      case REFLINK_IF_SUPPORTED:
+        if (source.isFile() && reflink(source, destination)) {
+          avoidedCopyBytes.addAndGet(source.length());
+          return;
+        }
+        break;
+      case SYMLINK_FOR_EXPLODED:
+        if (source.isDirectory() && link(source.toPath(), destination.toPath(), true)) {
+          avoidedCopyBytes.addAndGet(sizeOfDirectory(source));
+          return;
+        }
+        break;
+      default:
+        break;
+    }
+    copyFile(source, destination);
+  }
+
+  private boolean link(Path source, Path destination, boolean symbolic) {
+    try {
+      if (symbolic) {
+        Files.createSymbolicLink(destination, source.toAbsolutePath());
+      } else {
+        Files.createLink(destination, source);
+      }
+      return true;
+    } catch (IOException | UnsupportedOperationException | SecurityException e) {
+      // Different file systems or links not supported, the file is copied instead
+      log.debug(format("Could not link <%s>, copying it instead: %s", source, e.getMessage()));
+      return false;
+    }
+  }
+
+  private boolean reflink(File source, File destination) {
+    String osName = System.getProperty("os.name", "").toLowerCase();
+    String cloneOption;
+    if (osName.contains("linux")) {
+      cloneOption = "--reflink=always";
+    } else if (osName.contains("mac")) {
+      cloneOption = "-c";
+    } else {
+      return false;
+    }
+    try {
+      // Java has no API for copy-on-write clones, so the platform cp is used
+      Process process = new ProcessBuilder("cp", cloneOption, source.getAbsolutePath(), destination.getAbsolutePath())
+          .redirectErrorStream(true)
+          .redirectOutput(new File(NULL_DEVICE))
+          .start();
+      if (process.waitFor(REFLINK_TIMEOUT_SECONDS, TimeUnit.SECONDS) && process.exitValue() == 0) {
+        return true;
+      }
+      process.destroyForcibly();
+    } catch (IOException e) {
+      log.debug(format("Could not clone <%s>, copying it instead: %s", source, e.getMessage()));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    destination.delete();
+    return false;
   }
 
   @Deprecated
@@ -87,16 +242,78 @@ public class ArtifactInstaller {
   }
 
   protected void generatePomFile(Artifact artifact, File artifactFolderDestination) throws IOException {
-    String artifactPomFilename = artifact.getPomFileName();
+    File srcPomFile = getSourcePomFile(artifact);
+    File destinationPomFile = new File(artifactFolderDestination, artifact.getPomFileName());
+    if (srcPomFile.exists()) {
+      installFile(srcPomFile, destinationPomFile);
+    }
+  }
+
+  private File getSourcePomFile(Artifact artifact) {
     File srcPomFolder = new File(artifact.getUri()).getParentFile();
-    File srcPomFile = new File(srcPomFolder, artifactPomFilename);
-    File destinationPomFile = new File(artifactFolderDestination, artifactPomFilename);
+    File srcPomFile = new File(srcPomFolder, artifact.getPomFileName());
     if (!srcPomFile.exists()) {
       srcPomFile = new File(srcPomFolder, POM_FILE_NAME);
     }
-    if (srcPomFile.exists()) {
-      copyFile(srcPomFile, destinationPomFile);
+    return srcPomFile;
+  }
+
+  /**
+   * Computes a fingerprint of everything the installation of the artifact is generated from: how files are placed in the
+   * repository folder, the artifact file and its published checksum, and its classloader model or source pom file. Installations
+   * with the same fingerprint produce the same files.
+   *
+   * @return the fingerprint, or {@code null} when the artifact is not a regular file and cannot be fingerprinted cheaply
+   */
+  public String getInstallationFingerprint(Artifact artifact, Optional<ClassLoaderModel> classLoaderModel,
+                                           boolean prettyPrinting) {
+    File artifactFile = new File(artifact.getUri());
+    if (!artifactFile.isFile()) {
+      return null;
+    }
+    StringBuilder fingerprint = new StringBuilder();
+    fingerprint.append("install=").append(virtualRepository != null ? "virtual" : installStrategy).append(';');
+    appendFileFingerprint(fingerprint, artifactFile);
+    File sha1File = new File(artifactFile.getPath() + SHA1_EXTENSION);
+    if (sha1File.isFile()) {
+      try {
+        fingerprint.append("sha1=").append(new String(Files.readAllBytes(sha1File.toPath()), UTF_8).trim()).append(';');
+      } catch (IOException e) {
+        return null;
+      }
+    }
+    if (classLoaderModel.isPresent()) {
+      String descriptor = ClassLoaderModelJsonSerializer.serialize(classLoaderModel.get(), prettyPrinting);
+      fingerprint.append("classloader-model=").append(Hashing.sha256().hashString(descriptor, UTF_8)).append(';');
+    } else {
+      File srcPomFile = getSourcePomFile(artifact);
+      if (srcPomFile.exists()) {
+        appendFileFingerprint(fingerprint, srcPomFile);
+      }
+    }
+    return fingerprint.toString();
+  }
+
+  private static void appendFileFingerprint(StringBuilder fingerprint, File file) {
+    fingerprint.append(file.getAbsolutePath()).append(':').append(file.length()).append(':').append(file.lastModified())
+        .append(';');
+  }
+
+  /**
+   * @return the files generated in the repository folder when installing the artifact. When a {@link VirtualRepository} is used
+   *         the artifact and pom files are only recorded in it, so they are never found in the folder and the artifact is
+   *         installed, and recorded, again on every build.
+   */
+  public List<File> getInstalledFiles(File repositoryFile, Artifact artifact, Optional<ClassLoaderModel> classLoaderModel) {
+    File artifactFolderDestination = artifact.getFormattedMavenDirectory(repositoryFile);
+    List<File> installedFiles = new ArrayList<>();
+    installedFiles.add(new File(artifactFolderDestination, artifact.getFormattedArtifactFileName()));
+    if (classLoaderModel.isPresent()) {
+      installedFiles.add(new File(artifactFolderDestination, CLASSLOADER_MODEL_FILE_NAME));
+    } else if (getSourcePomFile(artifact).exists()) {
+      installedFiles.add(new File(artifactFolderDestination, artifact.getPomFileName()));
     }
+    return installedFiles;
   }
 
   @Deprecated
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.repository;
+
+import static com.google.common.base.CaseFormat.LOWER_HYPHEN;
+import static com.google.common.base.CaseFormat.UPPER_UNDERSCORE;
+
+/**
+ * How the {@link ArtifactInstaller} places dependency files in the application repository folder. Every strategy but
+ * {@link #COPY} falls back to copying the file when it cannot be applied, for instance when the source and the repository folder
+ * are in different file systems.
+ */
+public enum InstallStrategy {
+
+  /**
+   * Files are copied byte by byte.
+   */
+  COPY,
+
+  /**
+   * Files are hard linked to the ones in the local repository, so no data is written. Linked files share their content with the
+   * local repository, which is safe because installed files are only ever replaced or deleted, never written in place.
+   */
+  HARDLINK,
+
+  /**
+   * Files are cloned with copy-on-write when the file system supports it, so data blocks are shared until modified.
+   */
+  REFLINK_IF_SUPPORTED,
+
+  /**
+   * Exploded artifacts (folders) are symbolically linked, while files are copied.
+   */
+  SYMLINK_FOR_EXPLODED;
+
+  public static InstallStrategy fromString(String name) {
+    return valueOf(LOWER_HYPHEN.to(UPPER_UNDERSCORE, name));
+  }
+
+  @Override
+  public String toString() {
+    return UPPER_UNDERSCORE.to(LOWER_HYPHEN, this.name());
+  }
+}
@@ -6,8 +6,10 @@
  */
 package org.mule.tools.api.repository;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.lang.String.format;
 import static java.util.Optional.empty;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.mule.tools.api.packager.sources.MuleContentGenerator.createClassLoaderModelJsonFile;
 import static org.mule.tools.api.packager.structure.FolderNames.META_INF;
 import static org.mule.tools.api.packager.structure.FolderNames.MULE_ARTIFACT;
@@ -20,12 +22,18 @@ import org.mule.tools.api.util.FileUtils;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -40,16 +48,36 @@ public class RepositoryGenerator {
   private File projectPomFile;
   private ApplicationGAVModel appGAVModel;
   private List<String> activeProfiles;
+  private final int installationThreads;
+  private final boolean incrementalInstallation;
+  private int reusedArtifacts;
 
   public RepositoryGenerator(File projectPomFile, File outputDirectory, ArtifactInstaller artifactInstaller,
                              ApplicationClassLoaderModelAssembler applicationClassLoaderModelAssembler,
                              ApplicationGAVModel appGAVModel, List<String> activeProfiles) {
+    this(projectPomFile, outputDirectory, artifactInstaller, applicationClassLoaderModelAssembler, appGAVModel, activeProfiles,
+         1, false);
+  }
+
+  /**
+   * @param installationThreads     maximum number of artifacts installed at the same time in the repository folder. When
+   *                                {@code 1} artifacts are installed sequentially.
+   * @param incrementalInstallation if {@code true} a {@link RepositoryManifest} is kept in the output directory, so only new or
+   *                                changed artifacts are installed and the ones that are no longer dependencies are removed.
+   */
+  public RepositoryGenerator(File projectPomFile, File outputDirectory, ArtifactInstaller artifactInstaller,
+                             ApplicationClassLoaderModelAssembler applicationClassLoaderModelAssembler,
+                             ApplicationGAVModel appGAVModel, List<String> activeProfiles, int installationThreads,
+                             boolean incrementalInstallation) {
+    checkArgument(installationThreads > 0, "Installation threads must be positive");
     this.projectPomFile = projectPomFile;
     this.outputDirectory = outputDirectory;
     this.artifactInstaller = artifactInstaller;
     this.applicationClassLoaderModelAssembler = applicationClassLoaderModelAssembler;
     this.appGAVModel = appGAVModel;
     this.activeProfiles = activeProfiles;
+    this.installationThreads = installationThreads;
+    this.incrementalInstallation = incrementalInstallation;
   }
 
   @Deprecated
@@ -108,6 +136,14 @@ public class RepositoryGenerator {
     return generate(lightweight, false, false, false, empty());
   }
 
+  /**
+   * @return number of artifacts that were already installed from the same sources by a previous build and were not installed
+   *         again.
+   */
+  public int getReusedArtifacts() {
+    return reusedArtifacts;
+  }
+
   protected File getRepositoryFolder() {
     File repositoryFolder = new File(outputDirectory, REPOSITORY.value());
     if (!repositoryFolder.exists()) {
@@ -125,10 +161,121 @@ public class RepositoryGenerator {
     if (sortedArtifacts.isEmpty()) {
       generateMarkerFileInRepositoryFolder(repositoryFile);
     }
+    if (!incrementalInstallation) {
+      doInstallArtifacts(repositoryFile, installer, sortedArtifacts, mulePluginsClassloaderModels, prettyPrinting);
+      return;
+    }
+
+    File manifestFile = new File(outputDirectory, RepositoryManifest.MANIFEST_FILE_NAME);
+    RepositoryManifest previousManifest = RepositoryManifest.load(manifestFile);
+    // Until the installation succeeds the previous manifest no longer describes the repository folder
+    Files.deleteIfExists(manifestFile.toPath());
+    RepositoryManifest currentManifest = new RepositoryManifest();
+    RepositoryManifest upToDateManifest = new RepositoryManifest();
+    List<Artifact> outdatedArtifacts = new ArrayList<>();
     for (Artifact artifact : sortedArtifacts) {
       Optional<ClassLoaderModel> classLoaderModelOptional =
           Optional.ofNullable(mulePluginsClassloaderModels.get(artifact.getArtifactCoordinates()));
-      installer.installArtifact(repositoryFile, artifact, classLoaderModelOptional, prettyPrinting);
+      String key = artifact.getArtifactCoordinates().toString();
+      String fingerprint = installer.getInstallationFingerprint(artifact, classLoaderModelOptional, prettyPrinting);
+      boolean upToDate = fingerprint != null && previousManifest.isUpToDate(key, fingerprint, repositoryFile);
+      if (!upToDate) {
+        outdatedArtifacts.add(artifact);
+      }
+      if (fingerprint != null) {
+        List<String> installedFiles = installer.getInstalledFiles(repositoryFile, artifact, classLoaderModelOptional)
+            .stream().map(file -> repositoryFile.toPath().relativize(file.toPath()).toString().replace(File.separatorChar, '/'))
+            .collect(Collectors.toList());
+        currentManifest.put(key, fingerprint, installedFiles);
+        if (upToDate) {
+          upToDateManifest.put(key, fingerprint, installedFiles);
+        }
+      }
+    }
+    // Outdated artifacts may have been installed differently, such as linked instead of copied, so their previous files are
+    // removed too, except the ones shared with up to date artifacts
+    deleteStaleFiles(repositoryFile, previousManifest.getStaleFiles(upToDateManifest));
+    reusedArtifacts = sortedArtifacts.size() - outdatedArtifacts.size();
+    doInstallArtifacts(repositoryFile, installer, outdatedArtifacts, mulePluginsClassloaderModels, prettyPrinting);
+    currentManifest.store(manifestFile);
+  }
+
+  private void deleteStaleFiles(File repositoryFile, Set<String> staleFiles) throws IOException {
+    Path repositoryPath = repositoryFile.toPath().toAbsolutePath();
+    for (String staleFile : staleFiles) {
+      Path stalePath = repositoryPath.resolve(staleFile).normalize();
+      if (!stalePath.startsWith(repositoryPath)) {
+        continue;
+      }
+      Files.deleteIfExists(stalePath);
+      // Remove the folders left empty, up to the repository folder
+      for (Path folder = stalePath.getParent(); folder != null && !folder.equals(repositoryPath); folder = folder.getParent()) {
+        String[] content = folder.toFile().list();
+        if (content == null || content.length > 0 || !folder.toFile().delete()) {
+          break;
+        }
+      }
+    }
+  }
+
+  private void doInstallArtifacts(File repositoryFile, ArtifactInstaller installer, Collection<Artifact> sortedArtifacts,
+                                  Map<ArtifactCoordinates, ClassLoaderModel> mulePluginsClassloaderModels,
+                                  boolean prettyPrinting)
+      throws IOException {
+    if (installationThreads == 1 || sortedArtifacts.size() < 2) {
+      for (Artifact artifact : sortedArtifacts) {
+        Optional<ClassLoaderModel> classLoaderModelOptional =
+            Optional.ofNullable(mulePluginsClassloaderModels.get(artifact.getArtifactCoordinates()));
+        installer.installArtifact(repositoryFile, artifact, classLoaderModelOptional, prettyPrinting);
+      }
+    } else {
+      installArtifactsConcurrently(repositoryFile, installer, sortedArtifacts, mulePluginsClassloaderModels, prettyPrinting);
+    }
+  }
+
+  /**
+   * Installs the artifacts on a bounded thread pool. Every installation is awaited, and the failure of the first artifact in
+   * installation order is thrown with the rest of the failures suppressed, so errors do not depend on thread scheduling.
+   */
+  private void installArtifactsConcurrently(File repositoryFile, ArtifactInstaller installer,
+                                            Collection<Artifact> sortedArtifacts,
+                                            Map<ArtifactCoordinates, ClassLoaderModel> mulePluginsClassloaderModels,
+                                            boolean prettyPrinting)
+      throws IOException {
+    ExecutorService executor = newFixedThreadPool(Math.min(installationThreads, sortedArtifacts.size()));
+    try {
+      List<Future<Void>> installations = new ArrayList<>();
+      for (Artifact artifact : sortedArtifacts) {
+        Optional<ClassLoaderModel> classLoaderModelOptional =
+            Optional.ofNullable(mulePluginsClassloaderModels.get(artifact.getArtifactCoordinates()));
+        installations.add(executor.submit(() -> {
+          installer.installArtifact(repositoryFile, artifact, classLoaderModelOptional, prettyPrinting);
+          return null;
+        }));
+      }
+
+      IOException failure = null;
+      for (Future<Void> installation : installations) {
+        try {
+          installation.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IOException("Interrupted while installing artifacts in the repository", e);
+        } catch (ExecutionException e) {
+          Throwable cause = e.getCause();
+          if (failure == null) {
+            failure = cause instanceof IOException ? (IOException) cause
+                : new IOException("There was a problem while installing artifacts in the repository", cause);
+          } else {
+            failure.addSuppressed(cause);
+          }
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      executor.shutdownNow();
     }
   }
 
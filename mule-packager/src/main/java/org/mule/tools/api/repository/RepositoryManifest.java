@@ -0,0 +1,147 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Record of the artifacts installed in the application repository folder by a previous build. For every artifact it keeps the
+ * fingerprint of the sources it was installed from and the files generated for it, so the next build only installs new or
+ * changed artifacts and removes the files of the ones that are no longer dependencies.
+ */
+public class RepositoryManifest {
+
+  public static final String MANIFEST_FILE_NAME = "repository-manifest.json";
+
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+  private final Map<String, Entry> entries;
+
+  public RepositoryManifest() {
+    this(new TreeMap<>());
+  }
+
+  private RepositoryManifest(Map<String, Entry> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * Loads a manifest.
+   *
+   * @param manifestFile file the manifest was stored in.
+   * @return the stored manifest, or an empty one when the file does not exist or cannot be read.
+   */
+  public static RepositoryManifest load(File manifestFile) {
+    if (!manifestFile.isFile()) {
+      return new RepositoryManifest();
+    }
+    try (Reader reader = Files.newBufferedReader(manifestFile.toPath(), UTF_8)) {
+      Map<String, Entry> entries = GSON.fromJson(reader, new TypeToken<TreeMap<String, Entry>>() {}.getType());
+      return entries == null ? new RepositoryManifest() : new RepositoryManifest(entries);
+    } catch (IOException | JsonParseException e) {
+      // A corrupted manifest only means every artifact is installed again
+      return new RepositoryManifest();
+    }
+  }
+
+  /**
+   * Stores the manifest, replacing the previous one atomically when the file system allows it.
+   *
+   * @param manifestFile file to store the manifest in.
+   * @throws IOException if the manifest could not be written.
+   */
+  public void store(File manifestFile) throws IOException {
+    Path manifestPath = manifestFile.toPath();
+    Path temporaryManifest = manifestPath.resolveSibling(manifestFile.getName() + ".tmp");
+    try (Writer writer = Files.newBufferedWriter(temporaryManifest, UTF_8)) {
+      GSON.toJson(entries, writer);
+    }
+    try {
+      Files.move(temporaryManifest, manifestPath, ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporaryManifest, manifestPath, REPLACE_EXISTING);
+    }
+  }
+
+  /**
+   * @param key          identifier of the artifact.
+   * @param fingerprint  fingerprint of the sources the artifact is installed from.
+   * @param repositoryFolder folder the artifact files are installed in.
+   * @return whether the artifact was installed from the same sources and all its files are still present.
+   */
+  public boolean isUpToDate(String key, String fingerprint, File repositoryFolder) {
+    Entry entry = entries.get(key);
+    if (entry == null || !fingerprint.equals(entry.fingerprint) || entry.files == null) {
+      return false;
+    }
+    return entry.files.stream().allMatch(file -> new File(repositoryFolder, file).exists());
+  }
+
+  /**
+   * Records the installation of an artifact.
+   *
+   * @param key         identifier of the artifact.
+   * @param fingerprint fingerprint of the sources the artifact is installed from.
+   * @param files       paths of the installed files, relative to the repository folder.
+   */
+  public void put(String key, String fingerprint, List<String> files) {
+    entries.put(key, new Entry(fingerprint, new ArrayList<>(files)));
+  }
+
+  /**
+   * @param current manifest of the artifacts whose files are kept.
+   * @return paths, relative to the repository folder, of the files recorded in this manifest that are not part of the current one.
+   */
+  public Set<String> getStaleFiles(RepositoryManifest current) {
+    Set<String> currentFiles = current.getFiles();
+    Set<String> staleFiles = new HashSet<>();
+    for (String file : getFiles()) {
+      if (!currentFiles.contains(file)) {
+        staleFiles.add(file);
+      }
+    }
+    return staleFiles;
+  }
+
+  private Set<String> getFiles() {
+    Set<String> files = new HashSet<>();
+    entries.values().stream().filter(entry -> entry.files != null).forEach(entry -> files.addAll(entry.files));
+    return files;
+  }
+
+  private static class Entry {
+
+    private String fingerprint;
+    private List<String> files;
+
+    private Entry(String fingerprint, List<String> files) {
+      this.fingerprint = fingerprint;
+      this.files = files;
+    }
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.repository;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParseException;
+import com.google.gson.reflect.TypeToken;
+
+/**
+ * Repository folder layout whose artifact files are not staged in the build directory. Each entry maps a path relative to the
+ * repository folder to the file it has to be read from, usually in the local Maven repository, so the archiver can write it
+ * straight into the package.
+ * <p>
+ * Both the artifact files and the pom files installed next to them are recorded as entries. Only descriptors generated by the
+ * build, such as classloader-model.json, are written to the repository folder.
+ */
+public class VirtualRepository {
+
+  public static final String ENTRIES_FILE_NAME = "repository-entries.json";
+
+  private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+
+  private final Path repositoryFolder;
+  private final SortedMap<String, String> entries;
+
+  /**
+   * @param repositoryFolder folder the entries are relative to. Non null.
+   */
+  public VirtualRepository(File repositoryFolder) {
+    this(repositoryFolder, new TreeMap<>());
+  }
+
+  private VirtualRepository(File repositoryFolder, SortedMap<String, String> entries) {
+    checkArgument(repositoryFolder != null, "Repository folder cannot be null");
+    this.repositoryFolder = repositoryFolder.toPath().toAbsolutePath();
+    this.entries = entries;
+  }
+
+  /**
+   * Records an entry instead of placing the source file in the repository folder. Any file previously staged in the destination
+   * is removed, so it is not archived twice.
+   *
+   * @param source      file the entry content is read from.
+   * @param destination location of the entry inside the repository folder.
+   * @throws IOException if a previously staged file could not be removed.
+   */
+  public void put(File source, File destination) throws IOException {
+    Path destinationPath = destination.toPath().toAbsolutePath();
+    checkArgument(destinationPath.startsWith(repositoryFolder), "Destination must be inside the repository folder");
+    Files.deleteIfExists(destinationPath);
+    String entry = repositoryFolder.relativize(destinationPath).toString().replace(File.separatorChar, '/');
+    synchronized (entries) {
+      entries.put(entry, source.getAbsolutePath());
+    }
+  }
+
+  /**
+   * @return entries sorted by their path relative to the repository folder, mapped to the absolute path of their source file.
+   */
+  public Map<String, String> getEntries() {
+    return Collections.unmodifiableMap(entries);
+  }
+
+  /**
+   * @param entriesFile file to store the entries in.
+   * @throws IOException if the file could not be written.
+   */
+  public void store(File entriesFile) throws IOException {
+    try (Writer writer = Files.newBufferedWriter(entriesFile.toPath(), UTF_8)) {
+      synchronized (entries) {
+        GSON.toJson(entries, writer);
+      }
+    }
+  }
+
+  /**
+   * @param repositoryFolder folder the entries are relative to.
+   * @param entriesFile      file the entries were stored in.
+   * @return the stored virtual repository.
+   * @throws IOException if the file could not be read.
+   */
+  public static VirtualRepository load(File repositoryFolder, File entriesFile) throws IOException {
+    try (Reader reader = Files.newBufferedReader(entriesFile.toPath(), UTF_8)) {
+      SortedMap<String, String> entries = GSON.fromJson(reader, new TypeToken<TreeMap<String, String>>() {}.getType());
+      return new VirtualRepository(repositoryFolder, entries == null ? new TreeMap<>() : entries);
+    } catch (JsonParseException e) {
+      throw new IOException("Could not read " + entriesFile, e);
+    }
+  }
+}
@@ -15,7 +15,12 @@ import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class CopyFileVisitor implements FileVisitor<Path> {
 
@@ -29,6 +34,14 @@ public class CopyFileVisitor implements FileVisitor<Path> {
 
   private PathMatcher exclusionMatcher;
 
+  private boolean sync = false;
+  private boolean deleteOrphans = false;
+  private final Set<Path> keptTargets = ConcurrentHashMap.newKeySet();
+
+  private final AtomicInteger copiedFiles = new AtomicInteger();
+  private final AtomicInteger skippedFiles = new AtomicInteger();
+  private final AtomicInteger deletedFiles = new AtomicInteger();
+
   public CopyFileVisitor(File fromFolder, File targetFolder) throws IOException {
     this(fromFolder, targetFolder, FALSE, FALSE, new MuleExclusionMatcher());
   }
@@ -54,6 +67,32 @@ public class CopyFileVisitor implements FileVisitor<Path> {
     this.exclusions = exclusions;
   }
 
+  /**
+   * In sync mode files whose size and last modified time match the ones already in the target folder are not copied again, and
+   * copied files keep the last modified time of their origin.
+   *
+   * @param sync          whether to enable the sync mode.
+   * @param deleteOrphans whether to delete, from every visited target folder, the files and folders that are no longer part of
+   *                      the origin or are excluded. It must only be enabled when the target folder is not shared with other
+   *                      content.
+   */
+  public void setSync(boolean sync, boolean deleteOrphans) {
+    this.sync = sync;
+    this.deleteOrphans = sync && deleteOrphans;
+  }
+
+  public int getCopiedFiles() {
+    return copiedFiles.get();
+  }
+
+  public int getSkippedFiles() {
+    return skippedFiles.get();
+  }
+
+  public int getDeletedFiles() {
+    return deletedFiles.get();
+  }
+
   @Override
   public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
     if (exclusionMatcher.matches(dir) || exclusions.contains(dir) || (ignoreHiddenFolders && dir.toFile().isHidden())) {
@@ -61,9 +100,15 @@ public class CopyFileVisitor implements FileVisitor<Path> {
     }
 
     Path targetPath = targetFolder.toPath().resolve(fromFolder.toPath().relativize(dir));
+    if (deleteOrphans && Files.isRegularFile(targetPath)) {
+      deleteOrphan(targetPath);
+    }
     if (!Files.exists(targetPath)) {
       Files.createDirectory(targetPath);
     }
+    if (deleteOrphans) {
+      keptTargets.add(targetPath);
+    }
     return FileVisitResult.CONTINUE;
   }
 
@@ -73,17 +118,74 @@ public class CopyFileVisitor implements FileVisitor<Path> {
       return FileVisitResult.SKIP_SUBTREE;
     }
 
-    Files.copy(file, targetFolder.toPath().resolve(fromFolder.toPath().relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+    Path targetPath = targetFolder.toPath().resolve(fromFolder.toPath().relativize(file));
+    if (!sync) {
+      Files.copy(file, targetPath, StandardCopyOption.REPLACE_EXISTING);
+      copiedFiles.incrementAndGet();
+      return FileVisitResult.CONTINUE;
+    }
+
+    if (deleteOrphans) {
+      keptTargets.add(targetPath);
+    }
+    if (isUnchanged(file, attrs, targetPath)) {
+      skippedFiles.incrementAndGet();
+    } else {
+      if (Files.isDirectory(targetPath, LinkOption.NOFOLLOW_LINKS)) {
+        deleteOrphan(targetPath);
+      }
+      Files.copy(file, targetPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+      copiedFiles.incrementAndGet();
+    }
     return FileVisitResult.CONTINUE;
   }
 
+  private boolean isUnchanged(Path file, BasicFileAttributes attrs, Path targetPath) throws IOException {
+    if (!Files.isRegularFile(targetPath, LinkOption.NOFOLLOW_LINKS)) {
+      return false;
+    }
+    BasicFileAttributes targetAttrs = Files.readAttributes(targetPath, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+    BasicFileAttributes fileAttrs = attrs != null && attrs.lastModifiedTime() != null ? attrs
+        : Files.readAttributes(file, BasicFileAttributes.class);
+    // Copies do not always keep the sub-millisecond part of the timestamp, so times are compared in milliseconds
+    return targetAttrs.size() == fileAttrs.size()
+        && targetAttrs.lastModifiedTime().toMillis() == fileAttrs.lastModifiedTime().toMillis();
+  }
+
   @Override
   public FileVisitResult visitFileFailed(Path file, IOException exc) throws IOException {
+    if (deleteOrphans) {
+      // The target of a file that could not be read is left untouched
+      keptTargets.add(targetFolder.toPath().resolve(fromFolder.toPath().relativize(file)));
+    }
     return FileVisitResult.CONTINUE;
   }
 
   @Override
   public FileVisitResult postVisitDirectory(Path dir, IOException exc) throws IOException {
+    if (deleteOrphans && exc == null) {
+      Path targetPath = targetFolder.toPath().resolve(fromFolder.toPath().relativize(dir));
+      if (Files.isDirectory(targetPath)) {
+        try (Stream<Path> children = Files.list(targetPath)) {
+          for (Path child : (Iterable<Path>) children::iterator) {
+            if (!keptTargets.remove(child)) {
+              deleteOrphan(child);
+            }
+          }
+        }
+      }
+    }
     return FileVisitResult.CONTINUE;
   }
+
+  private void deleteOrphan(Path orphan) throws IOException {
+    try (Stream<Path> paths = Files.walk(orphan)) {
+      for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+        if (!Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+          deletedFiles.incrementAndGet();
+        }
+        Files.delete(path);
+      }
+    }
+  }
 }
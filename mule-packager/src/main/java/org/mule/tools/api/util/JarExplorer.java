@@ -7,6 +7,9 @@
 package org.mule.tools.api.util;
 
 import java.net.URI;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Explores jar files or exploded jar folders to find packages and resources.
@@ -20,4 +23,18 @@ public interface JarExplorer {
    * @return the {@link JarInfo} containing the found resources and packages. Non null.
    */
   JarInfo explore(URI library);
+
+  /**
+   * Finds the packages defined in each of the given resources
+   *
+   * @param libraries folders or JAR files to explore. Non null
+   * @return the {@link JarInfo} of each library, iterated in the same order as the given libraries. Non null.
+   */
+  default Map<URI, JarInfo> exploreAll(Collection<URI> libraries) {
+    Map<URI, JarInfo> jarInfos = new LinkedHashMap<>();
+    for (URI library : libraries) {
+      jarInfos.put(library, explore(library));
+    }
+    return jarInfos;
+  }
 }
@@ -9,9 +9,11 @@ package org.mule.tools.api.util;
 import static com.google.common.base.Preconditions.checkArgument;
 import org.mule.tools.api.classloader.model.SharedLibraryDependency;
 import org.mule.tools.api.muleclassloader.model.resolver.Plugin;
+import org.mule.tools.api.repository.InstallStrategy;
 
 import java.io.File;
 import java.util.List;
+import java.util.function.UnaryOperator;
 
 import org.apache.maven.artifact.repository.ArtifactRepository;
 import org.apache.maven.execution.MavenSession;
@@ -33,6 +35,14 @@ public class MavenComponents {
   private String classifier;
   private List<Plugin> additionalPluginDependencies;
   private File projectBaseFolder;
+  private int jarExplorationThreads = 1;
+  private InstallStrategy installStrategy = InstallStrategy.COPY;
+  private int installationThreads = 1;
+  private boolean incrementalRepository = false;
+  private boolean virtualRepository = false;
+  private boolean jarInfoCache = true;
+  private UnaryOperator<JarExplorer> jarExplorerDecorator = UnaryOperator.identity();
+  private File dependencyGraphCacheDirectory;
   private Log log;
 
   public MavenComponents withLog(Log log) {
@@ -105,6 +115,61 @@ public class MavenComponents {
     return this;
   }
 
+  public MavenComponents withJarExplorationThreads(int jarExplorationThreads) {
+    checkArgument(jarExplorationThreads > 0, "The jarExplorationThreads must be positive");
+    this.jarExplorationThreads = jarExplorationThreads;
+    return this;
+  }
+
+  public MavenComponents withInstallStrategy(InstallStrategy installStrategy) {
+    checkArgument(installStrategy != null, "The installStrategy must not be null");
+    this.installStrategy = installStrategy;
+    return this;
+  }
+
+  public MavenComponents withInstallationThreads(int installationThreads) {
+    checkArgument(installationThreads > 0, "The installationThreads must be positive");
+    this.installationThreads = installationThreads;
+    return this;
+  }
+
+  public MavenComponents withIncrementalRepository(boolean incrementalRepository) {
+    this.incrementalRepository = incrementalRepository;
+    return this;
+  }
+
+  public MavenComponents withVirtualRepository(boolean virtualRepository) {
+    this.virtualRepository = virtualRepository;
+    return this;
+  }
+
+  /**
+   * @param jarInfoCache whether the explorations of the dependency JAR files are kept in an index in the local repository.
+   */
+  public MavenComponents withJarInfoCache(boolean jarInfoCache) {
+    this.jarInfoCache = jarInfoCache;
+    return this;
+  }
+
+  /**
+   * @param jarExplorerDecorator wraps the default {@link JarExplorer}, for instance to delegate the explorations to another
+   *                             process and fall back to the default one.
+   */
+  public MavenComponents withJarExplorerDecorator(UnaryOperator<JarExplorer> jarExplorerDecorator) {
+    checkArgument(jarExplorerDecorator != null, "The jarExplorerDecorator must not be null");
+    this.jarExplorerDecorator = jarExplorerDecorator;
+    return this;
+  }
+
+  /**
+   * @param dependencyGraphCacheDirectory folder where the resolved dependency graphs are cached, or {@code null} to resolve them
+   *                                      on every build.
+   */
+  public MavenComponents withDependencyGraphCacheDirectory(File dependencyGraphCacheDirectory) {
+    this.dependencyGraphCacheDirectory = dependencyGraphCacheDirectory;
+    return this;
+  }
+
   public MavenProject getProject() {
     return project;
   }
@@ -149,6 +214,38 @@ public class MavenComponents {
     return projectBaseFolder;
   }
 
+  public int getJarExplorationThreads() {
+    return jarExplorationThreads;
+  }
+
+  public InstallStrategy getInstallStrategy() {
+    return installStrategy;
+  }
+
+  public int getInstallationThreads() {
+    return installationThreads;
+  }
+
+  public boolean isIncrementalRepository() {
+    return incrementalRepository;
+  }
+
+  public boolean isVirtualRepository() {
+    return virtualRepository;
+  }
+
+  public boolean isJarInfoCache() {
+    return jarInfoCache;
+  }
+
+  public UnaryOperator<JarExplorer> getJarExplorerDecorator() {
+    return jarExplorerDecorator;
+  }
+
+  public File getDependencyGraphCacheDirectory() {
+    return dependencyGraphCacheDirectory;
+  }
+
   public Log getLog() {
     return log;
   }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link JarExplorer} decorator that remembers the {@link JarInfo} of every library explored during a build, so libraries shared
+ * by the application and several plugins are read just once.
+ */
+public class MemoizingJarExplorer implements JarExplorer {
+
+  private final JarExplorer delegate;
+  private final ConcurrentMap<URI, CompletableFuture<JarInfo>> explorations = new ConcurrentHashMap<>();
+  private final AtomicInteger savedExplorations = new AtomicInteger();
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate explorer used the first time a library is explored. Non null.
+   */
+  public MemoizingJarExplorer(JarExplorer delegate) {
+    checkArgument(delegate != null, "Delegate cannot be null");
+    this.delegate = delegate;
+  }
+
+  @Override
+  public JarInfo explore(URI library) {
+    URI key = library.normalize();
+    CompletableFuture<JarInfo> exploration = new CompletableFuture<>();
+    CompletableFuture<JarInfo> previousExploration = explorations.putIfAbsent(key, exploration);
+    if (previousExploration != null) {
+      savedExplorations.incrementAndGet();
+      try {
+        return previousExploration.join();
+      } catch (CompletionException e) {
+        throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+      }
+    }
+
+    try {
+      JarInfo jarInfo = delegate.explore(library);
+      exploration.complete(jarInfo);
+      return jarInfo;
+    } catch (RuntimeException e) {
+      explorations.remove(key, exploration);
+      exploration.completeExceptionally(e);
+      throw e;
+    }
+  }
+
+  /**
+   * @return number of explorations that were answered from memory instead of reading the library again.
+   */
+  public int getSavedExplorations() {
+    return savedExplorations.get();
+  }
+
+}
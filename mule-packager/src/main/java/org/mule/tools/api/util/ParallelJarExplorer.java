@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.io.Closeable;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * {@link JarExplorer} decorator that explores several libraries at the same time using a bounded number of threads.
+ * <p>
+ * Results are always returned in the order the libraries were requested, so the generated class loader models do not depend on
+ * the amount of threads used. The threads are created on the first parallel exploration and reused by the following ones until
+ * the explorer is closed.
+ */
+public class ParallelJarExplorer implements JarExplorer, Closeable {
+
+  private final JarExplorer delegate;
+  private final int threads;
+  private ExecutorService executorService;
+  private boolean closed;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate explorer used to explore each library. Must be thread safe. Non null.
+   * @param threads maximum number of libraries explored at the same time. A value of {@code 1} explores them sequentially.
+   */
+  public ParallelJarExplorer(JarExplorer delegate, int threads) {
+    checkArgument(delegate != null, "Delegate cannot be null");
+    checkArgument(threads > 0, "Threads must be positive");
+    this.delegate = delegate;
+    this.threads = threads;
+  }
+
+  @Override
+  public JarInfo explore(URI library) {
+    return delegate.explore(library);
+  }
+
+  @Override
+  public Map<URI, JarInfo> exploreAll(Collection<URI> libraries) {
+    Collection<URI> distinctLibraries = new LinkedHashSet<>(libraries);
+    if (threads == 1 || distinctLibraries.size() < 2) {
+      return delegate.exploreAll(distinctLibraries);
+    }
+
+    ExecutorService executorService = getExecutorService();
+    if (executorService == null) {
+      return delegate.exploreAll(distinctLibraries);
+    }
+    List<Future<JarInfo>> explorations = new ArrayList<>();
+    try {
+      for (URI library : distinctLibraries) {
+        explorations.add(executorService.submit(() -> delegate.explore(library)));
+      }
+
+      Map<URI, JarInfo> jarInfos = new LinkedHashMap<>();
+      int i = 0;
+      for (URI library : distinctLibraries) {
+        jarInfos.put(library, explorations.get(i++).get());
+      }
+      return jarInfos;
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause()
+          : new IllegalStateException("Cannot explore libraries", e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while exploring libraries", e);
+    } finally {
+      // Explorations of a failed call must not keep the shared threads busy
+      explorations.forEach(exploration -> exploration.cancel(true));
+    }
+  }
+
+  private synchronized ExecutorService getExecutorService() {
+    if (closed) {
+      return null;
+    }
+    if (executorService == null) {
+      executorService = Executors.newFixedThreadPool(threads);
+    }
+    return executorService;
+  }
+
+  /**
+   * Stops the threads of this explorer. Libraries explored afterwards are explored sequentially.
+   */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    if (executorService != null) {
+      executorService.shutdownNow();
+    }
+  }
+
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.file.FileVisitResult.CONTINUE;
+import static java.nio.file.LinkOption.NOFOLLOW_LINKS;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Copies a file tree driving a {@link CopyFileVisitor} from a work-stealing pool, so exclusions, hidden files handling and sync
+ * mode behave exactly as in a sequential {@link Files#walkFileTree(Path, java.nio.file.FileVisitor)}.
+ * <p>
+ * Every folder is a task: once the visitor accepts it, its sub folders are forked as new tasks and its files are copied in
+ * batches, so both deep and wide trees are spread among the threads. A folder is post visited after all its content.
+ */
+public class ParallelTreeCopier {
+
+  private static final int FILES_PER_TASK = 64;
+
+  private final CopyFileVisitor visitor;
+  private final int threads;
+
+  /**
+   * @param visitor visitor that copies every file and folder. It must be safe to use from several threads.
+   * @param threads number of threads used to copy. With a single thread the tree is walked sequentially.
+   */
+  public ParallelTreeCopier(CopyFileVisitor visitor, int threads) {
+    checkArgument(visitor != null, "Visitor cannot be null");
+    checkArgument(threads > 0, "The number of copy threads must be greater than zero");
+    this.visitor = visitor;
+    this.threads = threads;
+  }
+
+  /**
+   * @param origin file or folder to copy.
+   * @throws IOException if the visitor fails to copy any of the files or folders.
+   */
+  public void copy(Path origin) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(origin, BasicFileAttributes.class);
+    if (threads == 1 || !attributes.isDirectory()) {
+      Files.walkFileTree(origin, visitor);
+      return;
+    }
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      pool.invoke(new FolderCopy(origin, attributes));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  private class FolderCopy extends RecursiveAction {
+
+    private final Path folder;
+    private final BasicFileAttributes attributes;
+
+    private FolderCopy(Path folder, BasicFileAttributes attributes) {
+      this.folder = folder;
+      this.attributes = attributes;
+    }
+
+    @Override
+    protected void compute() {
+      try {
+        if (visitor.preVisitDirectory(folder, attributes) != CONTINUE) {
+          return;
+        }
+        List<RecursiveAction> tasks = new ArrayList<>();
+        List<Path> files = new ArrayList<>();
+        List<BasicFileAttributes> filesAttributes = new ArrayList<>();
+        IOException failure = null;
+        try (DirectoryStream<Path> children = Files.newDirectoryStream(folder)) {
+          for (Path child : children) {
+            BasicFileAttributes childAttributes;
+            try {
+              childAttributes = Files.readAttributes(child, BasicFileAttributes.class, NOFOLLOW_LINKS);
+            } catch (IOException e) {
+              visitor.visitFileFailed(child, e);
+              continue;
+            }
+            if (childAttributes.isDirectory()) {
+              tasks.add(new FolderCopy(child, childAttributes));
+            } else {
+              files.add(child);
+              filesAttributes.add(childAttributes);
+              if (files.size() == FILES_PER_TASK) {
+                tasks.add(new FilesCopy(files, filesAttributes));
+                files = new ArrayList<>();
+                filesAttributes = new ArrayList<>();
+              }
+            }
+          }
+        } catch (IOException e) {
+          failure = e;
+        }
+        if (!files.isEmpty()) {
+          tasks.add(new FilesCopy(files, filesAttributes));
+        }
+        invokeAll(tasks);
+        visitor.postVisitDirectory(folder, failure);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private class FilesCopy extends RecursiveAction {
+
+    private final List<Path> files;
+    private final List<BasicFileAttributes> attributes;
+
+    private FilesCopy(List<Path> files, List<BasicFileAttributes> attributes) {
+      this.files = files;
+      this.attributes = attributes;
+    }
+
+    @Override
+    protected void compute() {
+      try {
+        for (int i = 0; i < files.size(); i++) {
+          visitor.visitFile(files.get(i), attributes.get(i));
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.Comparator.comparingLong;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * {@link JarExplorer} decorator that keeps the {@link JarInfo} of already explored JAR files in an on-disk index, so released
+ * artifacts that never change are not opened again on every build.
+ * <p>
+ * Entries are keyed by the size and last modified time of the JAR along with the SHA-1 published in its {@code .sha1} sidecar
+ * file when available, or its path otherwise. Each entry stores the sorted packages and resources front-coded in a compact binary form. Entries are
+ * touched when read and the least recently used ones are evicted once the index grows over its size cap.
+ * <p>
+ * Exploded folders are always delegated, as their content is expected to change between builds.
+ */
+public class PersistentJarExplorer implements JarExplorer {
+
+  public static final long DEFAULT_MAX_CACHE_SIZE = 64L * 1024 * 1024;
+
+  protected static final String ENTRY_EXTENSION = ".jarinfo";
+  private static final String SHA1_EXTENSION = ".sha1";
+  private static final String JAR_EXTENSION = ".jar";
+  private static final int MAGIC = 0x4A494E46;
+  private static final byte FORMAT_VERSION = 1;
+
+  private final JarExplorer delegate;
+  private final Path cacheDirectory;
+  private final long maxCacheSize;
+  private long currentCacheSize = -1;
+
+  /**
+   * Creates a new instance.
+   *
+   * @param delegate explorer used when an entry is not found in the index. Non null.
+   * @param cacheDirectory folder where the index entries are stored. Non null.
+   * @param maxCacheSize maximum size in bytes of the index before evicting the least recently used entries.
+   */
+  public PersistentJarExplorer(JarExplorer delegate, File cacheDirectory, long maxCacheSize) {
+    checkArgument(delegate != null, "Delegate cannot be null");
+    checkArgument(cacheDirectory != null, "Cache directory cannot be null");
+    checkArgument(maxCacheSize > 0, "Max cache size must be positive");
+    this.delegate = delegate;
+    this.cacheDirectory = cacheDirectory.toPath();
+    this.maxCacheSize = maxCacheSize;
+  }
+
+  @Override
+  public JarInfo explore(URI library) {
+    File libraryFile = new File(library);
+    if (!libraryFile.isFile() || !libraryFile.getName().toLowerCase().endsWith(JAR_EXTENSION)) {
+      return delegate.explore(library);
+    }
+
+    Path entry = cacheDirectory.resolve(getKey(libraryFile) + ENTRY_EXTENSION);
+    JarInfo jarInfo = read(entry);
+    if (jarInfo == null) {
+      jarInfo = delegate.explore(library);
+      write(entry, jarInfo);
+    }
+    return jarInfo;
+  }
+
+  protected String getKey(File libraryFile) {
+    File sha1File = new File(libraryFile.getPath() + SHA1_EXTENSION);
+    if (sha1File.isFile()) {
+      try {
+        String checksum = new String(Files.readAllBytes(sha1File.toPath()), UTF_8).trim();
+        // Sidecar files may contain the file name after the checksum
+        int end = checksum.indexOf(' ');
+        checksum = end < 0 ? checksum : checksum.substring(0, end);
+        if (!checksum.isEmpty()) {
+          return hash(checksum + ":" + libraryFile.length() + ":" + libraryFile.lastModified());
+        }
+      } catch (IOException e) {
+        // Fall back to the path based key
+      }
+    }
+    return hash(libraryFile.getAbsolutePath() + ":" + libraryFile.length() + ":" + libraryFile.lastModified());
+  }
+
+  private static String hash(String key) {
+    return Hashing.sha256().hashString(key, UTF_8).toString();
+  }
+
+  private JarInfo read(Path entry) {
+    if (!Files.isRegularFile(entry)) {
+      return null;
+    }
+    try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+      if (input.readInt() != MAGIC || input.readByte() != FORMAT_VERSION) {
+        Files.deleteIfExists(entry);
+        return null;
+      }
+      JarInfo jarInfo = new JarInfo(readSet(input), readSet(input));
+      // Touch the entry so it is the last one to be evicted
+      entry.toFile().setLastModified(System.currentTimeMillis());
+      return jarInfo;
+    } catch (IOException e) {
+      try {
+        Files.deleteIfExists(entry);
+      } catch (IOException ignored) {
+        // Another build may be using it, the entry will be overwritten later
+      }
+      return null;
+    }
+  }
+
+  private void write(Path entry, JarInfo jarInfo) {
+    try {
+      Files.createDirectories(cacheDirectory);
+      Path temporaryEntry = Files.createTempFile(cacheDirectory, entry.getFileName().toString(), ".tmp");
+      try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryEntry)))) {
+        output.writeInt(MAGIC);
+        output.writeByte(FORMAT_VERSION);
+        writeSet(output, jarInfo.getPackages());
+        writeSet(output, jarInfo.getResources());
+      }
+      long entrySize = Files.size(temporaryEntry);
+      long replacedSize = Files.isRegularFile(entry) ? Files.size(entry) : 0;
+      try {
+        Files.move(temporaryEntry, entry, ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporaryEntry, entry, REPLACE_EXISTING);
+      }
+      evictIfNeeded(entrySize - replacedSize);
+    } catch (IOException e) {
+      // The index is just an optimization, failing to store an entry must not fail the build
+    }
+  }
+
+  /**
+   * Sums the size of the entries once and keeps the total in memory, so the folder is only listed again when the index grows
+   * over its size cap. Entries written by other builds are only accounted for at that point.
+   */
+  private synchronized void evictIfNeeded(long addedSize) {
+    if (currentCacheSize >= 0) {
+      currentCacheSize += addedSize;
+      if (currentCacheSize <= maxCacheSize) {
+        return;
+      }
+    }
+    File[] entries = cacheDirectory.toFile().listFiles((dir, name) -> name.endsWith(ENTRY_EXTENSION));
+    if (entries == null) {
+      return;
+    }
+    currentCacheSize = Arrays.stream(entries).mapToLong(File::length).sum();
+    if (currentCacheSize <= maxCacheSize) {
+      return;
+    }
+    Arrays.sort(entries, comparingLong(File::lastModified));
+    for (File entry : entries) {
+      if (currentCacheSize <= maxCacheSize) {
+        break;
+      }
+      long entrySize = entry.length();
+      if (entry.delete()) {
+        currentCacheSize -= entrySize;
+      }
+    }
+  }
+
+  private static void writeSet(DataOutputStream output, Set<String> values) throws IOException {
+    output.writeInt(values.size());
+    String previous = "";
+    // Values are sorted, so consecutive ones usually share a long prefix that is stored just once
+    for (String value : values) {
+      int prefix = commonPrefixLength(previous, value);
+      output.writeShort(prefix);
+      output.writeUTF(value.substring(prefix));
+      previous = value;
+    }
+  }
+
+  private static Set<String> readSet(DataInputStream input) throws IOException {
+    int size = input.readInt();
+    Set<String> values = new TreeSet<>();
+    String previous = "";
+    for (int i = 0; i < size; i++) {
+      int prefix = input.readUnsignedShort();
+      if (prefix > previous.length()) {
+        throw new IOException("Corrupted entry");
+      }
+      String value = previous.substring(0, prefix) + input.readUTF();
+      values.add(value);
+      previous = value;
+    }
+    return values;
+  }
+
+  private static int commonPrefixLength(String previous, String value) {
+    int max = Math.min(Math.min(previous.length(), value.length()), 0xFFFF);
+    int i = 0;
+    while (i < max && previous.charAt(i) == value.charAt(i)) {
+      i++;
+    }
+    return i;
+  }
+
+}
@@ -7,8 +7,11 @@
 package org.mule.tools.api.util;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
+import static org.mule.tools.api.packager.structure.FolderNames.REPOSITORY;
 
 import org.mule.maven.client.api.MavenReactorResolver;
 
@@ -23,36 +26,52 @@ import org.mule.tools.api.classloader.model.NotParameterizedClassLoaderModel;
 import org.mule.tools.api.classloader.model.SharedLibraryDependency;
 import org.mule.tools.api.muleclassloader.model.resolver.AdditionalPluginDependenciesResolver;
 import org.mule.tools.api.muleclassloader.model.resolver.ApplicationDependencyResolver;
+import org.mule.tools.api.muleclassloader.model.resolver.DependencyGraphCache;
 import org.mule.tools.api.muleclassloader.model.resolver.MulePluginClassloaderModelResolver;
+import org.mule.tools.api.muleclassloader.model.resolver.Plugin;
 import org.mule.tools.api.packager.ProjectInformation;
 import org.mule.tools.api.packager.packaging.PackagingType;
 import org.mule.tools.api.packager.sources.ContentGenerator;
 import org.mule.tools.api.packager.sources.ContentGeneratorFactory;
 import org.mule.tools.api.packager.sources.MuleContentGenerator;
 import org.mule.tools.api.repository.ArtifactInstaller;
+import org.mule.tools.api.repository.InstallStrategy;
 import org.mule.tools.api.repository.MuleMavenPluginClientBuilder;
 import org.mule.tools.api.repository.RepositoryGenerator;
+import org.mule.tools.api.repository.VirtualRepository;
 import org.mule.tools.api.validation.MulePluginsCompatibilityValidator;
 import org.mule.tools.api.validation.resolver.MulePluginResolver;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import org.apache.maven.RepositoryUtils;
 import org.apache.maven.execution.MavenExecutionRequest;
+import org.apache.maven.model.Dependency;
+import org.apache.maven.model.Model;
+import org.apache.maven.model.io.xpp3.MavenXpp3Writer;
 import org.eclipse.aether.repository.RemoteRepository;
 
+import com.google.common.hash.Hashing;
+
 /**
  * For heavyweight or lightweight that use local repository, generates classloader-model.json and repository folder
  */
 public class SourcesProcessor {
 
+  public static final String JAR_INFO_CACHE_FOLDER = ".mule-maven-plugin/jar-info";
+
   protected final MulePluginsCompatibilityValidator mulePluginsCompatibilityValidator = new MulePluginsCompatibilityValidator();
 
   protected MavenComponents mavenComponents;
 
+  private DependencyGraphCache dependencyGraphCache;
+
   public SourcesProcessor(MavenComponents mavenComponents) {
     checkArgument(mavenComponents != null, "The mavenComponents must not be null");
 
@@ -99,14 +118,53 @@ public class SourcesProcessor {
       ApplicationGAVModel appGAV =
           new ApplicationGAVModel(mavenComponents.getProject().getGroupId(), mavenComponents.getProject().getArtifactId(),
                                   mavenComponents.getProject().getVersion());
+      // Libraries shared by the application and its plugins are explored once per run
+      MemoizingJarExplorer memoizingJarExplorer =
+          new MemoizingJarExplorer(mavenComponents.getJarExplorerDecorator().apply(getJarExplorer()));
+      ParallelJarExplorer jarExplorer =
+          new ParallelJarExplorer(memoizingJarExplorer, mavenComponents.getJarExplorationThreads());
+      // A previous map of virtual entries must not be archived along with this repository folder
+      File virtualRepositoryEntries = new File(repositoryOutputDirectory, VirtualRepository.ENTRIES_FILE_NAME);
+      Files.deleteIfExists(virtualRepositoryEntries.toPath());
+      VirtualRepository virtualRepository = isHeavyWeight && mavenComponents.isVirtualRepository()
+          ? new VirtualRepository(new File(repositoryOutputDirectory, REPOSITORY.value()))
+          : null;
+      ArtifactInstaller artifactInstaller =
+          new ArtifactInstaller(new MavenPackagerLog(mavenComponents.getLog()), mavenComponents.getInstallStrategy(),
+                                virtualRepository);
       RepositoryGenerator repositoryGenerator =
           new RepositoryGenerator(mavenComponents.getProject().getFile(),
                                   repositoryOutputDirectory,
-                                  new ArtifactInstaller(new MavenPackagerLog(mavenComponents.getLog())),
-                                  getClassLoaderModelAssembler(), appGAV,
-                                  mavenComponents.getSession().getRequest().getActiveProfiles());
-      ClassLoaderModel classLoaderModel =
-          repositoryGenerator.generate(lightweightPackage, useLocalRepository, prettyPrinting, testJar, mavenReactorResolver);
+                                  artifactInstaller,
+                                  getClassLoaderModelAssembler(jarExplorer), appGAV,
+                                  mavenComponents.getSession().getRequest().getActiveProfiles(),
+                                  mavenComponents.getInstallationThreads(), mavenComponents.isIncrementalRepository());
+      ClassLoaderModel classLoaderModel;
+      try {
+        classLoaderModel =
+            repositoryGenerator.generate(lightweightPackage, useLocalRepository, prettyPrinting, testJar, mavenReactorResolver);
+      } finally {
+        // The exploration threads are shared by the application and all its plugins during the generation
+        jarExplorer.close();
+      }
+      mavenComponents.getLog().debug("Jar explorations saved by reusing already explored libraries: "
+          + memoizingJarExplorer.getSavedExplorations());
+      if (dependencyGraphCache != null) {
+        mavenComponents.getLog().debug("Dependency graphs reused from the cache: " + dependencyGraphCache.getHits());
+      }
+      if (mavenComponents.isIncrementalRepository()) {
+        mavenComponents.getLog().info("Artifacts reused from the previous repository generation: "
+            + repositoryGenerator.getReusedArtifacts());
+      }
+      if (virtualRepository != null) {
+        virtualRepository.store(virtualRepositoryEntries);
+        mavenComponents.getLog()
+            .info(format("Repository entries that will be read from their source when packaging: %d (%d bytes)",
+                         virtualRepository.getEntries().size(), artifactInstaller.getAvoidedCopyBytes()));
+      } else if (artifactInstaller.getInstallStrategy() != InstallStrategy.COPY) {
+        mavenComponents.getLog().info(format("Bytes not copied to the repository folder thanks to the '%s' install strategy: %d",
+                                             artifactInstaller.getInstallStrategy(), artifactInstaller.getAvoidedCopyBytes()));
+      }
 
       for (SharedLibraryDependency sharedLibraryDependency : mavenComponents.getSharedLibraries()) {
         classLoaderModel.getDependencies().stream()
@@ -132,9 +190,17 @@ public class SourcesProcessor {
   }
 
   protected ApplicationClassLoaderModelAssembler getClassLoaderModelAssembler() {
+    return getClassLoaderModelAssembler(getJarExplorer());
+  }
+
+  /**
+   * @param jarExplorer explorer shared by the application and plugin class loader model resolution.
+   * @return the assembler used to build the application class loader model.
+   */
+  protected ApplicationClassLoaderModelAssembler getClassLoaderModelAssembler(JarExplorer jarExplorer) {
     MuleMavenClient mavenClient = getMavenClient();
-    return new ApplicationClassLoaderModelAssembler(new ApplicationDependencyResolver(mavenClient),
-                                                    new MulePluginClassloaderModelResolver(mavenClient),
+    return new ApplicationClassLoaderModelAssembler(new ApplicationDependencyResolver(mavenClient, getDependencyGraphCache()),
+                                                    new MulePluginClassloaderModelResolver(mavenClient, jarExplorer),
                                                     new AdditionalPluginDependenciesResolver(mavenClient,
                                                                                              mavenComponents
                                                                                                  .getAdditionalPluginDependencies() == null
@@ -144,7 +210,89 @@ public class SourcesProcessor {
                                                                                              new File(mavenComponents
                                                                                                  .getOutputDirectory(),
                                                                                                       "temp")),
-                                                    new FileJarExplorer());
+                                                    jarExplorer);
+  }
+
+  /**
+   * @return the cache of the resolved application dependencies, or {@code null} if it is disabled, SNAPSHOT dependencies must be
+   *         updated, the project has version ranges or its fingerprint cannot be computed.
+   */
+  protected DependencyGraphCache getDependencyGraphCache() {
+    File cacheDirectory = mavenComponents.getDependencyGraphCacheDirectory();
+    if (dependencyGraphCache == null && cacheDirectory != null) {
+      if (mavenComponents.getSession().getRequest().isUpdateSnapshots()) {
+        mavenComponents.getLog().debug("Dependency graph cache disabled, SNAPSHOT dependencies must be updated");
+        return null;
+      }
+      if (hasVersionRanges()) {
+        mavenComponents.getLog().debug("Dependency graph cache disabled, the project has dependencies with version ranges");
+        return null;
+      }
+      try {
+        dependencyGraphCache =
+            new DependencyGraphCache(cacheDirectory, getDependencyGraphFingerprint(), DependencyGraphCache.DEFAULT_MAX_ENTRIES);
+      } catch (IOException e) {
+        mavenComponents.getLog().debug("Dependency graph cache disabled, the project fingerprint cannot be computed", e);
+      }
+    }
+    return dependencyGraphCache;
+  }
+
+  private boolean hasVersionRanges() {
+    Model model = mavenComponents.getProject().getModel();
+    List<Dependency> dependencies = new ArrayList<>(model.getDependencies());
+    if (model.getDependencyManagement() != null) {
+      dependencies.addAll(model.getDependencyManagement().getDependencies());
+    }
+    return dependencies.stream().map(Dependency::getVersion)
+        .anyMatch(version -> version != null && (version.startsWith("[") || version.startsWith("(")));
+  }
+
+  /**
+   * @return a fingerprint of everything the resolution of the application dependencies depends on.
+   * @throws IOException if the effective model of the project cannot be written.
+   */
+  protected String getDependencyGraphFingerprint() throws IOException {
+    MavenExecutionRequest request = mavenComponents.getSession().getRequest();
+    StringWriter effectiveModel = new StringWriter();
+    new MavenXpp3Writer().write(effectiveModel, mavenComponents.getProject().getModel());
+
+    List<String> inputs = new ArrayList<>();
+    inputs.add(effectiveModel.toString());
+    inputs.add(String.valueOf(request.getActiveProfiles()));
+    inputs.add(String.valueOf(request.getInactiveProfiles()));
+    if (mavenComponents.getSharedLibraries() != null) {
+      mavenComponents.getSharedLibraries()
+          .forEach(sharedLibrary -> inputs.add(sharedLibrary.getGroupId() + ":" + sharedLibrary.getArtifactId()));
+    }
+    if (mavenComponents.getAdditionalPluginDependencies() != null) {
+      for (Plugin plugin : mavenComponents.getAdditionalPluginDependencies()) {
+        inputs.add(plugin.toString());
+        if (plugin.getAdditionalDependencies() != null) {
+          plugin.getAdditionalDependencies().forEach(dependency -> inputs
+              .add(dependency.getManagementKey() + ":" + dependency.getVersion() + ":" + dependency.getScope()));
+        }
+      }
+    }
+    if (mavenComponents.getRemoteArtifactRepositories() != null) {
+      mavenComponents.getRemoteArtifactRepositories()
+          .forEach(repository -> inputs.add(repository.getId() + "=" + repository.getUrl()));
+    }
+    return Hashing.sha256().hashString(String.join("\n", inputs), UTF_8).toString();
+  }
+
+  /**
+   * @return the {@link JarExplorer} used to find packages and resources of the application dependencies. When the local
+   *         repository is known and the index is not disabled, explorations are persisted in an index under it so they are
+   *         reused between builds.
+   */
+  protected JarExplorer getJarExplorer() {
+    File localRepository = mavenComponents.getSession().getRequest().getLocalRepositoryPath();
+    if (localRepository == null || !mavenComponents.isJarInfoCache()) {
+      return new FileJarExplorer();
+    }
+    return new PersistentJarExplorer(new FileJarExplorer(), new File(localRepository, JAR_INFO_CACHE_FOLDER),
+                                     PersistentJarExplorer.DEFAULT_MAX_CACHE_SIZE);
   }
 
   protected final boolean validateMuleRuntimeSharedLibrary(String groupId, String artifactId) {
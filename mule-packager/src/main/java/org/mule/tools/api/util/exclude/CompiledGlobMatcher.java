@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util.exclude;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.nio.file.FileSystems.getDefault;
+
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Matcher that compiles a set of glob patterns once, so a path is checked against all of them at the same time.
+ * <p>
+ * It matches exactly the same paths than a list of {@link GlobMatcher}, that is, a path matches when either the whole path or
+ * its file name matches any of the patterns. Patterns without wildcards are looked up in a hash set, patterns that are a literal
+ * preceded or followed by a single wildcard are checked with {@link String#endsWith(String)} and
+ * {@link String#startsWith(String)}. The remaining ones are grouped by kind, the ones with an explicit separator, the ones
+ * that cannot cross separators and the rest, and each kind is joined in a single group of alternatives, as in
+ * {@code {glob1,glob2}}, evaluated by one path matcher of the default file system. A group is skipped for the paths that do not
+ * end with the literal tail of any of its globs, and only the kinds that can match the path are evaluated. Globs with groups,
+ * commas or escapes of their own cannot be alternatives of a group, so they keep a path matcher each.
+ */
+class CompiledGlobMatcher implements PathMatcher {
+
+  private static final String SYNTAX = "glob";
+  private static final String GLOB_META_CHARS = "\\*?[{";
+  private static final String TAIL_BREAKING_CHARS = "\\*?[]{},";
+  private static final String GROUP_BREAKING_CHARS = "\\{},";
+
+  private final boolean isDos;
+
+  private final Set<String> literals = new HashSet<>();
+  private final Set<String> extensions = new HashSet<>();
+  private final List<String> segmentSuffixes = new ArrayList<>();
+  private final List<String> suffixes = new ArrayList<>();
+  private final List<String> segmentPrefixes = new ArrayList<>();
+  private final List<String> prefixes = new ArrayList<>();
+  // Globs with an explicit separator only match paths with separators and globs with single wildcards only match paths without
+  private final GlobGroup pathGlobs;
+  private final GlobGroup segmentGlobs;
+  private final GlobGroup anyGlobs;
+
+  public CompiledGlobMatcher(List<String> patterns) {
+    this(patterns, "\\".equals(getDefault().getSeparator()));
+  }
+
+  CompiledGlobMatcher(List<String> patterns, boolean isDos) {
+    checkArgument(patterns != null, "Patterns should not be null");
+    this.isDos = isDos;
+    List<String> pathGlobs = new ArrayList<>();
+    List<String> segmentGlobs = new ArrayList<>();
+    List<String> anyGlobs = new ArrayList<>();
+    for (String pattern : patterns) {
+      checkArgument(pattern != null, "Pattern should not be null");
+      // Dos paths are matched ignoring case, so only the file system matcher keeps their semantics
+      if (isDos) {
+        anyGlobs.add(pattern);
+      } else if (!compileLiteral(pattern)) {
+        // Alternatives of a group may or may not have separators, as in {*.log,target/**}
+        if (pattern.indexOf('{') >= 0) {
+          anyGlobs.add(pattern);
+        } else if (pattern.indexOf('/') >= 0) {
+          pathGlobs.add(pattern);
+        } else if (!pattern.contains("**")) {
+          segmentGlobs.add(pattern);
+        } else {
+          anyGlobs.add(pattern);
+        }
+      }
+    }
+    this.pathGlobs = new GlobGroup(pathGlobs);
+    this.segmentGlobs = new GlobGroup(segmentGlobs);
+    this.anyGlobs = new GlobGroup(anyGlobs);
+  }
+
+  /**
+   * Checks if the whole path or its file name matches any of the patterns.
+   *
+   * @param file The path to be checked
+   * @return true either if the path is null or if it matches at least one of the patterns
+   */
+  public boolean matches(Path file) {
+    if (file == null) {
+      return true;
+    }
+    Path fileName = file.getFileName();
+    return matches(file, file.toString()) || (fileName != null && matches(fileName, fileName.toString()));
+  }
+
+  private boolean matches(Path file, String path) {
+    if (literals.contains(path)) {
+      return true;
+    }
+    int separatorIndex = path.lastIndexOf('/');
+    if (!extensions.isEmpty()) {
+      int extensionIndex = path.lastIndexOf('.');
+      if (separatorIndex < 0 && extensionIndex >= 0 && extensions.contains(path.substring(extensionIndex))) {
+        return true;
+      }
+    }
+    for (String suffix : segmentSuffixes) {
+      if (separatorIndex < 0 && path.endsWith(suffix)) {
+        return true;
+      }
+    }
+    for (String suffix : suffixes) {
+      if (path.endsWith(suffix)) {
+        return true;
+      }
+    }
+    for (String prefix : segmentPrefixes) {
+      if (path.startsWith(prefix) && path.indexOf('/', prefix.length()) < 0) {
+        return true;
+      }
+    }
+    for (String prefix : prefixes) {
+      if (path.startsWith(prefix)) {
+        return true;
+      }
+    }
+    return (separatorIndex < 0 ? segmentGlobs : pathGlobs).matches(file, path) || anyGlobs.matches(file, path);
+  }
+
+  /**
+   * Registers the pattern in the fast paths when it is a literal, optionally preceded or followed by a wildcard.
+   *
+   * @return whether the pattern was registered.
+   */
+  private boolean compileLiteral(String pattern) {
+    if (!hasGlobMeta(pattern)) {
+      literals.add(pattern);
+      return true;
+    }
+    if (pattern.startsWith("**") && !hasGlobMeta(pattern.substring(2))) {
+      suffixes.add(pattern.substring(2));
+      return true;
+    }
+    if (pattern.startsWith("*") && !hasGlobMeta(pattern.substring(1)) && pattern.indexOf('/') < 0) {
+      String suffix = pattern.substring(1);
+      if (suffix.lastIndexOf('.') == 0) {
+        extensions.add(suffix);
+      } else {
+        // A single wildcard does not cross separators, so the path cannot have any
+        segmentSuffixes.add(suffix);
+      }
+      return true;
+    }
+    if (pattern.endsWith("**") && !hasGlobMeta(pattern.substring(0, pattern.length() - 2))) {
+      prefixes.add(pattern.substring(0, pattern.length() - 2));
+      return true;
+    }
+    if (pattern.endsWith("*") && !hasGlobMeta(pattern.substring(0, pattern.length() - 1))) {
+      segmentPrefixes.add(pattern.substring(0, pattern.length() - 1));
+      return true;
+    }
+    return false;
+  }
+
+  private static boolean hasGlobMeta(String pattern) {
+    return containsAny(pattern, GLOB_META_CHARS);
+  }
+
+  private static boolean containsAny(String value, String chars) {
+    for (int i = 0; i < value.length(); i++) {
+      if (chars.indexOf(value.charAt(i)) >= 0) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private String getLiteralTail(String glob) {
+    // Dos paths are matched ignoring case, so their tails cannot be compared
+    if (isDos) {
+      return "";
+    }
+    int start = glob.length();
+    while (start > 0 && TAIL_BREAKING_CHARS.indexOf(glob.charAt(start - 1)) < 0) {
+      start--;
+    }
+    return glob.substring(start);
+  }
+
+  /**
+   * Globs of the same kind joined as the alternatives of a single group, so a path is checked against all of them by one path
+   * matcher.
+   */
+  private class GlobGroup {
+
+    private final PathMatcher matcher;
+    private final List<String> tails = new ArrayList<>();
+    private final List<Glob> ungroupedGlobs = new ArrayList<>();
+
+    private GlobGroup(List<String> globs) {
+      List<String> alternatives = new ArrayList<>();
+      boolean filterByTail = true;
+      for (String glob : globs) {
+        if (containsAny(glob, GROUP_BREAKING_CHARS)) {
+          ungroupedGlobs.add(new Glob(glob));
+        } else {
+          alternatives.add(glob);
+          String tail = getLiteralTail(glob);
+          filterByTail &= !tail.isEmpty();
+          tails.add(tail);
+        }
+      }
+      if (!filterByTail) {
+        tails.clear();
+      }
+      matcher = alternatives.isEmpty() ? null : getDefault().getPathMatcher(SYNTAX + ":{" + String.join(",", alternatives) + "}");
+    }
+
+    private boolean matches(Path file, String path) {
+      if (matcher != null && hasTail(path) && matcher.matches(file)) {
+        return true;
+      }
+      for (Glob glob : ungroupedGlobs) {
+        if (glob.matches(file, path)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    private boolean hasTail(String path) {
+      if (tails.isEmpty()) {
+        return true;
+      }
+      for (String tail : tails) {
+        if (path.endsWith(tail)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /**
+   * Glob evaluated with the path matcher of the default file system, only for the paths that end with its literal tail.
+   */
+  private class Glob {
+
+    private final PathMatcher matcher;
+    private final String tail;
+
+    private Glob(String glob) {
+      matcher = getDefault().getPathMatcher(SYNTAX + ":" + glob);
+      tail = getLiteralTail(glob);
+    }
+
+    private boolean matches(Path file, String path) {
+      return path.endsWith(tail) && matcher.matches(file);
+    }
+  }
+}
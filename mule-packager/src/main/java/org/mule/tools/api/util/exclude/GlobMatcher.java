@@ -35,10 +35,13 @@ class GlobMatcher implements PathMatcher {
 
   private static final String SYNTAX = "glob";
 
+  private final String pattern;
+
   private final PathMatcher matcher;
 
   public GlobMatcher(String pattern) {
     checkArgument(pattern != null, "Pattern should not be null");
+    this.pattern = pattern;
     matcher = getDefault().getPathMatcher(SYNTAX + ":" + pattern);
   }
 
@@ -48,4 +51,8 @@ class GlobMatcher implements PathMatcher {
   public boolean matches(Path file) {
     return file == null || matcher.matches(file) || matcher.matches(file.getFileName());
   }
+
+  public String getPattern() {
+    return pattern;
+  }
 }
@@ -16,12 +16,16 @@ import java.util.List;
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.io.Files.readLines;
+import static java.util.stream.Collectors.toList;
 
 /**
  * Matcher for mule exclusions.
  * 
  * Parses the _muleExclusion file present in the project base folder to create a list of path matchers. The file must contain
  * pathnames specified in a glob pattern. By default, .classpath and .project files always match against this matcher.
+ *
+ * All the patterns are compiled in a single {@link CompiledGlobMatcher}, as this matcher is checked against every file copied to
+ * the package.
  */
 public class MuleExclusionMatcher implements PathMatcher {
 
@@ -32,7 +36,11 @@ public class MuleExclusionMatcher implements PathMatcher {
   private List<GlobMatcher> muleExcludeMatchers =
       newArrayList(CLASSPATH_FILE_MATCHER, PROJECT_FILE_MATCHER);
 
-  public MuleExclusionMatcher() {}
+  private CompiledGlobMatcher compiledMatcher;
+
+  public MuleExclusionMatcher() {
+    compile();
+  }
 
   /**
    * Creates a muleExclusionMatcher based on the _muleExcludes file.
@@ -42,6 +50,7 @@ public class MuleExclusionMatcher implements PathMatcher {
   public MuleExclusionMatcher(Path projectBaseFolder) throws IOException {
     checkArgument(projectBaseFolder != null, "Project base folder should not be null");
     parse(new File(projectBaseFolder.toFile(), MULE_EXCLUDE_FILENAME));
+    compile();
   }
 
   private void parse(File file) throws IOException {
@@ -50,6 +59,10 @@ public class MuleExclusionMatcher implements PathMatcher {
     }
   }
 
+  private void compile() {
+    compiledMatcher = new CompiledGlobMatcher(muleExcludeMatchers.stream().map(GlobMatcher::getPattern).collect(toList()));
+  }
+
   /**
    * Checks if the path should be excluded according to patterns in the mule exclude file.
    * 
@@ -57,6 +70,6 @@ public class MuleExclusionMatcher implements PathMatcher {
    * @return true either if the path is null or if it matches at least one of the path exclusions
    */
   public boolean matches(Path file) {
-    return muleExcludeMatchers.stream().anyMatch(pattern -> pattern.matches(file));
+    return compiledMatcher.matches(file);
   }
 }
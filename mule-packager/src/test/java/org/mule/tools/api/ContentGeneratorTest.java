@@ -13,6 +13,7 @@ import static org.mule.tools.api.packager.structure.FolderNames.CLASSES;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.mule.tools.api.packager.DefaultProjectInformation;
@@ -22,14 +23,20 @@ import org.mule.tools.api.packager.packaging.PackagingType;
 import org.mule.tools.api.packager.sources.MuleContentGenerator;
 import org.apache.maven.model.Parent;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.zip.GZIPInputStream;
 
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 
+import org.mule.tools.api.util.PackagerLog;
 import org.mule.tools.api.util.Project;
 
 public class ContentGeneratorTest {
@@ -201,6 +208,37 @@ public class ContentGeneratorTest {
     PackagerTestUtils.assertFileExists(destinationFolderPath.resolve(FAKE_FILE_NAME));
   }
 
+  @Test
+  public void createMetaInfMuleSourceFolderContentKeepsOrphansByDefault() throws IOException {
+    Path sourceFolderPath = projectBaseFolder.toAbsolutePath();
+    PackagerTestUtils.createFolder(sourceFolderPath, FAKE_FILE_NAME, true);
+    Path destinationFolderPath = projectTargetFolder.toPath().resolve(PackagerTestUtils.META_INF)
+        .resolve(PackagerTestUtils.MULE_SRC).resolve(ARTIFACT_ID);
+    PackagerTestUtils.createFolder(destinationFolderPath, "removed.xml", true);
+
+    contentGenerator.createMetaInfMuleSourceFolderContent();
+
+    PackagerTestUtils.assertFileExists(destinationFolderPath.resolve(FAKE_FILE_NAME));
+    PackagerTestUtils.assertFileExists(destinationFolderPath.resolve("removed.xml"));
+  }
+
+  @Test
+  public void createMetaInfMuleSourceFolderContentInSyncMode() throws IOException {
+    PackagerLog log = mock(PackagerLog.class);
+    contentGenerator.withSyncCopy(true).withLog(log);
+    Path sourceFolderPath = projectBaseFolder.toAbsolutePath();
+    PackagerTestUtils.createFolder(sourceFolderPath, FAKE_FILE_NAME, true);
+    Path destinationFolderPath = projectTargetFolder.toPath().resolve(PackagerTestUtils.META_INF)
+        .resolve(PackagerTestUtils.MULE_SRC).resolve(ARTIFACT_ID);
+    PackagerTestUtils.createFolder(destinationFolderPath, "removed.xml", true);
+
+    contentGenerator.createMetaInfMuleSourceFolderContent();
+
+    PackagerTestUtils.assertFileExists(destinationFolderPath.resolve(FAKE_FILE_NAME));
+    PackagerTestUtils.assertFileDoesNotExists(destinationFolderPath.resolve("removed.xml"));
+    verify(log).info(contains("1 files deleted"));
+  }
+
   @Test
   public void createDescriptorsNoOriginalPom() {
     assertThatThrownBy(() -> {
@@ -373,6 +411,19 @@ public class ContentGeneratorTest {
     PackagerTestUtils.assertFileContains(descriptorDestinationPath.resolve(descriptorFileName), "javaSpecificationVersions");
   }
 
+  @Test
+  public void createAstFileKeepsUnchangedFile() throws IOException {
+    Path astFile = contentGenerator.getArtifactAstPath();
+    contentGenerator.createAstFile(new ByteArrayInputStream("ast".getBytes()));
+    Files.setLastModifiedTime(astFile, FileTime.fromMillis(1000));
+
+    contentGenerator.createAstFile(new ByteArrayInputStream("ast".getBytes()));
+    assertThat(Files.getLastModifiedTime(astFile).toMillis()).isEqualTo(1000);
+
+    contentGenerator.createAstFile(new ByteArrayInputStream("new ast".getBytes()));
+    assertThat(Files.readAllBytes(astFile)).isEqualTo("new ast".getBytes());
+  }
+
   @Test
   public void createContent() throws IOException {
     MuleContentGenerator contentGeneratorMock = mock(MuleContentGenerator.class);
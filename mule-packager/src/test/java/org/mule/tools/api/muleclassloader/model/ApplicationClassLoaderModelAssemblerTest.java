@@ -143,6 +143,8 @@ class ApplicationClassLoaderModelAssemblerTest {
     packages.add("org.test");
     Set<String> resources = new HashSet<>();
     resources.add("folder/file.properties");
+    when(jarExplorer.exploreAll(any())).thenCallRealMethod();
+    when(jarExplorer.explore(any())).thenReturn(new JarInfo(new HashSet<>(), new HashSet<>()));
     when(jarExplorer.explore(classesDirectory.toURI())).thenReturn(new JarInfo(packages, resources));
     ApplicationClassloaderModel applicationClassloaderModel =
         applicationClassLoaderModelAssemblerSpy.getApplicationClassLoaderModel(mock(File.class), outputDirectory,
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.muleclassloader.model.resolver;
+
+import static java.util.Collections.singletonList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mule.maven.pom.parser.api.model.BundleDependency;
+import org.mule.maven.pom.parser.api.model.BundleDescriptor;
+
+class DependencyGraphCacheTest {
+
+  @TempDir
+  Path temporaryFolder;
+
+  private File cacheDirectory;
+  private File library;
+  private List<BundleDependency> dependencies;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    cacheDirectory = temporaryFolder.resolve("cache").toFile();
+    library = temporaryFolder.resolve("library-1.0.0.jar").toFile();
+    Files.write(library.toPath(), "library".getBytes());
+    BundleDescriptor descriptor = new BundleDescriptor.Builder().setGroupId("group").setArtifactId("library")
+        .setVersion("1.0.0").setBaseVersion("1.0.0").build();
+    dependencies = singletonList(new BundleDependency.Builder().setBundleDescriptor(descriptor)
+        .setBundleUri(library.toURI()).build());
+  }
+
+  @Test
+  void cachedGraphIsReused() {
+    new DependencyGraphCache(cacheDirectory, "fingerprint", 1).put(false, dependencies);
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+
+    Optional<List<BundleDependency>> cachedDependencies = cache.get(false);
+
+    assertThat(cachedDependencies).isPresent();
+    assertThat(cachedDependencies.get()).hasSize(1);
+    assertThat(cachedDependencies.get().get(0).getBundleUri()).isEqualTo(library.toURI());
+    assertThat(cache.getHits()).isEqualTo(1);
+  }
+
+  @Test
+  void putStoresTheGraph() {
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+
+    cache.put(false, dependencies);
+
+    // put does not fail when the graph cannot be written, so the entry is checked explicitly
+    assertThat(cacheDirectory.listFiles()).hasSize(1);
+    Optional<List<BundleDependency>> cachedDependencies = cache.get(false);
+    assertThat(cachedDependencies).isPresent();
+    BundleDescriptor descriptor = cachedDependencies.get().get(0).getDescriptor();
+    assertThat(descriptor.getGroupId()).isEqualTo("group");
+    assertThat(descriptor.getArtifactId()).isEqualTo("library");
+    assertThat(descriptor.getVersion()).isEqualTo("1.0.0");
+  }
+
+  @Test
+  void entryWithSerializedObjectsIsDiscarded() throws IOException {
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+    cache.put(false, dependencies);
+    File entry = cacheDirectory.listFiles()[0];
+    try (ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(entry))) {
+      output.writeObject(new ArrayList<>(dependencies));
+    }
+
+    assertThat(cache.get(false)).isEmpty();
+    assertThat(entry).doesNotExist();
+  }
+
+  @Test
+  void graphIsKeyedByFingerprintAndScope() {
+    new DependencyGraphCache(cacheDirectory, "fingerprint", 2).put(false, dependencies);
+
+    assertThat(new DependencyGraphCache(cacheDirectory, "fingerprint", 2).get(true)).isEmpty();
+    assertThat(new DependencyGraphCache(cacheDirectory, "other", 2).get(false)).isEmpty();
+  }
+
+  @Test
+  void graphIsDiscardedWhenFileChanges() throws IOException {
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+    cache.put(false, dependencies);
+
+    Files.write(library.toPath(), "new library".getBytes());
+
+    assertThat(cache.get(false)).isEmpty();
+    assertThat(cacheDirectory.listFiles()).isEmpty();
+  }
+
+  @Test
+  void graphIsDiscardedWhenFileIsMissing() throws IOException {
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+    cache.put(false, dependencies);
+
+    Files.delete(library.toPath());
+
+    assertThat(cache.get(false)).isEmpty();
+  }
+
+  @Test
+  void graphIsDiscardedWhenPomChanges() throws IOException {
+    File pom = temporaryFolder.resolve("library-1.0.0.pom").toFile();
+    Files.write(pom.toPath(), "<project/>".getBytes());
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+    cache.put(false, dependencies);
+
+    Files.write(pom.toPath(), "<project><dependencies/></project>".getBytes());
+
+    assertThat(cache.get(false)).isEmpty();
+  }
+
+  @Test
+  void graphWithSnapshotsIsNotStored() {
+    BundleDescriptor descriptor = new BundleDescriptor.Builder().setGroupId("group").setArtifactId("library")
+        .setVersion("1.0.0-20240101.101010-1").setBaseVersion("1.0.0-SNAPSHOT").build();
+    DependencyGraphCache cache = new DependencyGraphCache(cacheDirectory, "fingerprint", 1);
+
+    cache.put(false, singletonList(new BundleDependency.Builder().setBundleDescriptor(descriptor)
+        .setBundleUri(library.toURI()).build()));
+
+    assertThat(cache.get(false)).isEmpty();
+  }
+
+  @Test
+  void leastRecentlyUsedEntryIsEvicted() throws IOException {
+    new DependencyGraphCache(cacheDirectory, "first", 2).put(false, dependencies);
+    new DependencyGraphCache(cacheDirectory, "second", 2).put(false, dependencies);
+    File[] entries = cacheDirectory.listFiles();
+    for (File entry : entries) {
+      entry.setLastModified(System.currentTimeMillis() - 60000);
+    }
+    // Reading the first entry makes the second one the least recently used
+    assertThat(new DependencyGraphCache(cacheDirectory, "first", 2).get(false)).isPresent();
+
+    new DependencyGraphCache(cacheDirectory, "third", 2).put(false, dependencies);
+
+    assertThat(cacheDirectory.listFiles()).hasSize(2);
+    assertThat(new DependencyGraphCache(cacheDirectory, "first", 2).get(false)).isPresent();
+    assertThat(new DependencyGraphCache(cacheDirectory, "second", 2).get(false)).isEmpty();
+    assertThat(new DependencyGraphCache(cacheDirectory, "third", 2).get(false)).isPresent();
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.archiver;
+
+import static java.util.Arrays.asList;
+import static java.util.zip.ZipEntry.DEFLATED;
+import static java.util.zip.ZipEntry.STORED;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.zip.ZipFile;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class CompressionPolicyTest {
+
+  @TempDir
+  public File temporaryFolder;
+
+  @Test
+  public void defaultPolicyStoresNestedArchives() {
+    CompressionPolicy policy = CompressionPolicy.defaultPolicy();
+
+    assertThat(policy.isStored("repository/org/mule/library/1.0.0/library-1.0.0.jar")).isTrue();
+    assertThat(policy.isStored("repository/org/mule/plugin/1.0.0/plugin-1.0.0-mule-plugin.JAR")).isTrue();
+    assertThat(policy.isStored("META-INF/mule-artifact/mule-artifact.json")).isFalse();
+    assertThat(policy.isStored("org/mule/Main.class")).isFalse();
+    assertThat(policy.isStored("repository/org/mule/library.jar/pom.xml")).isFalse();
+    assertThat(policy.isStored("LICENSE")).isFalse();
+  }
+
+  @Test
+  public void customPolicyReplacesTheDefaultExtensions() {
+    CompressionPolicy policy = new CompressionPolicy(asList(".XML", "dat"));
+
+    assertThat(policy.getStoredExtensions()).containsExactly("dat", "xml");
+    assertThat(policy.isStored("mule-config.xml")).isTrue();
+    assertThat(policy.isStored("library.jar")).isFalse();
+    assertThat(CompressionPolicy.deflateAll().isStored("library.jar")).isFalse();
+  }
+
+  @Test
+  public void zipArchiverAppliesThePolicy() throws IOException {
+    assertEntryMethods(new MuleArchiver());
+  }
+
+  @Test
+  public void parallelZipArchiverAppliesThePolicy() throws IOException {
+    assertEntryMethods(new MuleArchiver(2));
+  }
+
+  private void assertEntryMethods(MuleArchiver archiver) throws IOException {
+    File repository = new File(temporaryFolder, "repository");
+    File library = new File(repository, "org/mule/library/1.0.0/library-1.0.0.jar");
+    library.getParentFile().mkdirs();
+    Files.write(library.toPath(), new byte[1024]);
+    Files.write(new File(library.getParentFile(), "library-1.0.0.pom").toPath(), new byte[1024]);
+    File destinationFile = new File(temporaryFolder, "package.jar");
+
+    archiver.setCompressionPolicy(CompressionPolicy.defaultPolicy());
+    archiver.addRepository(repository, null, null);
+    archiver.setDestFile(destinationFile);
+    archiver.createArchive();
+
+    try (ZipFile zipFile = new ZipFile(destinationFile)) {
+      assertThat(zipFile.getEntry("repository/org/mule/library/1.0.0/library-1.0.0.jar").getMethod()).isEqualTo(STORED);
+      assertThat(zipFile.getEntry("repository/org/mule/library/1.0.0/library-1.0.0.pom").getMethod()).isEqualTo(DEFLATED);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.archiver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+import org.codehaus.plexus.archiver.AbstractArchiver;
+import org.codehaus.plexus.archiver.zip.ZipArchiver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares the plexus zip archiver, which already deflates on every available processor, with the parallel zip archiver on a full
+ * and on an incremental build of the same content. Run it with -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class ParallelZipArchiverBenchmarkTest {
+
+  private static final int FILES = 2000;
+  private static final int ROUNDS = 5;
+  private static final int THREADS = Runtime.getRuntime().availableProcessors();
+
+  @TempDir
+  public File temporaryFolder;
+
+  @Test
+  public void archiverBenchmark(TestReporter reporter) throws IOException {
+    File sourceFolder = new File(temporaryFolder, "source");
+    Random random = new Random(42);
+    for (int i = 0; i < FILES; i++) {
+      File file = new File(sourceFolder, "org/mule/group" + (i % 20) + "/file" + i + ".txt");
+      file.getParentFile().mkdirs();
+      // Compressible content, half random bytes and half repeated ones
+      byte[] content = new byte[8 * 1024 + (i % 10) * 4 * 1024];
+      for (int j = 0; j < content.length; j += 2) {
+        content[j] = (byte) random.nextInt(16);
+      }
+      Files.write(file.toPath(), content);
+    }
+
+    long plexusTime = 0;
+    long parallelTime = 0;
+    long incrementalTime = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      File plexus = createArchive(new ZipArchiver(), sourceFolder, "plexus-" + round + ".jar");
+      plexusTime += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      File parallel = createArchive(new ParallelZipArchiver(THREADS), sourceFolder, "parallel-" + round + ".jar");
+      parallelTime += System.nanoTime() - start;
+
+      ParallelZipArchiver incrementalArchiver = new ParallelZipArchiver(THREADS);
+      incrementalArchiver.setPreviousArchive(parallel);
+      start = System.nanoTime();
+      File incremental = createArchive(incrementalArchiver, sourceFolder, "incremental-" + round + ".jar");
+      incrementalTime += System.nanoTime() - start;
+
+      assertThat(incrementalArchiver.getReusedEntries()).isEqualTo(FILES);
+      assertThat(incremental).hasSameBinaryContentAs(parallel);
+      assertThat(plexus).isFile();
+    }
+
+    // Timings depend on the machine, so they are reported instead of compared
+    reporter
+        .publishEntry("timings",
+                      String.format("%d entries on %d threads: plexus %d ms, parallel %d ms, parallel incremental %d ms", FILES,
+                                    THREADS, plexusTime / ROUNDS / 1000000, parallelTime / ROUNDS / 1000000,
+                                    incrementalTime / ROUNDS / 1000000));
+  }
+
+  private File createArchive(AbstractArchiver zipArchiver, File sourceFolder, String name) throws IOException {
+    File destinationFile = new File(temporaryFolder, name);
+    MuleArchiver archiver = new MuleArchiver(zipArchiver);
+    archiver.addRepository(sourceFolder, null, null);
+    archiver.setDestFile(destinationFile);
+    archiver.createArchive();
+    return destinationFile;
+  }
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.archiver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.codehaus.plexus.archiver.zip.ZipArchiver;
+import org.codehaus.plexus.util.IOUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParallelZipArchiverTest {
+
+  @TempDir
+  public File temporaryFolder;
+
+  private File sourceFolder;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    sourceFolder = new File(temporaryFolder, "source");
+    Random random = new Random(42);
+    for (int i = 0; i < 30; i++) {
+      File file = new File(sourceFolder, "org/mule/group" + (i % 4) + "/file" + i + ".txt");
+      file.getParentFile().mkdirs();
+      byte[] content = new byte[i == 0 ? 2 * 1024 * 1024 : 100 * i];
+      random.nextBytes(content);
+      Files.write(file.toPath(), content);
+    }
+  }
+
+  @Test
+  public void archiveDoesNotDependOnTheNumberOfThreads() throws IOException {
+    File sequential = createArchive(new MuleArchiver(new ParallelZipArchiver(1)), "sequential.jar");
+    File parallel = createArchive(new MuleArchiver(new ParallelZipArchiver(4)), "parallel.jar");
+
+    assertThat(parallel).hasSameBinaryContentAs(sequential);
+  }
+
+  @Test
+  public void archiveHasTheSameContentThanThePlexusZipArchiver() throws IOException {
+    File plexus = createArchive(new MuleArchiver(new ZipArchiver()), "plexus.jar");
+    File parallel = createArchive(new MuleArchiver(4), "parallel.jar");
+
+    try (ZipFile expected = new ZipFile(plexus); ZipFile actual = new ZipFile(parallel)) {
+      List<String> expectedNames = getSortedNames(expected);
+      assertThat(getSortedNames(actual)).containsExactlyElementsOf(expectedNames);
+      for (String name : expectedNames) {
+        ZipEntry expectedEntry = expected.getEntry(name);
+        ZipEntry actualEntry = actual.getEntry(name);
+        assertThat(actualEntry.getTime()).describedAs(name).isEqualTo(expectedEntry.getTime());
+        assertThat(IOUtil.toByteArray(actual.getInputStream(actualEntry)))
+            .describedAs(name).isEqualTo(IOUtil.toByteArray(expected.getInputStream(expectedEntry)));
+      }
+    }
+  }
+
+  @Test
+  public void unchangedEntriesAreCopiedFromThePreviousArchive() throws IOException {
+    File previous = createArchive(new MuleArchiver(new ParallelZipArchiver(2)), "previous.jar");
+    File changedFile = new File(sourceFolder, "org/mule/group1/file5.txt");
+    Files.write(changedFile.toPath(), "changed".getBytes());
+    changedFile.setLastModified(changedFile.lastModified() + 10000);
+
+    ParallelZipArchiver incrementalArchiver = new ParallelZipArchiver(2);
+    incrementalArchiver.setPreviousArchive(previous);
+    File incremental = createArchive(new MuleArchiver(incrementalArchiver), "incremental.jar");
+    File full = createArchive(new MuleArchiver(new ParallelZipArchiver(2)), "full.jar");
+
+    assertThat(incrementalArchiver.getReusedEntries()).isEqualTo(29);
+    assertThat(incremental).hasSameBinaryContentAs(full);
+  }
+
+  @Test
+  public void entryWithSameSizeAndTimestampButDifferentContentIsCompressedAgain() throws IOException {
+    File previous = createArchive(new MuleArchiver(new ParallelZipArchiver(2)), "previous.jar");
+    File changedFile = new File(sourceFolder, "org/mule/group1/file5.txt");
+    long lastModified = changedFile.lastModified();
+    byte[] content = Files.readAllBytes(changedFile.toPath());
+    content[0]++;
+    Files.write(changedFile.toPath(), content);
+    changedFile.setLastModified(lastModified);
+
+    ParallelZipArchiver incrementalArchiver = new ParallelZipArchiver(2);
+    incrementalArchiver.setPreviousArchive(previous);
+    File incremental = createArchive(new MuleArchiver(incrementalArchiver), "incremental.jar");
+
+    assertThat(incrementalArchiver.getReusedEntries()).isEqualTo(29);
+    try (ZipFile zipFile = new ZipFile(incremental)) {
+      assertThat(IOUtil.toByteArray(zipFile.getInputStream(zipFile.getEntry("repository/org/mule/group1/file5.txt"))))
+          .isEqualTo(content);
+    }
+  }
+
+  @Test
+  public void invalidNumberOfThreads() {
+    assertThatThrownBy(() -> new ParallelZipArchiver(0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("greater than zero");
+  }
+
+  private File createArchive(MuleArchiver archiver, String name) throws IOException {
+    File destinationFile = new File(temporaryFolder, name);
+    archiver.addRepository(sourceFolder, null, null);
+    archiver.setDestFile(destinationFile);
+    archiver.createArchive();
+    return destinationFile;
+  }
+
+  private List<String> getSortedNames(ZipFile zipFile) {
+    List<String> names = new ArrayList<>();
+    Collections.list(zipFile.entries()).forEach(entry -> names.add(entry.getName()));
+    Collections.sort(names);
+    return names;
+  }
+}
@@ -7,8 +7,11 @@
 
 package org.mule.tools.api.packager.builder;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,17 +29,36 @@ import static org.mule.tools.api.packager.structure.FolderNames.TEST_MULE;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import com.google.common.hash.Hashing;
+import org.apache.commons.io.IOUtils;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
+import org.mule.tools.api.classloader.model.Artifact;
+import org.mule.tools.api.classloader.model.ArtifactCoordinates;
 import org.mule.tools.api.packager.MuleProjectFoldersGenerator;
 import org.mule.tools.api.packager.archiver.MuleArchiver;
+import org.mule.tools.api.packager.archiver.ParallelZipArchiver;
 import org.mule.tools.api.packager.packaging.PackagingOptions;
 import org.mule.tools.api.packager.packaging.PackagingType;
+import org.mule.tools.api.repository.ArtifactInstaller;
+import org.mule.tools.api.repository.InstallStrategy;
+import org.mule.tools.api.repository.VirtualRepository;
+import org.mule.tools.api.util.PackagerLog;
 
 public class MulePackageBuilderTest {
 
@@ -288,6 +310,72 @@ public class MulePackageBuilderTest {
     verify(archiverMock, times(1)).createArchive();
   }
 
+  @Test
+  public void createIncrementalPackageReusesThePreviousPackage() throws IOException {
+    when(archiverMock.supportsIncrementalArchiving()).thenReturn(true);
+    Files.write(destinationFile.toPath(), new byte[] {1, 2, 3});
+    File previousPackage = new File(fakeTargetFolder, destinationFile.getName() + ".previous");
+    doAnswer(invocation -> {
+      assertThat(destinationFile).doesNotExist();
+      assertThat(previousPackage).hasBinaryContent(new byte[] {1, 2, 3});
+      return null;
+    }).when(archiverMock).createArchive();
+
+    builder.withPackagingOptions(new PackagingOptions(true, false, false, false).withIncrementalPackage(true));
+
+    builder.createPackage(fakeTargetFolder.toPath(), destinationFile.toPath());
+
+    verify(archiverMock, times(1)).setPreviousArchive(previousPackage);
+    verify(archiverMock, times(1)).createArchive();
+    assertThat(previousPackage).doesNotExist();
+  }
+
+  @Test
+  public void incrementalPackageUsesAtLeastTheAvailableProcessors() {
+    MulePackageBuilder incrementalBuilder = new MulePackageBuilder();
+    incrementalBuilder.withPackagingOptions(new PackagingOptions(false, false, false, false).withCompressionThreads(1)
+        .withIncrementalPackage(true));
+
+    assertThat(incrementalBuilder.getArchiver().getArchiver()).isInstanceOf(ParallelZipArchiver.class);
+    assertThat(((ParallelZipArchiver) incrementalBuilder.getArchiver().getArchiver()).getThreads())
+        .isEqualTo(Runtime.getRuntime().availableProcessors());
+  }
+
+  @Test
+  public void createPackageWithVirtualRepositoryHasTheMaterializedRepositoryEntries() throws IOException {
+    Path localRepository = Files.createDirectories(fakeTargetFolder.toPath().resolve("local"));
+    Path artifactFile = Files.write(localRepository.resolve("library-1.0.0.jar"), new byte[] {1, 2, 3});
+    Files.write(localRepository.resolve("library-1.0.0.pom"), "<project/>".getBytes(UTF_8));
+    Artifact artifact = new Artifact(new ArtifactCoordinates("org.library", "library", "1.0.0"), artifactFile.toUri());
+    PackagingOptions packagingOptions = new PackagingOptions(false, false, false, false);
+
+    Path materializedFolder = fakeTargetFolder.toPath().resolve("materialized");
+    new MuleProjectFoldersGenerator(GROUP_ID, ARTIFACT_ID, PACKAGING_TYPE).generate(materializedFolder);
+    new ArtifactInstaller(mock(PackagerLog.class))
+        .installArtifact(materializedFolder.resolve(REPOSITORY.value()).toFile(), artifact, Optional.empty(), false);
+    File materializedPackage = new File(fakeTargetFolder, "materialized.jar");
+    new MulePackageBuilder().withPackagingOptions(packagingOptions).createPackage(materializedFolder,
+                                                                                  materializedPackage.toPath());
+
+    Path virtualFolder = fakeTargetFolder.toPath().resolve("virtual");
+    new MuleProjectFoldersGenerator(GROUP_ID, ARTIFACT_ID, PACKAGING_TYPE).generate(virtualFolder);
+    File virtualRepositoryFolder = virtualFolder.resolve(REPOSITORY.value()).toFile();
+    VirtualRepository virtualRepository = new VirtualRepository(virtualRepositoryFolder);
+    new ArtifactInstaller(mock(PackagerLog.class), InstallStrategy.COPY, virtualRepository)
+        .installArtifact(virtualRepositoryFolder, artifact, Optional.empty(), false);
+    virtualRepository.store(virtualFolder.resolve(VirtualRepository.ENTRIES_FILE_NAME).toFile());
+    File virtualPackage = new File(fakeTargetFolder, "virtual.jar");
+    new MulePackageBuilder().withPackagingOptions(packagingOptions).createPackage(virtualFolder, virtualPackage.toPath());
+
+    try (Stream<Path> stagedFiles = Files.walk(virtualRepositoryFolder.toPath())) {
+      assertThat(stagedFiles.filter(Files::isRegularFile)).describedAs("Virtual entries should not be staged").isEmpty();
+    }
+    Map<String, String> materializedEntries = getEntries(materializedPackage);
+    assertThat(materializedEntries).containsKeys("repository/org/library/library/1.0.0/library-1.0.0.jar",
+                                                 "repository/org/library/library/1.0.0/library-1.0.0.pom");
+    assertThat(getEntries(virtualPackage)).isEqualTo(materializedEntries);
+  }
+
   @Test
   public void createPackageLightweight() throws IOException {
     boolean onlyMuleSources = false;
@@ -639,5 +727,16 @@ public class MulePackageBuilderTest {
     verify(archiverMock, times(1)).createArchive();
   }
 
+  private static Map<String, String> getEntries(File packageFile) throws IOException {
+    Map<String, String> entries = new TreeMap<>();
+    try (ZipFile zipFile = new ZipFile(packageFile)) {
+      for (ZipEntry entry : Collections.list(zipFile.entries())) {
+        try (InputStream content = zipFile.getInputStream(entry)) {
+          entries.put(entry.getName(), Hashing.sha256().hashBytes(IOUtils.toByteArray(content)).toString());
+        }
+      }
+    }
+    return entries;
+  }
 
 }
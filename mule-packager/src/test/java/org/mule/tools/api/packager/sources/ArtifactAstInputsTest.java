@@ -0,0 +1,84 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.sources;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArtifactAstInputsTest {
+
+  @TempDir
+  public Path temporaryFolder;
+
+  @Test
+  public void writtenInputsAreRead() throws IOException {
+    ArtifactAstInputs inputs = ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "fingerprint", "validated");
+    Path file = temporaryFolder.resolve("target").resolve(ArtifactAstInputs.ARTIFACT_AST_INPUTS);
+
+    inputs.write(file);
+
+    assertThat(ArtifactAstInputs.read(file)).contains(inputs);
+  }
+
+  @Test
+  public void missingInputs() throws IOException {
+    assertThat(ArtifactAstInputs.read(temporaryFolder.resolve(ArtifactAstInputs.ARTIFACT_AST_INPUTS))).isEmpty();
+  }
+
+  @Test
+  public void changedConfigs() {
+    ArtifactAstInputs previous = ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "fingerprint", "validated");
+    ArtifactAstInputs inputs = ArtifactAstInputs.of(contents("<mule/>", "<mule><flow/></mule>"), "fingerprint", "validated");
+
+    assertThat(inputs).isNotEqualTo(previous);
+    assertThat(inputs.getChangedConfigs(previous)).containsExactly("flows/b.xml");
+  }
+
+  @Test
+  public void changedExtensionModels() {
+    ArtifactAstInputs previous = ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "fingerprint", "validated");
+    ArtifactAstInputs inputs = ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "other fingerprint", "validated");
+
+    assertThat(inputs).isNotEqualTo(previous);
+    assertThat(inputs.getChangedConfigs(previous)).isEmpty();
+  }
+
+  @Test
+  public void changedValidation() {
+    ArtifactAstInputs previous = ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "fingerprint", "skipped");
+    ArtifactAstInputs inputs = ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "fingerprint", "validated");
+
+    assertThat(inputs).isNotEqualTo(previous);
+    assertThat(inputs.isValidationChanged(previous)).isTrue();
+    assertThat(inputs.getChangedConfigs(previous)).isEmpty();
+  }
+
+  @Test
+  public void configsOrderIsPartOfTheInputs() {
+    Map<String, byte[]> reversedContents = new LinkedHashMap<>();
+    reversedContents.put("flows/b.xml", "<mule></mule>".getBytes());
+    reversedContents.put("a.xml", "<mule/>".getBytes());
+
+    assertThat(ArtifactAstInputs.of(reversedContents, "fingerprint", "validated"))
+        .isNotEqualTo(ArtifactAstInputs.of(contents("<mule/>", "<mule></mule>"), "fingerprint", "validated"));
+  }
+
+  private Map<String, byte[]> contents(String a, String b) {
+    Map<String, byte[]> contents = new LinkedHashMap<>();
+    contents.put("a.xml", a.getBytes());
+    contents.put("flows/b.xml", b.getBytes());
+    return contents;
+  }
+}
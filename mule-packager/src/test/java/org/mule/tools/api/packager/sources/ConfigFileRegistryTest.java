@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.packager.sources;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ConfigFileRegistryTest {
+
+  @TempDir
+  public Path temporaryFolder;
+
+  private final ConfigFileRegistry registry = new ConfigFileRegistry();
+
+  @Test
+  public void contentIsReadOnce() throws IOException {
+    Path config = temporaryFolder.resolve("config.xml");
+    Files.write(config, "<mule/>".getBytes());
+
+    byte[] content = registry.getContent(config);
+
+    assertThat(content).isEqualTo("<mule/>".getBytes());
+    assertThat(registry.getContent(temporaryFolder.resolve("folder/../config.xml"))).isSameAs(content);
+    assertThat(IOUtils.toByteArray(registry.openStream(config))).isEqualTo(content);
+  }
+
+  @Test
+  public void modifiedFileIsReadAgain() throws IOException {
+    Path config = temporaryFolder.resolve("config.xml");
+    Files.write(config, "<mule/>".getBytes());
+    registry.getContent(config);
+
+    Files.write(config, "<mule></mule>".getBytes());
+
+    assertThat(registry.getContent(config)).isEqualTo("<mule></mule>".getBytes());
+  }
+
+  @Test
+  public void contentsKeepTheOrderOfTheConfigs() throws IOException {
+    Files.createDirectories(temporaryFolder.resolve("flows"));
+    Files.write(temporaryFolder.resolve("flows/b.xml"), "b".getBytes());
+    Files.write(temporaryFolder.resolve("a.xml"), "a".getBytes());
+
+    Map<String, byte[]> contents = registry.getContents(temporaryFolder, asList("flows/b.xml", "a.xml"));
+
+    assertThat(contents).containsOnlyKeys("flows/b.xml", "a.xml");
+    assertThat(contents.keySet()).containsExactly("flows/b.xml", "a.xml");
+    assertThat(contents.get("a.xml")).isEqualTo("a".getBytes());
+  }
+
+  @Test
+  public void missingFile() {
+    assertThatThrownBy(() -> registry.getContent(temporaryFolder.resolve("missing.xml")))
+        .isInstanceOf(NoSuchFileException.class);
+  }
+}
@@ -307,6 +307,20 @@ public class MuleArtifactContentResolverTest {
         .isExactlyInstanceOf(RuntimeException.class);
   }
 
+  @Test
+  public void isApplicationDoesNotReadTheConfigsAgain() throws IOException {
+    File config1 = new File(muleFolder, CONFIG_1);
+    File config2 = new File(muleFolder, CONFIG_2);
+    FileUtils.writeStringToFile(config1, DEFAULT_MULE_CONFIG_CONTENT, Charset.defaultCharset());
+    FileUtils.writeStringToFile(config2, DEFAULT_MULE_DOMAIN_CONFIG_CONTENT, Charset.defaultCharset());
+
+    assertThat(resolver.getConfigs()).hasSize(2);
+    config1.delete();
+    config2.delete();
+
+    assertThat(resolver.isApplication()).describedAs("Config files are for an domain").isFalse();
+  }
+
   @Test
   public void getTestConfigsTest() throws IOException {
     File config1 = new File(munitFolder, CONFIG_1);
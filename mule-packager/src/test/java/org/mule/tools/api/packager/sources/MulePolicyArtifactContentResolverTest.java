@@ -17,6 +17,8 @@ import org.mule.maven.pom.parser.api.model.BundleDependency;
 import org.mule.tools.api.packager.Pom;
 import org.mule.tools.api.packager.structure.ProjectStructure;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 
@@ -37,6 +39,14 @@ public class MulePolicyArtifactContentResolverTest extends MuleArtifactContentRe
     assertThat(resolver.hasMuleAsRootElement(path)).describedAs("Method should have returned true").isTrue();
   }
 
+  @Test
+  public void getConfigsSelectsTemplateByItsRootElement() throws IOException {
+    Path muleFolder = Files.createDirectories(temporaryFolder.resolve("src").resolve("main").resolve("mule"));
+    Files.write(muleFolder.resolve(TEMPLATE_XML), "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<policy/>".getBytes());
+
+    assertThat(resolver.getConfigs()).isEmpty();
+  }
+
   @Override
   protected MuleArtifactContentResolver newResolver(ProjectStructure projectStructure, Pom pomMock,
                                                     List<BundleDependency> objects) {
@@ -10,13 +10,19 @@ package org.mule.tools.api.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
 import static org.mockito.Mockito.*;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -130,4 +136,127 @@ public class ArtifactInstallerTest {
     installer.generatePomFile(artifact, outputFolder.toFile());
   }
 
+  @Test
+  public void installArtifactWithHardlinkStrategyTest() throws IOException {
+    installer = new ArtifactInstaller(logMock, InstallStrategy.HARDLINK);
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+    Path artifactFile = Files.write(artifactFileFolder.resolve(ARTIFACT_FILE_NAME), new byte[] {1, 2, 3, 4});
+    artifact = new Artifact(coordinates, artifactFile.toUri());
+    File installedFile =
+        new File(outputFolder.toAbsolutePath().toFile(), OUTPUT_DIRECTORY + File.separator + GENERATED_PACKAGE_NAME);
+
+    installer.installArtifact(outputFolder.toAbsolutePath().toFile(), artifact, Optional.empty(), false);
+
+    assertThat(installedFile).describedAs("File was not installed").hasBinaryContent(new byte[] {1, 2, 3, 4});
+    assertThat(installer.getAvoidedCopyBytes()).isEqualTo(4);
+  }
+
+  @Test
+  public void installArtifactOverHardlinkedFileDoesNotModifySourceTest() throws IOException {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+    Path linkedFile = Files.write(artifactFileFolder.resolve(ARTIFACT_FILE_NAME), new byte[] {1, 2, 3, 4});
+    Path updatedFile = Files.write(artifactFileFolder.resolve(FILE_NAME), new byte[] {5, 6});
+    File installedFile =
+        new File(outputFolder.toAbsolutePath().toFile(), OUTPUT_DIRECTORY + File.separator + GENERATED_PACKAGE_NAME);
+
+    new ArtifactInstaller(logMock, InstallStrategy.HARDLINK)
+        .installArtifact(outputFolder.toAbsolutePath().toFile(), new Artifact(coordinates, linkedFile.toUri()), Optional.empty(),
+                         false);
+    installer.installArtifact(outputFolder.toAbsolutePath().toFile(), new Artifact(coordinates, updatedFile.toUri()),
+                              Optional.empty(), false);
+
+    assertThat(installedFile).hasBinaryContent(new byte[] {5, 6});
+    assertThat(linkedFile).describedAs("Linked file was written in place").hasBinaryContent(new byte[] {1, 2, 3, 4});
+  }
+
+  @Test
+  public void installExplodedArtifactWithSymlinkStrategyTest() throws IOException {
+    installer = new ArtifactInstaller(logMock, InstallStrategy.SYMLINK_FOR_EXPLODED);
+    Files.write(artifactFileFolder.resolve(FILE_NAME), new byte[] {1, 2});
+    File installedFile =
+        new File(outputFolder.toAbsolutePath().toFile(), OUTPUT_DIRECTORY + File.separator + GENERATED_PACKAGE_NAME);
+
+    installer.installArtifact(outputFolder.toAbsolutePath().toFile(), artifact, Optional.empty(), false);
+
+    assertThat(Files.isSymbolicLink(installedFile.toPath())).describedAs("Exploded artifact was not linked").isTrue();
+    assertThat(new File(installedFile, FILE_NAME)).hasBinaryContent(new byte[] {1, 2});
+    assertThat(installer.getAvoidedCopyBytes()).isEqualTo(2);
+  }
+
+  @Test
+  public void installArtifactInVirtualRepositoryTest() throws IOException {
+    File repositoryFolder = outputFolder.toAbsolutePath().toFile();
+    VirtualRepository virtualRepository = new VirtualRepository(repositoryFolder);
+    installer = new ArtifactInstaller(logMock, InstallStrategy.COPY, virtualRepository);
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+    Path artifactFile = Files.write(artifactFileFolder.resolve(ARTIFACT_FILE_NAME), new byte[] {1, 2, 3});
+    artifact = new Artifact(coordinates, artifactFile.toUri());
+    File installedFile = new File(repositoryFolder, OUTPUT_DIRECTORY + File.separator + GENERATED_PACKAGE_NAME);
+    String entry = OUTPUT_DIRECTORY.replace(File.separatorChar, '/') + "/" + GENERATED_PACKAGE_NAME;
+
+    installer.installArtifact(repositoryFolder, artifact, Optional.empty(), false);
+
+    assertThat(installedFile).describedAs("File should not be staged").doesNotExist();
+    assertThat(virtualRepository.getEntries()).containsEntry(entry, artifactFile.toFile().getAbsolutePath());
+    assertThat(installer.getAvoidedCopyBytes()).isEqualTo(3);
+
+    File entriesFile = new File(artifactFileFolder.toFile(), VirtualRepository.ENTRIES_FILE_NAME);
+    virtualRepository.store(entriesFile);
+    assertThat(VirtualRepository.load(repositoryFolder, entriesFile).getEntries())
+        .isEqualTo(virtualRepository.getEntries());
+  }
+
+  @Test
+  public void installArtifactsWithSamePomConcurrentlyTest() throws Exception {
+    installer = new ArtifactInstaller(logMock, InstallStrategy.HARDLINK);
+    Files.write(artifactFileFolder.resolve(POM_FILE_NAME), "<project/>".getBytes());
+    List<Artifact> artifacts = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      Path artifactFile = Files.write(artifactFileFolder.resolve(ARTIFACT_FILE_NAME + i), new byte[] {1});
+      artifacts.add(new Artifact(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER + i),
+                                 artifactFile.toUri()));
+    }
+    File repositoryFolder = outputFolder.toAbsolutePath().toFile();
+    ExecutorService executor = newFixedThreadPool(8);
+    try {
+      List<Future<Void>> installations = new ArrayList<>();
+      for (Artifact classifiedArtifact : artifacts) {
+        installations.add(executor.submit(() -> {
+          installer.installArtifact(repositoryFolder, classifiedArtifact, Optional.empty(), false);
+          return null;
+        }));
+      }
+      for (Future<Void> installation : installations) {
+        installation.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    File artifactFolder = new File(repositoryFolder, OUTPUT_DIRECTORY);
+    assertThat(new File(artifactFolder, POM_FILE_NAME)).hasContent("<project/>");
+    assertThat(artifactFolder.list()).describedAs("Temporary files were left behind").hasSize(artifacts.size() + 1);
+  }
+
+  @Test
+  public void installationFingerprintDependsOnHowFilesAreInstalledTest() throws IOException {
+    ArtifactCoordinates coordinates = new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION, TYPE, CLASSIFIER);
+    artifact = new Artifact(coordinates, Files.write(artifactFileFolder.resolve(ARTIFACT_FILE_NAME), new byte[] {1}).toUri());
+    String copyFingerprint = installer.getInstallationFingerprint(artifact, Optional.empty(), false);
+    String hardlinkFingerprint =
+        new ArtifactInstaller(logMock, InstallStrategy.HARDLINK).getInstallationFingerprint(artifact, Optional.empty(), false);
+    String virtualFingerprint =
+        new ArtifactInstaller(logMock, InstallStrategy.COPY, new VirtualRepository(outputFolder.toFile()))
+            .getInstallationFingerprint(artifact, Optional.empty(), false);
+
+    assertThat(copyFingerprint).isEqualTo(installer.getInstallationFingerprint(artifact, Optional.empty(), false));
+    assertThat(Arrays.asList(copyFingerprint, hardlinkFingerprint, virtualFingerprint)).doesNotHaveDuplicates();
+  }
+
+  @Test
+  public void installStrategyFromStringTest() {
+    assertThat(InstallStrategy.fromString("reflink-if-supported")).isEqualTo(InstallStrategy.REFLINK_IF_SUPPORTED);
+    assertThat(InstallStrategy.SYMLINK_FOR_EXPLODED.toString()).isEqualTo("symlink-for-exploded");
+  }
+
 }
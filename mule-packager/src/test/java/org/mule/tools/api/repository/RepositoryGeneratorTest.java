@@ -15,6 +15,7 @@ import static org.mockito.Mockito.*;
 import java.io.File;
 import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 
@@ -29,6 +30,7 @@ import org.mule.tools.api.classloader.model.ApplicationGAVModel;
 import org.mule.tools.api.classloader.model.Artifact;
 import org.mule.tools.api.classloader.model.ArtifactCoordinates;
 import org.mule.tools.api.util.FileUtils;
+import org.mule.tools.api.util.PackagerLog;
 
 class RepositoryGeneratorTest {
 
@@ -114,6 +116,104 @@ class RepositoryGeneratorTest {
     verify(artifactInstallerMock, times(NUMBER_ARTIFACTS)).installArtifact(any(), any(), any(), eq(true));
   }
 
+  @Test
+  void installArtifactsConcurrentlyTest() throws IOException {
+    File repositoryFolder = temporaryFolder.toFile();
+    buildArtifacts();
+    when(appModelMock.getArtifacts()).thenReturn(artifacts);
+    RepositoryGenerator concurrentRepositoryGenerator = newRepositoryGenerator(4);
+    Set<Artifact> installedArtifacts = Collections.synchronizedSet(new HashSet<>());
+    doAnswer(invocation -> installedArtifacts.add(invocation.getArgument(1))).when(artifactInstallerMock)
+        .installArtifact(any(), any(), any(), eq(true));
+
+    concurrentRepositoryGenerator.installArtifacts(repositoryFolder, artifactInstallerMock, appModelMock, true);
+
+    assertThat(installedArtifacts).containsExactlyInAnyOrderElementsOf(artifacts);
+  }
+
+  @Test
+  void installArtifactsConcurrentlyReportsFirstFailureTest() throws IOException {
+    File repositoryFolder = temporaryFolder.toFile();
+    buildArtifacts();
+    when(appModelMock.getArtifacts()).thenReturn(artifacts);
+    RepositoryGenerator concurrentRepositoryGenerator = newRepositoryGenerator(4);
+    doAnswer(invocation -> {
+      Artifact artifact = invocation.getArgument(1);
+      if (!artifact.equals(createArtifact(0))) {
+        // Later artifacts fail first, the reported failure must still be the one of the first artifact
+        throw new IOException("Cannot install " + artifact);
+      }
+      Thread.sleep(100);
+      throw new IOException("Cannot install " + artifact);
+    }).when(artifactInstallerMock).installArtifact(any(), any(), any(), eq(true));
+
+    assertThatThrownBy(() -> concurrentRepositoryGenerator.installArtifacts(repositoryFolder, artifactInstallerMock, appModelMock,
+                                                                            true))
+                                                                                .isExactlyInstanceOf(IOException.class)
+                                                                                .hasMessage("Cannot install " + createArtifact(0))
+                                                                                .satisfies(e -> assertThat(e.getSuppressed())
+                                                                                    .hasSize(NUMBER_ARTIFACTS - 1));
+  }
+
+  @Test
+  void incrementalInstallationTest() throws IOException {
+    File repositoryFolder = temporaryFolder.resolve(REPOSITORY_FOLDER).toFile();
+    Path localRepository = Files.createDirectories(temporaryFolder.resolve("local"));
+    Artifact first = new Artifact(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID + "-1", VERSION),
+                                  Files.write(localRepository.resolve("first.jar"), new byte[] {1}).toUri());
+    Artifact second = new Artifact(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID + "-2", VERSION),
+                                   Files.write(localRepository.resolve("second.jar"), new byte[] {2}).toUri());
+    ArtifactInstaller installer = spy(new ArtifactInstaller(mock(PackagerLog.class)));
+    RepositoryGenerator incrementalRepositoryGenerator =
+        new RepositoryGenerator(temporaryFolder.resolve("pom.xml").toFile(), temporaryFolder.toFile(), installer,
+                                mock(ApplicationClassLoaderModelAssembler.class), appGAVModel, new ArrayList<String>(), 1, true);
+
+    when(appModelMock.getArtifacts()).thenReturn(new HashSet<>(Arrays.asList(first, second)));
+    incrementalRepositoryGenerator.installArtifacts(repositoryFolder, installer, appModelMock, false);
+    verify(installer, times(2)).installArtifact(any(), any(), any(), eq(false));
+    assertThat(temporaryFolder.resolve(RepositoryManifest.MANIFEST_FILE_NAME)).exists();
+
+    incrementalRepositoryGenerator.installArtifacts(repositoryFolder, installer, appModelMock, false);
+    verify(installer, times(2)).installArtifact(any(), any(), any(), eq(false));
+    assertThat(incrementalRepositoryGenerator.getReusedArtifacts()).isEqualTo(2);
+
+    File secondFile = new File(second.getFormattedMavenDirectory(repositoryFolder), second.getFormattedArtifactFileName());
+    assertThat(secondFile).exists();
+    when(appModelMock.getArtifacts()).thenReturn(new HashSet<>(Collections.singletonList(first)));
+    incrementalRepositoryGenerator.installArtifacts(repositoryFolder, installer, appModelMock, false);
+    verify(installer, times(2)).installArtifact(any(), any(), any(), eq(false));
+    assertThat(secondFile).doesNotExist();
+    assertThat(second.getFormattedMavenDirectory(repositoryFolder)).doesNotExist();
+    assertThat(new File(first.getFormattedMavenDirectory(repositoryFolder), first.getFormattedArtifactFileName())).exists();
+  }
+
+  @Test
+  void incrementalInstallationInVirtualRepositoryAfterMaterializedTest() throws IOException {
+    File repositoryFolder = temporaryFolder.resolve(REPOSITORY_FOLDER).toFile();
+    Path localRepository = Files.createDirectories(temporaryFolder.resolve("local"));
+    Artifact artifact = new Artifact(new ArtifactCoordinates(GROUP_ID, ARTIFACT_ID, VERSION),
+                                     Files.write(localRepository.resolve("artifact.jar"), new byte[] {1}).toUri());
+    when(appModelMock.getArtifacts()).thenReturn(new HashSet<>(Collections.singletonList(artifact)));
+    File installedFile = new File(artifact.getFormattedMavenDirectory(repositoryFolder), artifact.getFormattedArtifactFileName());
+
+    ArtifactInstaller installer = new ArtifactInstaller(mock(PackagerLog.class));
+    new RepositoryGenerator(temporaryFolder.resolve("pom.xml").toFile(), temporaryFolder.toFile(), installer,
+                            mock(ApplicationClassLoaderModelAssembler.class), appGAVModel, new ArrayList<String>(), 1, true)
+                                .installArtifacts(repositoryFolder, installer, appModelMock, false);
+    assertThat(installedFile).exists();
+
+    VirtualRepository virtualRepository = new VirtualRepository(repositoryFolder);
+    ArtifactInstaller virtualInstaller = new ArtifactInstaller(mock(PackagerLog.class), InstallStrategy.COPY, virtualRepository);
+    RepositoryGenerator virtualRepositoryGenerator =
+        new RepositoryGenerator(temporaryFolder.resolve("pom.xml").toFile(), temporaryFolder.toFile(), virtualInstaller,
+                                mock(ApplicationClassLoaderModelAssembler.class), appGAVModel, new ArrayList<String>(), 1, true);
+    virtualRepositoryGenerator.installArtifacts(repositoryFolder, virtualInstaller, appModelMock, false);
+
+    assertThat(virtualRepositoryGenerator.getReusedArtifacts()).isZero();
+    assertThat(virtualRepository.getEntries()).containsValue(new File(artifact.getUri()).getAbsolutePath());
+    assertThat(installedFile).describedAs("Materialized file would be packaged along with the virtual entry").doesNotExist();
+  }
+
   @Test
   void getRepositoryFolderIfDoesNotExistTest() {
     File repositoryFolder = temporaryFolder.resolve(REPOSITORY_FOLDER).toFile();
@@ -131,6 +231,12 @@ class RepositoryGeneratorTest {
     assertThat(actualRepositoryFolder).describedAs("Repository folder was modified").isEqualTo(expectedRepositoryFolder);
   }
 
+  private RepositoryGenerator newRepositoryGenerator(int installationThreads) {
+    return new RepositoryGenerator(temporaryFolder.resolve("pom.xml").toFile(), temporaryFolder.toFile(), artifactInstallerMock,
+                                   mock(ApplicationClassLoaderModelAssembler.class), appGAVModel, new ArrayList<String>(),
+                                   installationThreads, false);
+  }
+
   private void buildArtifacts() {
     artifacts = new HashSet<>();
     for (int i = 0; i < NUMBER_ARTIFACTS; ++i) {
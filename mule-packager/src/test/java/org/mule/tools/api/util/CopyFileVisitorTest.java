@@ -192,4 +192,47 @@ public class CopyFileVisitorTest {
     }
   }
 
+  @Test
+  public void syncSkipsUnchangedFilesAndDeletesOrphans() throws IOException {
+    Files.write(normalFile.toPath(), new byte[] {1, 2, 3});
+    File nestedFile = new File(hiddenFolder, "nested.txt");
+    Files.write(nestedFile.toPath(), new byte[] {4});
+
+    CopyFileVisitor firstSync = new CopyFileVisitor(fromFolder, targetFolder);
+    firstSync.setSync(true, true);
+    Files.walkFileTree(fromFolder.toPath(), firstSync);
+
+    assertThat(firstSync.getCopiedFiles()).isEqualTo(3);
+    assertThat(new File(targetFolder, NORMAL_FILE)).hasBinaryContent(new byte[] {1, 2, 3});
+
+    File orphanFolder = new File(targetFolder, "orphan");
+    orphanFolder.mkdirs();
+    Files.write(new File(orphanFolder, "orphan.txt").toPath(), new byte[] {5});
+    Files.write(nestedFile.toPath(), new byte[] {6, 7});
+
+    CopyFileVisitor secondSync = new CopyFileVisitor(fromFolder, targetFolder);
+    secondSync.setSync(true, true);
+    Files.walkFileTree(fromFolder.toPath(), secondSync);
+
+    assertThat(secondSync.getCopiedFiles()).isEqualTo(1);
+    assertThat(secondSync.getSkippedFiles()).isEqualTo(2);
+    assertThat(secondSync.getDeletedFiles()).isEqualTo(1);
+    assertThat(orphanFolder).doesNotExist();
+    assertThat(new File(targetFolder, HIDDEN_FOLDER + File.separator + "nested.txt")).hasBinaryContent(new byte[] {6, 7});
+  }
+
+  @Test
+  public void syncWithoutDeletingOrphansKeepsExtraFiles() throws IOException {
+    File extraFile = new File(targetFolder, "Extra.class");
+    extraFile.createNewFile();
+
+    CopyFileVisitor visitor = new CopyFileVisitor(fromFolder, targetFolder);
+    visitor.setSync(true, false);
+    Files.walkFileTree(fromFolder.toPath(), visitor);
+
+    assertThat(extraFile).exists();
+    assertThat(visitor.getDeletedFiles()).isEqualTo(0);
+    assertThat(new File(targetFolder, NORMAL_FILE)).exists();
+  }
+
 }
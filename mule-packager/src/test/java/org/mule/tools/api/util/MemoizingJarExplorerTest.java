@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class MemoizingJarExplorerTest {
+
+  @TempDir
+  public File temporaryFolder;
+
+  @Test
+  public void libraryIsExploredOnce() {
+    JarExplorer delegate = mock(JarExplorer.class);
+    URI library = temporaryFolder.toURI();
+    JarInfo jarInfo = new JarInfo(new HashSet<>(), new HashSet<>());
+    when(delegate.explore(library)).thenReturn(jarInfo);
+
+    MemoizingJarExplorer explorer = new MemoizingJarExplorer(delegate);
+
+    assertThat(explorer.explore(library)).isSameAs(jarInfo);
+    assertThat(explorer.explore(library)).isSameAs(jarInfo);
+    assertThat(explorer.explore(library)).isSameAs(jarInfo);
+    verify(delegate, times(1)).explore(library);
+    assertThat(explorer.getSavedExplorations()).isEqualTo(2);
+  }
+
+  @Test
+  public void failedExplorationIsNotRemembered() {
+    JarExplorer delegate = mock(JarExplorer.class);
+    URI library = temporaryFolder.toURI();
+    when(delegate.explore(library)).thenThrow(new IllegalStateException("Cannot explore URL"));
+
+    MemoizingJarExplorer explorer = new MemoizingJarExplorer(delegate);
+
+    assertThatThrownBy(() -> explorer.explore(library)).hasMessageContaining("Cannot explore URL");
+    assertThatThrownBy(() -> explorer.explore(library)).hasMessageContaining("Cannot explore URL");
+    verify(delegate, times(2)).explore(library);
+    assertThat(explorer.getSavedExplorations()).isEqualTo(0);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ParallelJarExplorerTest {
+
+  @TempDir
+  public File temporaryFolder;
+
+  @Test
+  public void parallelExplorationKeepsRequestedOrder() throws IOException {
+    List<URI> libraries = new ArrayList<>();
+    for (int i = 20; i > 0; i--) {
+      libraries.add(createJar("library-" + i + ".jar", "org/test" + i + "/A.class", "file" + i + ".txt"));
+    }
+
+    Map<URI, JarInfo> sequential = new FileJarExplorer().exploreAll(libraries);
+    Map<URI, JarInfo> parallel = new ParallelJarExplorer(new FileJarExplorer(), 4).exploreAll(libraries);
+
+    assertThat(parallel.keySet()).containsExactlyElementsOf(libraries);
+    for (URI library : libraries) {
+      assertThat(parallel.get(library).getPackages()).containsExactlyElementsOf(sequential.get(library).getPackages());
+      assertThat(parallel.get(library).getResources()).containsExactlyElementsOf(sequential.get(library).getResources());
+    }
+  }
+
+  @Test
+  public void explorationFailureIsPropagated() throws IOException {
+    List<URI> libraries = new ArrayList<>();
+    libraries.add(createJar("library.jar", "org/test/A.class"));
+    libraries.add(new File(temporaryFolder, "missing.jar").toURI());
+
+    assertThatThrownBy(() -> new ParallelJarExplorer(new FileJarExplorer(), 2).exploreAll(libraries))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Library file does not exists");
+  }
+
+  @Test
+  public void threadsAreReusedUntilExplorerIsClosed() throws IOException {
+    List<URI> libraries = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      libraries.add(createJar("library-" + i + ".jar", "org/test" + i + "/A.class"));
+    }
+    Set<Thread> threads = ConcurrentHashMap.newKeySet();
+    JarExplorer delegate = library -> {
+      threads.add(Thread.currentThread());
+      return new FileJarExplorer().explore(library);
+    };
+
+    try (ParallelJarExplorer explorer = new ParallelJarExplorer(delegate, 2)) {
+      for (int i = 0; i < 5; i++) {
+        explorer.exploreAll(libraries);
+      }
+      assertThat(threads).hasSizeLessThanOrEqualTo(2).doesNotContain(Thread.currentThread());
+
+      explorer.close();
+      threads.clear();
+      assertThat(explorer.exploreAll(libraries).keySet()).containsExactlyElementsOf(libraries);
+      assertThat(threads).containsExactly(Thread.currentThread());
+    }
+  }
+
+  private URI createJar(String name, String... entries) throws IOException {
+    File jar = new File(temporaryFolder, name);
+    try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+      for (String entry : entries) {
+        output.putNextEntry(new ZipEntry(entry));
+        output.closeEntry();
+      }
+    }
+    return jar.toURI();
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.mule.tools.api.util.exclude.MuleExclusionMatcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ParallelTreeCopierTest {
+
+  @TempDir
+  public Path temporaryFolder;
+
+  private Path projectFolder;
+
+  private Path fromFolder;
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    projectFolder = temporaryFolder.resolve("project");
+    fromFolder = projectFolder.resolve("src/main/mule");
+    for (int i = 0; i < 200; i++) {
+      Path file = fromFolder.resolve("folder" + (i % 5) + "/sub" + (i % 3) + "/file" + i + ".xml");
+      Files.createDirectories(file.getParent());
+      Files.write(file, ("content" + i).getBytes());
+    }
+    Files.write(fromFolder.resolve(".hiddenFile"), "hidden".getBytes());
+    Files.createDirectories(fromFolder.resolve(".hiddenFolder"));
+    Files.write(fromFolder.resolve(".hiddenFolder/file.xml"), "hidden".getBytes());
+    Files.write(fromFolder.resolve(".project"), "project".getBytes());
+    Files.write(fromFolder.resolve("folder1/excluded.log"), "excluded".getBytes());
+    Files.write(projectFolder.resolve("_muleExclude"), "**/*.log".getBytes());
+  }
+
+  @Test
+  public void parallelCopyHasTheSameContentThanTheSequentialOne() throws IOException {
+    Path sequentialFolder = temporaryFolder.resolve("sequential");
+    Path parallelFolder = temporaryFolder.resolve("parallel");
+
+    copy(sequentialFolder, 1);
+    CopyFileVisitor visitor = copy(parallelFolder, 4);
+
+    assertThat(list(parallelFolder)).containsExactlyElementsOf(list(sequentialFolder));
+    assertThat(visitor.getCopiedFiles()).isEqualTo(160);
+    assertThat(parallelFolder.resolve("folder0/sub2/file5.xml")).hasContent("content5");
+  }
+
+  @Test
+  public void parallelCopyAppliesTheExclusions() throws IOException {
+    Path targetFolder = temporaryFolder.resolve("target");
+
+    copy(targetFolder, 4);
+
+    assertThat(targetFolder.resolve(".hiddenFile")).doesNotExist();
+    assertThat(targetFolder.resolve(".hiddenFolder")).doesNotExist();
+    assertThat(targetFolder.resolve(".project")).doesNotExist();
+    assertThat(targetFolder.resolve("folder1/excluded.log")).doesNotExist();
+    assertThat(targetFolder.resolve("folder2")).doesNotExist();
+    assertThat(targetFolder.resolve("folder3/sub0/file3.xml")).exists();
+  }
+
+  @Test
+  public void parallelCopyInSyncModeDeletesOrphans() throws IOException {
+    Path targetFolder = temporaryFolder.resolve("target");
+    copy(targetFolder, 4);
+    Files.delete(fromFolder.resolve("folder0/sub0/file0.xml"));
+
+    CopyFileVisitor visitor = copy(targetFolder, 4);
+
+    assertThat(targetFolder.resolve("folder0/sub0/file0.xml")).doesNotExist();
+    assertThat(visitor.getCopiedFiles()).isZero();
+    assertThat(visitor.getSkippedFiles()).isEqualTo(159);
+    assertThat(visitor.getDeletedFiles()).isEqualTo(1);
+  }
+
+  @Test
+  public void invalidNumberOfThreads() throws IOException {
+    CopyFileVisitor visitor = new CopyFileVisitor(fromFolder.toFile(), temporaryFolder.resolve("target").toFile());
+
+    assertThatThrownBy(() -> new ParallelTreeCopier(visitor, 0))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("greater than zero");
+  }
+
+  private CopyFileVisitor copy(Path targetFolder, int threads) throws IOException {
+    Files.createDirectories(targetFolder);
+    CopyFileVisitor visitor = new CopyFileVisitor(fromFolder.toFile(), targetFolder.toFile(), true, true,
+                                                  new MuleExclusionMatcher(projectFolder));
+    visitor.setExclusions(singletonList(fromFolder.resolve("folder2")));
+    visitor.setSync(true, true);
+    new ParallelTreeCopier(visitor, threads).copy(fromFolder);
+    return visitor;
+  }
+
+  private List<String> list(Path folder) throws IOException {
+    try (Stream<Path> paths = Files.walk(folder)) {
+      return paths.map(path -> folder.relativize(path).toString().replace(File.separatorChar, '/')).sorted()
+          .collect(Collectors.toList());
+    }
+  }
+}
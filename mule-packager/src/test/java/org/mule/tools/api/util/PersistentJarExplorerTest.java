@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class PersistentJarExplorerTest {
+
+  @TempDir
+  public File temporaryFolder;
+
+  private File cacheDirectory;
+
+  private JarExplorer delegate;
+
+  @BeforeEach
+  public void setUp() {
+    cacheDirectory = new File(temporaryFolder, "cache");
+    delegate = spy(new FileJarExplorer());
+  }
+
+  @Test
+  public void jarIsExploredOnlyOnceAcrossInstances() throws IOException {
+    URI jar = createJar("library.jar", "org/test/A.class", "org/test/B.class", "org/test/sub/C.class", "META-INF/file.txt");
+
+    JarInfo jarInfo = new PersistentJarExplorer(delegate, cacheDirectory, Long.MAX_VALUE).explore(jar);
+    JarInfo cachedJarInfo = new PersistentJarExplorer(delegate, cacheDirectory, Long.MAX_VALUE).explore(jar);
+
+    verify(delegate, times(1)).explore(jar);
+    assertThat(cachedJarInfo.getPackages()).containsExactly("org.test", "org.test.sub");
+    assertThat(cachedJarInfo.getResources()).containsExactly("META-INF/file.txt");
+    assertThat(cachedJarInfo.getPackages()).isEqualTo(jarInfo.getPackages());
+    assertThat(cachedJarInfo.getResources()).isEqualTo(jarInfo.getResources());
+  }
+
+  @Test
+  public void modifiedJarIsExploredAgain() throws IOException {
+    URI jar = createJar("library.jar", "org/test/A.class");
+    PersistentJarExplorer explorer = new PersistentJarExplorer(delegate, cacheDirectory, Long.MAX_VALUE);
+    explorer.explore(jar);
+
+    createJar("library.jar", "org/test/A.class", "org/other/B.class");
+    new File(jar).setLastModified(System.currentTimeMillis() + 10000);
+
+    assertThat(explorer.explore(jar).getPackages()).containsExactly("org.other", "org.test");
+    verify(delegate, times(2)).explore(jar);
+  }
+
+  @Test
+  public void foldersAreNotCached() {
+    File folder = new File(temporaryFolder, "classes");
+    folder.mkdirs();
+    PersistentJarExplorer explorer = new PersistentJarExplorer(delegate, cacheDirectory, Long.MAX_VALUE);
+
+    explorer.explore(folder.toURI());
+    explorer.explore(folder.toURI());
+
+    verify(delegate, times(2)).explore(folder.toURI());
+    assertThat(cacheDirectory).doesNotExist();
+  }
+
+  @Test
+  public void leastRecentlyUsedEntryIsEvicted() throws IOException {
+    URI first = createJar("first.jar", "org/aaa/A.class");
+    URI second = createJar("second.jar", "org/bbb/A.class");
+    URI third = createJar("third.jar", "org/ccc/A.class");
+    PersistentJarExplorer unboundedExplorer = new PersistentJarExplorer(delegate, cacheDirectory, Long.MAX_VALUE);
+    unboundedExplorer.explore(first);
+    unboundedExplorer.explore(second);
+    File firstEntry = getEntry(unboundedExplorer, first);
+    File secondEntry = getEntry(unboundedExplorer, second);
+    firstEntry.setLastModified(System.currentTimeMillis() - 60000);
+    secondEntry.setLastModified(System.currentTimeMillis() - 60000);
+
+    // Entries have the same size, so the index only fits two of them
+    PersistentJarExplorer explorer =
+        new PersistentJarExplorer(delegate, cacheDirectory, firstEntry.length() + secondEntry.length());
+    // Reading the first entry makes the second one the least recently used
+    explorer.explore(first);
+    explorer.explore(third);
+
+    verify(delegate, times(1)).explore(first);
+    assertThat(firstEntry).exists();
+    assertThat(secondEntry).doesNotExist();
+    assertThat(getEntry(explorer, third)).exists();
+  }
+
+  private File getEntry(PersistentJarExplorer explorer, URI jar) {
+    return new File(cacheDirectory, explorer.getKey(new File(jar)) + PersistentJarExplorer.ENTRY_EXTENSION);
+  }
+
+  private URI createJar(String name, String... entries) throws IOException {
+    File jar = new File(temporaryFolder, name);
+    try (ZipOutputStream output = new ZipOutputStream(new FileOutputStream(jar))) {
+      for (String entry : entries) {
+        output.putNextEntry(new ZipEntry(entry));
+        output.closeEntry();
+      }
+    }
+    return jar.toURI();
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util.exclude;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.jupiter.api.Test;
+
+public class CompiledGlobMatcherTest {
+
+  private static final List<String> PATTERNS =
+      asList(".project", "a.xml", "*.java", "*.tar.gz", "*-test.xml", "**.log", "**/lala.xml", "/user/*/*", "/user/**", "temp*",
+             "build**", "foo-test.???", "*.{json,yaml}", "[abc]*.txt", "[!x]?.md", "*.*", "C:\\\\*", "lib/*.jar", "**/*/lala.xml",
+             "{a,b},c", "file\\*.txt", "{*.log,target/**}", "{a,b/c}", "src/{main,test}/*.xml");
+
+  private static final List<String> PATHS =
+      asList("/User/lala/src/main/mule/blabla.java", "/User/lala/src/main/mule/.project", "a.xml", "b.xml", "src/a.xml",
+             "/tmp/archive.tar.gz", "/tmp/archive.gz", "/src/test/munit/foo-test.xml", "/src/test/munit/foo-test.html",
+             "/app/logs/app.log", "/app/logs/app.log.1", "/src/main/mule/lala.xml", "lala.xml", "/user/lala/bla.txt",
+             "/user/lala/src/blabla", "/user", "/temp/file", "temporary", "tem", "/build/output/classes", "builder", "b.txt",
+             "x.txt", "ab.md", "xb.md", "/config/app.json", "/config/app.yml", "/User/lala/src/main/mu.le/project", "C:\\foo",
+             "lib/library.jar", "lib/nested/library.jar", "a,c", "{a,c", "file*.txt", "file1.txt", "app.log", "src/app.log",
+             "target/classes/app.xml", "a", "b/c", "src/main/app.xml", "src/other/app.xml", "");
+
+  @Test
+  public void compiledMatcherMatchesTheSamePathsThanEachGlobMatcher() {
+    for (String pattern : PATTERNS) {
+      CompiledGlobMatcher compiledMatcher = new CompiledGlobMatcher(singletonList(pattern), false);
+      GlobMatcher globMatcher = new GlobMatcher(pattern);
+      for (String path : PATHS) {
+        assertThat(compiledMatcher.matches(Paths.get(path)))
+            .describedAs("Pattern " + pattern + " against path " + path)
+            .isEqualTo(globMatcher.matches(Paths.get(path)));
+      }
+    }
+  }
+
+  @Test
+  public void compiledMatcherMatchesWhenAnyPatternMatches() {
+    CompiledGlobMatcher compiledMatcher = new CompiledGlobMatcher(PATTERNS, false);
+    for (String path : PATHS) {
+      assertThat(compiledMatcher.matches(Paths.get(path)))
+          .describedAs("Path " + path)
+          .isEqualTo(PATTERNS.stream().anyMatch(pattern -> new GlobMatcher(pattern).matches(Paths.get(path))));
+    }
+  }
+
+  @Test
+  public void groupsWithSeparatorsMatchPathsWithoutThem() {
+    CompiledGlobMatcher compiledMatcher = new CompiledGlobMatcher(asList("{*.log,target/**}", "{a,b/c}"), false);
+
+    assertThat(compiledMatcher.matches(Paths.get("app.log"))).isTrue();
+    assertThat(compiledMatcher.matches(Paths.get("src/app.log"))).isTrue();
+    assertThat(compiledMatcher.matches(Paths.get("target/classes/app.xml"))).isTrue();
+    assertThat(compiledMatcher.matches(Paths.get("a"))).isTrue();
+    assertThat(compiledMatcher.matches(Paths.get("b/c"))).isTrue();
+    assertThat(compiledMatcher.matches(Paths.get("src/app.xml"))).isFalse();
+  }
+
+  @Test
+  public void dosPatternsAreMatchedByTheFileSystemMatcher() {
+    CompiledGlobMatcher compiledMatcher = new CompiledGlobMatcher(PATTERNS, true);
+    for (String path : PATHS) {
+      assertThat(compiledMatcher.matches(Paths.get(path)))
+          .describedAs("Path " + path)
+          .isEqualTo(PATTERNS.stream().anyMatch(pattern -> new GlobMatcher(pattern).matches(Paths.get(path))));
+    }
+  }
+
+  @Test
+  public void matchNullFileTest() {
+    assertThat(new CompiledGlobMatcher(emptyList()).matches(null)).isTrue();
+    assertThat(new CompiledGlobMatcher(emptyList()).matches(Paths.get("a.xml"))).isFalse();
+  }
+
+  @Test
+  public void invalidPatternTest() {
+    assertThatThrownBy(() -> new CompiledGlobMatcher(singletonList("{a,{b}}"), false))
+        .isInstanceOf(PatternSyntaxException.class)
+        .hasMessageContaining("Cannot nest groups");
+    assertThatThrownBy(() -> new CompiledGlobMatcher(singletonList("[a"), false))
+        .isInstanceOf(PatternSyntaxException.class)
+        .hasMessageContaining("Missing ']");
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 Salesforce, Inc. All rights reserved.
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.tools.api.util.exclude;
+
+import static java.util.stream.Collectors.toList;
+import static org.apache.commons.io.FileUtils.writeLines;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mule.tools.api.util.exclude.MuleExclusionMatcher.MULE_EXCLUDE_FILENAME;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Compares the compiled exclusion matcher with evaluating every glob pattern on its own. Run it with -Dbenchmark=true.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class MuleExclusionMatcherBenchmarkTest {
+
+  private static final int PATTERNS = 50;
+  private static final int FILES = 30000;
+  private static final int ROUNDS = 5;
+
+  @TempDir
+  public Path temporaryFolder;
+
+  @Test
+  public void compiledMatcherBenchmark(TestReporter reporter) throws IOException {
+    List<String> patterns = new ArrayList<>();
+    for (int i = 0; i < PATTERNS; i++) {
+      switch (i % 5) {
+        case 0:
+          patterns.add("excluded-" + i + ".xml");
+          break;
+        case 1:
+          patterns.add("*.ext" + i);
+          break;
+        case 2:
+          patterns.add("/project/generated-" + i + "/**");
+          break;
+        case 3:
+          patterns.add("**/folder" + i + "/*.tmp");
+          break;
+        default:
+          patterns.add("*-" + i + ".{bak,orig}");
+      }
+    }
+    writeLines(temporaryFolder.resolve(MULE_EXCLUDE_FILENAME).toFile(), patterns);
+    List<Path> files = new ArrayList<>();
+    for (int i = 0; i < FILES; i++) {
+      files.add(Paths.get("/project/src/main/mule/folder" + (i % 100) + "/sub" + (i % 7) + "/file-" + i + ".xml"));
+    }
+    List<GlobMatcher> globMatchers = patterns.stream().map(GlobMatcher::new).collect(toList());
+    MuleExclusionMatcher compiledMatcher = new MuleExclusionMatcher(temporaryFolder);
+
+    long globTime = 0;
+    long compiledTime = 0;
+    for (int round = 0; round < ROUNDS; round++) {
+      long start = System.nanoTime();
+      int globMatches = 0;
+      for (Path file : files) {
+        if (globMatchers.stream().anyMatch(matcher -> matcher.matches(file))) {
+          globMatches++;
+        }
+      }
+      globTime += System.nanoTime() - start;
+
+      start = System.nanoTime();
+      int compiledMatches = 0;
+      for (Path file : files) {
+        if (compiledMatcher.matches(file)) {
+          compiledMatches++;
+        }
+      }
+      compiledTime += System.nanoTime() - start;
+      assertThat(compiledMatches).isEqualTo(globMatches);
+    }
+
+    // Timings depend on the machine, so they are reported instead of compared
+    reporter.publishEntry("timings", String.format("%d patterns against %d files: glob matchers %d ms, compiled matcher %d ms",
+                                                   PATTERNS, FILES, globTime / ROUNDS / 1000000,
+                                                   compiledTime / ROUNDS / 1000000));
+  }
+}